@@ -0,0 +1,235 @@
+package com.jobportal.cache;
+
+import com.jobportal.models.Job;
+import com.jobportal.repositories.JobRepository;
+import com.jobportal.repositories.ReactiveJobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Read-through cache of Job documents by id, bounded by size and time to live.
+// Concurrent misses for the same id share one Mongo read, blocking or reactive. Returned jobs are shared instances:
+// callers that modify a job must load it from the repository instead.
+@Component
+public class JobCache {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ReactiveJobRepository reactiveJobRepository;
+
+    @Value("${app.cache.jobs.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${app.cache.jobs.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<Optional<Job>>> loading = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Mono<Job>> reactiveLoading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // One eviction at a time; a lock rather than a monitor so request threads waiting for it
+    // do not pin a virtual thread's carrier
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    public Optional<Job> get(String id) {
+        Entry entry = entries.get(id);
+        long now = System.currentTimeMillis();
+        if (entry != null) {
+            if (entry.expiresAt > now) {
+                entry.lastAccess = now;
+                hits.increment();
+                return Optional.of(entry.job);
+            }
+            entries.remove(id, entry);
+        }
+        misses.increment();
+        if (maxEntries <= 0) {
+            loads.increment();
+            return jobRepository.findById(id);
+        }
+        return load(id);
+    }
+
+    // Non-blocking get: a hit is returned at once, and concurrent misses for the same id
+    // subscribe to one shared reactive read instead of each querying Mongo
+    public Mono<Job> getAsync(String id) {
+        Entry entry = entries.get(id);
+        long now = System.currentTimeMillis();
+        if (entry != null) {
+            if (entry.expiresAt > now) {
+                entry.lastAccess = now;
+                hits.increment();
+                return Mono.just(entry.job);
+            }
+            entries.remove(id, entry);
+        }
+        misses.increment();
+        if (maxEntries <= 0) {
+            loads.increment();
+            return reactiveJobRepository.findById(id);
+        }
+        return reactiveLoading.computeIfAbsent(id, this::loadAsync);
+    }
+
+    // Drop a job after it has been changed or deleted; an in-flight load for it is not cached.
+    // The loads go first, which is what publish() relies on
+    public void invalidate(String id) {
+        loading.remove(id);
+        reactiveLoading.remove(id);
+        entries.remove(id);
+    }
+
+    public void clear() {
+        loading.clear();
+        reactiveLoading.clear();
+        entries.clear();
+    }
+
+    // Hit/miss counters in the response shape of /api/admin/cache/jobs
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", entries.size());
+        statistics.put("maxEntries", maxEntries);
+        statistics.put("ttlSeconds", ttlSeconds);
+        statistics.put("hits", hitCount);
+        statistics.put("misses", missCount);
+        statistics.put("loads", loads.sum());
+        statistics.put("evictions", evictions.sum());
+        statistics.put("hitRate", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        return statistics;
+    }
+
+    // The first caller for an id reads Mongo; later callers wait on the same future
+    private Optional<Job> load(String id) {
+        CompletableFuture<Optional<Job>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<Job>> inFlight = loading.putIfAbsent(id, future);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+
+        try {
+            loads.increment();
+            Optional<Job> job = jobRepository.findById(id);
+            if (job.isPresent()) {
+                publish(id, job.get(), loading, future);
+            }
+            future.complete(job);
+            return job;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(id, future);
+        }
+    }
+
+    // Reactive counterpart of load(): the read starts with the first subscriber, its outcome is
+    // replayed to everyone who subscribed meanwhile, and the shared Mono is dropped once it is done
+    private Mono<Job> loadAsync(String id) {
+        AtomicReference<Mono<Job>> self = new AtomicReference<>();
+        Mono<Job> shared = Mono.defer(() -> {
+                    loads.increment();
+                    return reactiveJobRepository.findById(id);
+                })
+                .doOnNext(job -> publish(id, job, reactiveLoading, self.get()))
+                .doFinally(signal -> reactiveLoading.remove(id, self.get()))
+                .cache();
+        self.set(shared);
+        return shared;
+    }
+
+    // Cache a loaded job unless its load was invalidated while it was reading. The check runs
+    // inside the entry's compute, and invalidate() drops the load before the entry, so an
+    // invalidation either stops the publish or removes what was published
+    private void publish(String id, Job job, ConcurrentMap<String, ?> inFlight, Object load) {
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        long now = System.currentTimeMillis();
+        Entry loaded = new Entry(job, now, now + ttlSeconds * 1000);
+        entries.compute(id, (key, current) -> inFlight.get(key) == load ? loaded : current);
+    }
+
+    // Drop expired entries first; if the cache is still full, drop the least recently used tenth.
+    // A thread that finds an eviction already running skips it rather than queueing behind it.
+    private void evict() {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            evictLocked();
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private void evictLocked() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+
+        int excess = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        if (excess > 0) {
+            // Snapshot the access times so the sort sees stable keys while readers keep touching entries
+            List<Object[]> byAccess = new ArrayList<>(entries.size());
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                byAccess.add(new Object[] {e.getKey(), e.getValue(), e.getValue().lastAccess});
+            }
+            byAccess.sort(Comparator.comparingLong(e -> (Long) e[2]));
+            for (int i = 0; i < excess && i < byAccess.size(); i++) {
+                entries.remove((String) byAccess.get(i)[0], (Entry) byAccess.get(i)[1]);
+            }
+        }
+        evictions.add(Math.max(0, before - entries.size()));
+    }
+
+    private static Optional<Job> await(CompletableFuture<Optional<Job>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class Entry {
+        private final Job job;
+        private final long expiresAt;
+        private volatile long lastAccess;
+
+        private Entry(Job job, long lastAccess, long expiresAt) {
+            this.job = job;
+            this.lastAccess = lastAccess;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.jobportal.cache;
+
+import com.jobportal.models.Job;
+import com.jobportal.repositories.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// jobId -> employerId, filled lazily on lookup and kept current on job create/delete.
+// A job's employer never changes, so entries only need removing when the job is deleted.
+// Misses read just the employerId field instead of the whole job document.
+@Component
+public class JobOwnershipIndex {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Value("${app.cache.job-owners.max-entries:200000}")
+    private int maxEntries;
+
+    private final ConcurrentMap<String, String> owners = new ConcurrentHashMap<>();
+
+    // Employer of the job, or null when the job does not exist
+    public String ownerOf(String jobId) {
+        String employerId = owners.get(jobId);
+        if (employerId != null) {
+            return employerId;
+        }
+        employerId = jobRepository.findEmployerIdById(jobId)
+                .map(Job::getEmployerId)
+                .orElse(null);
+        if (employerId != null) {
+            remember(jobId, employerId);
+        }
+        return employerId;
+    }
+
+    // Employers of several jobs with at most one projection query for the ones not in memory;
+    // jobs that do not exist are absent from the result
+    public Map<String, String> ownersOf(Collection<String> jobIds) {
+        Map<String, String> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String jobId : jobIds) {
+            String employerId = owners.get(jobId);
+            if (employerId != null) {
+                result.put(jobId, employerId);
+            } else {
+                missing.add(jobId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Job job : jobRepository.findEmployerIdsByIdIn(missing)) {
+                if (job.getEmployerId() != null) {
+                    result.put(job.getId(), job.getEmployerId());
+                    remember(job.getId(), job.getEmployerId());
+                }
+            }
+        }
+        return result;
+    }
+
+    // Throws "Job not found" for a missing job and the given message for someone else's job
+    public void verifyOwner(String jobId, String employerId, String message) {
+        String owner = ownerOf(jobId);
+        if (owner == null) {
+            throw new RuntimeException("Job not found");
+        }
+        if (!owner.equals(employerId)) {
+            throw new RuntimeException(message);
+        }
+    }
+
+    public void jobCreated(String jobId, String employerId) {
+        if (employerId != null) {
+            remember(jobId, employerId);
+        }
+    }
+
+    public void jobDeleted(String jobId) {
+        owners.remove(jobId);
+    }
+
+    private void remember(String jobId, String employerId) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (owners.size() >= maxEntries) {
+            evict();
+        }
+        owners.put(jobId, employerId);
+    }
+
+    // Entries never go stale, so dropping an arbitrary tenth only costs a later projection read
+    private void evict() {
+        int excess = owners.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<String> keys = owners.keySet().iterator();
+        while (excess-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+}
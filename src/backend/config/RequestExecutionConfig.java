@@ -0,0 +1,71 @@
+package com.jobportal.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+// Chooses the threads Tomcat runs requests on.
+// "platform" keeps the default bounded worker pool (server.tomcat.threads.max). "virtual" runs
+// every request, and the blocking Mongo and file calls below it, on its own virtual thread, so
+// a request waiting on I/O no longer holds a worker. Virtual threads need Java 21; the API is
+// looked up reflectively so the code still builds for older targets, and on an older runtime
+// the platform pool is kept with a warning.
+@Configuration
+public class RequestExecutionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestExecutionConfig.class);
+
+    public static final String MODE_PLATFORM = "platform";
+    public static final String MODE_VIRTUAL = "virtual";
+
+    @Value("${app.threads.mode:platform}")
+    private String mode;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> requestExecutorCustomizer() {
+        return protocolHandler -> {
+            if (MODE_PLATFORM.equalsIgnoreCase(mode)) {
+                return;
+            }
+            if (!MODE_VIRTUAL.equalsIgnoreCase(mode)) {
+                throw new RuntimeException("Unknown app.threads.mode: " + mode);
+            }
+            ExecutorService executor = newVirtualThreadExecutor("http-vt-");
+            if (executor == null) {
+                logger.warn("app.threads.mode=virtual needs Java 21 or later (running {}); "
+                        + "requests stay on the platform thread pool", System.getProperty("java.version"));
+                return;
+            }
+            protocolHandler.setExecutor(executor);
+            // Monitors held across blocking calls pin the carrier thread; these show where it happens
+            logger.info("Requests run on virtual threads; start with -Djdk.tracePinnedThreads=short "
+                    + "(or record the jdk.VirtualThreadPinned JFR event) to report pinning");
+        };
+    }
+
+    // One new virtual thread per task, or null when the runtime has no virtual threads
+    public static ExecutorService newVirtualThreadExecutor(String namePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            // Java 19 and 20 have the API behind --enable-preview only
+            logger.debug("Virtual threads unavailable", e.getCause());
+            return null;
+        }
+    }
+}
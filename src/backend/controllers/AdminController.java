@@ -1,9 +1,11 @@
 
 package com.jobportal.controllers;
 
+import com.jobportal.cache.JobCache;
 import com.jobportal.models.Job;
 import com.jobportal.models.User;
 import com.jobportal.services.AdminService;
+import com.jobportal.services.MetricsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,6 +13,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -20,6 +25,12 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private MetricsService metricsService;
+
+    @Autowired
+    private JobCache jobCache;
+
     @GetMapping("/users")
     public ResponseEntity<Page<User>> getAllUsers(Pageable pageable) {
         Page<User> users = adminService.getAllUsers(pageable);
@@ -32,6 +43,27 @@ public class AdminController {
         return ResponseEntity.ok(statistics);
     }
 
+    @GetMapping("/statistics/timeseries")
+    public ResponseEntity<?> getStatisticsTimeSeries(
+            @RequestParam(defaultValue = "HOUR") String resolution,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) List<String> metrics) {
+        try {
+            Instant end = to != null ? Instant.parse(to) : Instant.now();
+            Instant start = from != null ? Instant.parse(from) : end.minus(Duration.ofDays(1));
+            Map<String, Object> series = metricsService.getTimeSeries(resolution, start, end, metrics);
+            return ResponseEntity.ok(series);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/cache/jobs")
+    public ResponseEntity<Map<String, Object>> getJobCacheStatistics() {
+        return ResponseEntity.ok(jobCache.getStatistics());
+    }
+
     @PutMapping("/jobs/{id}/moderate")
     public ResponseEntity<?> moderateJob(
             @PathVariable String id,
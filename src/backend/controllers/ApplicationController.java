@@ -1,9 +1,15 @@
 
 package com.jobportal.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobportal.dto.BulkStatusRequest;
+import com.jobportal.dto.BulkStatusResponse;
+import com.jobportal.dto.CursorPage;
 import com.jobportal.models.Application;
 import com.jobportal.services.ApplicationService;
+import com.jobportal.storage.ResumeFile;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -11,17 +17,30 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 
+import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/applications")
 public class ApplicationController {
 
+    private static final List<String> EXPORT_COLUMNS = Arrays.asList(
+            "id", "userId", "status", "appliedDate", "lastUpdated", "resumeId",
+            "resumeFileName", "resumeContentType", "resumeSize", "resumeStatus", "resumePageCount",
+            "resumeSkills", "coverLetter");
+
     @Autowired
     private ApplicationService applicationService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<?> applyForJob(
             @RequestParam("jobId") String jobId,
@@ -48,29 +67,113 @@ public class ApplicationController {
             String userId = getCurrentUserId();
             Application application = applicationService.applyWithBase64Resume(jobId, userId, base64Resume, coverLetter);
             return ResponseEntity.status(HttpStatus.CREATED).body(application);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Could not upload resume");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
     @GetMapping("/user")
-    public ResponseEntity<List<Application>> getUserApplications() {
+    public ResponseEntity<?> getUserApplications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            String userId = getCurrentUserId();
+            CursorPage<Application> applications = applicationService.getApplicationsByUser(userId, cursor, limit);
+            return ResponseEntity.ok(applications);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Accept: application/x-ndjson, or stream=true, streams all of the user's applications from
+    // the reactive driver
+    @GetMapping(value = "/user", produces = StreamingResponses.NDJSON_VALUE)
+    public ResponseEntity<Flux<Application>> streamUserApplications() {
         String userId = getCurrentUserId();
-        List<Application> applications = applicationService.getApplicationsByUser(userId);
-        return ResponseEntity.ok(applications);
+        return ResponseEntity.ok().contentType(StreamingResponses.NDJSON)
+                .body(applicationService.getApplicationsByUserReactive(userId));
+    }
+
+    @GetMapping(value = "/user", params = "stream=true", produces = StreamingResponses.NDJSON_VALUE)
+    public ResponseEntity<Flux<Application>> streamUserApplicationsOnRequest() {
+        return streamUserApplications();
     }
 
     @GetMapping("/job/{jobId}")
-    public ResponseEntity<?> getJobApplications(@PathVariable String jobId) {
+    public ResponseEntity<?> getJobApplications(
+            @PathVariable String jobId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false, defaultValue = "false") boolean stream) {
         try {
             String employerId = getCurrentUserId();
-            List<Application> applications = applicationService.getApplicationsByJob(jobId, employerId);
+            if (stream) {
+                return StreamingResponses.ndjson(objectMapper,
+                        applicationService.streamApplicationsByJob(jobId, employerId));
+            }
+            CursorPage<Application> applications =
+                    applicationService.getApplicationsByJob(jobId, employerId, cursor, limit);
             return ResponseEntity.ok(applications);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
+    @GetMapping("/job/{jobId}/export")
+    public ResponseEntity<?> exportJobApplications(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false, defaultValue = "false") boolean gzip) {
+        try {
+            String employerId = getCurrentUserId();
+            if (!"csv".equals(format) && !"ndjson".equals(format)) {
+                throw new RuntimeException("Unsupported export format: " + format);
+            }
+            Supplier<Stream<Application>> applications = applicationService.streamApplicationsByJob(jobId, employerId);
+            String fileName = "applications-" + jobId + "." + format;
+            if ("ndjson".equals(format)) {
+                return StreamingResponses.ndjsonAttachment(objectMapper, applications, fileName, gzip);
+            }
+            return StreamingResponses.csvAttachment(applications, EXPORT_COLUMNS,
+                    ApplicationController::exportRow, fileName, gzip);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/resume")
+    public ResponseEntity<?> downloadResume(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            HttpServletRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            ResumeFile resume = applicationService.getResumeFile(id, userId);
+            return FileResponses.serve(resume, range, ifNoneMatch, ifRange, request);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Could not read resume");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> withdrawApplication(@PathVariable String id) {
+        try {
+            String userId = getCurrentUserId();
+            applicationService.withdrawApplication(id, userId);
+            return ResponseEntity.ok("Application withdrawn successfully");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<?> updateApplicationStatus(
             @PathVariable String id,
@@ -84,6 +187,35 @@ public class ApplicationController {
         }
     }
 
+    @PutMapping("/status")
+    public ResponseEntity<?> updateApplicationStatuses(@RequestBody BulkStatusRequest request) {
+        try {
+            String employerId = getCurrentUserId();
+            BulkStatusResponse response = applicationService.updateApplicationStatuses(request, employerId);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Helper method to flatten an application into the export columns
+    private static List<String> exportRow(Application application) {
+        return Arrays.asList(
+                application.getId(),
+                application.getUserId(),
+                application.getStatus(),
+                application.getAppliedDate(),
+                application.getLastUpdated(),
+                application.getResumeId(),
+                application.getResumeFileName(),
+                application.getResumeContentType(),
+                application.getResumeSize() != null ? application.getResumeSize().toString() : null,
+                application.getResumeStatus(),
+                application.getResumePageCount() != null ? application.getResumePageCount().toString() : null,
+                application.getResumeSkills() != null ? String.join(";", application.getResumeSkills()) : null,
+                application.getCoverLetter());
+    }
+
     // Helper method to get current user ID
     private String getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -0,0 +1,137 @@
+
+package com.jobportal.controllers;
+
+import com.jobportal.storage.ByteRange;
+import com.jobportal.storage.ResumeFile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Serves stored files with ETag revalidation and single byte-range support.
+// On Tomcat the body is handed to the connector's sendfile so it goes from the page cache
+// to the socket without passing through the JVM; elsewhere FileChannel.transferTo is used.
+final class FileResponses {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String NOSNIFF_HEADER = "X-Content-Type-Options";
+
+    // Resume formats that are safe to display; parameters such as charset are dropped
+    private static final Set<String> DOCUMENT_TYPES = new HashSet<>(Arrays.asList(
+            "application/pdf",
+            "application/msword",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+            "text/plain"));
+
+    private FileResponses() {}
+
+    static ResponseEntity<?> serve(ResumeFile file, String rangeHeader, String ifNoneMatch, String ifRange,
+                                   HttpServletRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(file.getEtag());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Authorised content: let the browser keep it but revalidate every time
+        headers.setCacheControl("private, no-cache");
+
+        if (matches(ifNoneMatch, file.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+
+        // A stale If-Range means the client's partial copy is outdated: send everything
+        ByteRange range = ifRange == null || ifRange.equals(file.getEtag())
+                ? ByteRange.parse(rangeHeader, file.getSize())
+                : null;
+        if (range == ByteRange.UNSATISFIABLE) {
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + file.getSize());
+            return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE).headers(headers).build();
+        }
+
+        long start = range != null ? range.getStart() : 0;
+        long length = range != null ? range.getLength() : file.getSize();
+        HttpStatus status = range != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK;
+        if (range != null) {
+            headers.set(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.getStart() + "-" + range.getEnd() + "/" + file.getSize());
+        }
+
+        // The stored type comes from the uploader: only known document types are shown inline,
+        // anything else is a download the browser must not sniff or render
+        MediaType contentType = documentType(file.getContentType());
+        headers.setContentType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM);
+        headers.set(NOSNIFF_HEADER, "nosniff");
+        headers.setContentLength(length);
+        headers.setContentDisposition(ContentDisposition.builder(contentType != null ? "inline" : "attachment")
+                .filename(file.getFileName() != null ? file.getFileName() : "resume", StandardCharsets.UTF_8)
+                .build());
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length); // exclusive
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+
+        StreamingResponseBody body = out -> {
+            try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = start;
+                long remaining = length;
+                while (remaining > 0) {
+                    long sent = channel.transferTo(position, remaining, target);
+                    if (sent <= 0) {
+                        break;
+                    }
+                    position += sent;
+                    remaining -= sent;
+                }
+            }
+        };
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    // The allowed media type matching a stored Content-Type, or null for anything else,
+    // including values that do not parse
+    static MediaType documentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        int parameters = contentType.indexOf(';');
+        String type = (parameters >= 0 ? contentType.substring(0, parameters) : contentType)
+                .trim().toLowerCase(Locale.ROOT);
+        return DOCUMENT_TYPES.contains(type) ? MediaType.parseMediaType(type) : null;
+    }
+
+    // If-None-Match may list several tags or "*"; weak tags compare by their opaque value
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
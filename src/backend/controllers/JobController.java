@@ -1,21 +1,31 @@
 
 package com.jobportal.controllers;
 
+import com.jobportal.dto.CursorPage;
+import com.jobportal.dto.JobImportReport;
 import com.jobportal.dto.JobRequest;
+import com.jobportal.dto.Suggestion;
 import com.jobportal.models.Job;
+import com.jobportal.search.JobSearchQuery;
+import com.jobportal.services.JobImportService;
 import com.jobportal.services.JobService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/jobs")
@@ -24,6 +34,9 @@ public class JobController {
     @Autowired
     private JobService jobService;
 
+    @Autowired
+    private JobImportService jobImportService;
+
     @PostMapping
     public ResponseEntity<?> createJob(@RequestBody JobRequest jobRequest) {
         try {
@@ -35,22 +48,65 @@ public class JobController {
         }
     }
 
+    // Body is NDJSON or CSV; the format comes from the parameter or else the Content-Type
+    @PostMapping("/import")
+    public ResponseEntity<?> importJobs(
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+        try {
+            String employerId = getCurrentUserId();
+            String importFormat = format != null ? format.toLowerCase() : importFormatOf(request.getContentType());
+            JobImportReport report = jobImportService.importJobs(request.getInputStream(), importFormat, employerId);
+            return ResponseEntity.ok(report);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Could not read import body");
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<Page<Job>> getAllJobs(Pageable pageable) {
-        Page<Job> jobs = jobService.getAllJobs(pageable);
-        return ResponseEntity.ok(jobs);
+    public ResponseEntity<?> getAllJobs(Pageable pageable) {
+        try {
+            Page<Job> jobs = jobService.getAllJobs(pageable);
+            return ResponseEntity.ok(jobs);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getJobById(@PathVariable String id) {
-        Optional<Job> job = jobService.getJobById(id);
-        if (job.isPresent()) {
-            return ResponseEntity.ok(job.get());
-        } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job not found");
+    // Accept: application/x-ndjson streams every job, one per line, from the reactive driver
+    @GetMapping(produces = StreamingResponses.NDJSON_VALUE)
+    public ResponseEntity<Flux<Job>> streamAllJobs(Sort sort) {
+        try {
+            Flux<Job> jobs = jobService.getAllJobsReactive(sort);
+            return ResponseEntity.ok().contentType(StreamingResponses.NDJSON).body(jobs);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<Suggestion> suggestions = jobService.suggest(prefix, type, limit);
+            return ResponseEntity.ok(suggestions);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Non-blocking: a cache miss releases the request thread until the reactive read completes
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> getJobById(@PathVariable String id) {
+        return jobService.getJobByIdReactive(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Job not found"));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateJob(@PathVariable String id, @RequestBody JobRequest jobRequest) {
         try {
@@ -74,26 +130,130 @@ public class JobController {
     }
 
     @GetMapping("/employer")
-    public ResponseEntity<List<Job>> getJobsByEmployer() {
+    public ResponseEntity<?> getJobsByEmployer(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            String employerId = getCurrentUserId();
+            CursorPage<Job> jobs = jobService.getJobsByEmployer(employerId, cursor, limit);
+            return ResponseEntity.ok(jobs);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Accept: application/x-ndjson, or stream=true, streams all of the employer's jobs from the
+    // reactive driver
+    @GetMapping(value = "/employer", produces = StreamingResponses.NDJSON_VALUE)
+    public ResponseEntity<Flux<Job>> streamJobsByEmployer() {
         String employerId = getCurrentUserId();
-        List<Job> jobs = jobService.getJobsByEmployer(employerId);
-        return ResponseEntity.ok(jobs);
+        return ResponseEntity.ok().contentType(StreamingResponses.NDJSON)
+                .body(jobService.getJobsByEmployerReactive(employerId));
+    }
+
+    @GetMapping(value = "/employer", params = "stream=true", produces = StreamingResponses.NDJSON_VALUE)
+    public ResponseEntity<Flux<Job>> streamJobsByEmployerOnRequest() {
+        return streamJobsByEmployer();
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Job>> searchJobs(
+    public ResponseEntity<?> searchJobs(
             @RequestParam(required = false) String query,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) List<String> jobTypes,
             @RequestParam(required = false) List<String> experienceLevels,
             @RequestParam(required = false) List<String> salaryRanges,
-            @RequestParam(required = false, defaultValue = "false") boolean remote) {
-        
-        List<Job> jobs = jobService.searchJobs(query, location, jobTypes, 
-                                              experienceLevels, salaryRanges, remote);
-        return ResponseEntity.ok(jobs);
+            @RequestParam(required = false, defaultValue = "false") boolean remote,
+            @RequestParam(required = false, defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false, defaultValue = "false") boolean facets,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) String orderBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Pageable pageable) {
+        try {
+            JobSearchQuery searchQuery = searchQueryOf(query, location, jobTypes, experienceLevels, salaryRanges,
+                                                       remote, fuzzy, lat, lon, radius, near, orderBy);
+            
+            // Facet counts wrap the page as { jobs, facets }
+            if (facets) {
+                if (cursor != null) {
+                    return ResponseEntity.ok(jobService.searchJobsWithFacets(searchQuery, cursor, limit));
+                }
+                return ResponseEntity.ok(jobService.searchJobsWithFacets(searchQuery, pageable));
+            }
+            
+            // Passing a cursor (empty for the first page) switches to keyset pagination
+            if (cursor != null) {
+                CursorPage<Job> jobs = jobService.searchJobs(searchQuery, cursor, limit);
+                return ResponseEntity.ok(jobs);
+            }
+            
+            Page<Job> jobs = jobService.searchJobs(searchQuery, pageable);
+            return ResponseEntity.ok(jobs);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
     
+    // Accept: application/x-ndjson streams every match, one job per line, in the requested order.
+    // Invalid filters are still answered with 400 before anything is streamed.
+    @GetMapping(value = "/search", produces = StreamingResponses.NDJSON_VALUE)
+    public ResponseEntity<Flux<Job>> streamSearchJobs(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) List<String> jobTypes,
+            @RequestParam(required = false) List<String> experienceLevels,
+            @RequestParam(required = false) List<String> salaryRanges,
+            @RequestParam(required = false, defaultValue = "false") boolean remote,
+            @RequestParam(required = false, defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radius,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) String orderBy) {
+        try {
+            JobSearchQuery searchQuery = searchQueryOf(query, location, jobTypes, experienceLevels, salaryRanges,
+                                                       remote, fuzzy, lat, lon, radius, near, orderBy);
+            Flux<Job> jobs = jobService.searchJobsReactive(searchQuery);
+            return ResponseEntity.ok().contentType(StreamingResponses.NDJSON).body(jobs);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+    
+    // Helper method to build the search query shared by the paged and streamed searches
+    private static JobSearchQuery searchQueryOf(String query, String location, List<String> jobTypes,
+                                                List<String> experienceLevels, List<String> salaryRanges,
+                                                boolean remote, boolean fuzzy, Double lat, Double lon,
+                                                Double radius, String near, String orderBy) {
+        JobSearchQuery searchQuery = new JobSearchQuery(query, location, jobTypes,
+                                                        experienceLevels, salaryRanges, remote);
+        searchQuery.setFuzzy(fuzzy);
+        searchQuery.setLatitude(lat);
+        searchQuery.setLongitude(lon);
+        searchQuery.setRadiusKm(radius);
+        searchQuery.setNear(near);
+        if (orderBy != null && !"newest".equalsIgnoreCase(orderBy)) {
+            if (!"distance".equalsIgnoreCase(orderBy)) {
+                throw new RuntimeException("orderBy must be newest or distance");
+            }
+            searchQuery.setSortByDistance(true);
+        }
+        return searchQuery;
+    }
+    
+    // Helper method to pick the import format from the request Content-Type
+    private static String importFormatOf(String contentType) {
+        if (contentType != null && contentType.toLowerCase().startsWith("text/csv")) {
+            return JobImportService.FORMAT_CSV;
+        }
+        return JobImportService.FORMAT_NDJSON;
+    }
+
     // Helper method to get current user ID
     private String getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
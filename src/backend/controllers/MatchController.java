@@ -0,0 +1,53 @@
+package com.jobportal.controllers;
+
+import com.jobportal.dto.CandidateMatch;
+import com.jobportal.dto.JobMatch;
+import com.jobportal.services.MatchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/matches")
+public class MatchController {
+
+    @Autowired
+    private MatchService matchService;
+
+    @GetMapping("/jobs")
+    public ResponseEntity<?> getMatchingJobs(@RequestParam(required = false) Integer limit) {
+        try {
+            String userId = getCurrentUserId();
+            List<JobMatch> matches = matchService.getMatchingJobs(userId, limit);
+            return ResponseEntity.ok(matches);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/job/{jobId}/candidates")
+    public ResponseEntity<?> getMatchingCandidates(
+            @PathVariable String jobId,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            String employerId = getCurrentUserId();
+            List<CandidateMatch> matches = matchService.getMatchingCandidates(jobId, employerId, limit);
+            return ResponseEntity.ok(matches);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Helper method to get current user ID
+    private String getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return userDetails.getUsername(); // In our case, username is the user ID
+    }
+}
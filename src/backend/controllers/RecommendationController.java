@@ -0,0 +1,39 @@
+package com.jobportal.controllers;
+
+import com.jobportal.dto.JobMatch;
+import com.jobportal.services.RecommendationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recommendations")
+public class RecommendationController {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @GetMapping
+    public ResponseEntity<?> getRecommendations(@RequestParam(required = false) Integer limit) {
+        try {
+            String userId = getCurrentUserId();
+            List<JobMatch> recommendations = recommendationService.getRecommendations(userId, limit);
+            return ResponseEntity.ok(recommendations);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Helper method to get current user ID
+    private String getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return userDetails.getUsername(); // In our case, username is the user ID
+    }
+}
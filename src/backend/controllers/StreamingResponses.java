@@ -0,0 +1,90 @@
+package com.jobportal.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobportal.csv.CsvWriter;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+// Writes result streams as newline-delimited JSON or CSV, one document per line, so large lists
+// go from the database cursor to the client without being collected into memory first.
+// Streams are opened only once the body is written and closed when it is done, so a request
+// abandoned before that never holds a database cursor.
+final class StreamingResponses {
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+    static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private StreamingResponses() {}
+
+    static <T> ResponseEntity<StreamingResponseBody> ndjson(ObjectMapper objectMapper, Supplier<Stream<T>> rows) {
+        return ResponseEntity.ok().contentType(NDJSON).body(out -> writeNdjson(objectMapper, rows, out));
+    }
+
+    // NDJSON download, optionally gzip-encoded
+    static <T> ResponseEntity<StreamingResponseBody> ndjsonAttachment(ObjectMapper objectMapper, Supplier<Stream<T>> rows,
+                                                                      String fileName, boolean gzip) {
+        return attachment(NDJSON, fileName, gzip, out -> writeNdjson(objectMapper, rows, out));
+    }
+
+    // CSV download with a header row, optionally gzip-encoded
+    static <T> ResponseEntity<StreamingResponseBody> csvAttachment(Supplier<Stream<T>> rows, List<String> header,
+                                                                   Function<T, List<String>> toRow,
+                                                                   String fileName, boolean gzip) {
+        return attachment(CSV, fileName, gzip, out -> {
+            try (Stream<T> stream = rows.get()) {
+                CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+                csv.writeRow(header);
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    csv.writeRow(toRow.apply(iterator.next()));
+                }
+                csv.flush();
+            }
+        });
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(MediaType contentType, String fileName,
+                                                                    boolean gzip, StreamingResponseBody body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.builder("attachment").filename(fileName).build().toString());
+        if (!gzip) {
+            return response.body(body);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            body.writeTo(compressed);
+            compressed.finish();
+            out.flush();
+        });
+    }
+
+    private static <T> void writeNdjson(ObjectMapper objectMapper, Supplier<Stream<T>> rows, OutputStream out)
+            throws IOException {
+        try (Stream<T> stream = rows.get()) {
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+            }
+            out.flush();
+        }
+    }
+}
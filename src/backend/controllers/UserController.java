@@ -0,0 +1,38 @@
+package com.jobportal.controllers;
+
+import com.jobportal.services.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+
+    @Autowired
+    private UserService userService;
+
+    @PutMapping("/me/skills")
+    public ResponseEntity<?> updateSkills(@RequestBody Set<String> skills) {
+        try {
+            String userId = getCurrentUserId();
+            Set<String> updatedSkills = userService.updateSkills(userId, skills);
+            return ResponseEntity.ok(updatedSkills);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Helper method to get current user ID
+    private String getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return userDetails.getUsername(); // In our case, username is the user ID
+    }
+}
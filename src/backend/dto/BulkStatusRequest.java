@@ -0,0 +1,45 @@
+package com.jobportal.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Either a list of application ids, or a job id with an optional current status filter
+public class BulkStatusRequest {
+    private List<String> applicationIds = new ArrayList<>();
+    private String jobId;
+    private String currentStatus;
+    private String status;
+
+    // Getters and Setters
+    public List<String> getApplicationIds() {
+        return applicationIds;
+    }
+
+    public void setApplicationIds(List<String> applicationIds) {
+        this.applicationIds = applicationIds != null ? applicationIds : new ArrayList<>();
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public void setCurrentStatus(String currentStatus) {
+        this.currentStatus = currentStatus;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
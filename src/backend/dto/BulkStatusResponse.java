@@ -0,0 +1,90 @@
+package com.jobportal.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkStatusResponse {
+    public static final String UPDATED = "UPDATED";
+    public static final String UNCHANGED = "UNCHANGED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String FORBIDDEN = "FORBIDDEN";
+
+    private String status;
+    private long updated;
+    // More applications of the job matched than one call updates; repeat the call for the rest
+    private boolean truncated;
+    private List<Item> results = new ArrayList<>();
+
+    // Constructors
+    public BulkStatusResponse() {}
+
+    public BulkStatusResponse(String status) {
+        this.status = status;
+    }
+
+    public void add(String id, String result) {
+        results.add(new Item(id, result));
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(long updated) {
+        this.updated = updated;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Item> results) {
+        this.results = results;
+    }
+
+    // Outcome for one application id
+    public static class Item {
+        private String id;
+        private String result;
+
+        public Item() {}
+
+        public Item(String id, String result) {
+            this.id = id;
+            this.result = result;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getResult() {
+            return result;
+        }
+
+        public void setResult(String result) {
+            this.result = result;
+        }
+    }
+}
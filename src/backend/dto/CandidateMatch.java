@@ -0,0 +1,70 @@
+package com.jobportal.dto;
+
+import java.util.List;
+
+public class CandidateMatch {
+    private String userId;
+    private String name;
+    private String applicationId;
+    private String status;
+    private double score;
+    private List<String> matchedSkills;
+
+    // Constructors
+    public CandidateMatch() {}
+
+    public CandidateMatch(String userId, double score, List<String> matchedSkills) {
+        this.userId = userId;
+        this.score = score;
+        this.matchedSkills = matchedSkills;
+    }
+
+    // Getters and Setters
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public void setMatchedSkills(List<String> matchedSkills) {
+        this.matchedSkills = matchedSkills;
+    }
+}
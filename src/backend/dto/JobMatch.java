@@ -0,0 +1,45 @@
+package com.jobportal.dto;
+
+import com.jobportal.models.Job;
+
+import java.util.List;
+
+public class JobMatch {
+    private Job job;
+    private double score;
+    private List<String> matchedSkills;
+
+    // Constructors
+    public JobMatch() {}
+
+    public JobMatch(Job job, double score, List<String> matchedSkills) {
+        this.job = job;
+        this.score = score;
+        this.matchedSkills = matchedSkills;
+    }
+
+    // Getters and Setters
+    public Job getJob() {
+        return job;
+    }
+
+    public void setJob(Job job) {
+        this.job = job;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public void setMatchedSkills(List<String> matchedSkills) {
+        this.matchedSkills = matchedSkills;
+    }
+}
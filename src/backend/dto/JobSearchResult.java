@@ -0,0 +1,34 @@
+package com.jobportal.dto;
+
+import java.util.Map;
+
+// A page of search results together with facet counts over all matches
+public class JobSearchResult<T> {
+    private T jobs;
+    private Map<String, Map<String, Integer>> facets;
+
+    // Constructors
+    public JobSearchResult() {}
+
+    public JobSearchResult(T jobs, Map<String, Map<String, Integer>> facets) {
+        this.jobs = jobs;
+        this.facets = facets;
+    }
+
+    // Getters and Setters
+    public T getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(T jobs) {
+        this.jobs = jobs;
+    }
+
+    public Map<String, Map<String, Integer>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, Map<String, Integer>> facets) {
+        this.facets = facets;
+    }
+}
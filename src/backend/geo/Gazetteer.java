@@ -0,0 +1,89 @@
+package com.jobportal.geo;
+
+import com.jobportal.search.Tokenizer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Offline place lookup from gazetteer.txt, so job locations get coordinates without a
+// geocoding service. Matching is on normalized words: "San Francisco, CA" is tried as a whole,
+// then without its trailing parts until a place name, city or alias matches.
+@Component
+public class Gazetteer {
+
+    private static final String RESOURCE = "gazetteer.txt";
+
+    private static final Pattern PARENTHESES = Pattern.compile("\\([^)]*\\)");
+
+    private final Map<String, GeoJsonPoint> places = new HashMap<>();
+
+    @PostConstruct
+    public void load() throws IOException {
+        ClassPathResource resource = new ClassPathResource(RESOURCE);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split("\\|");
+                String name = fields[0].trim();
+                GeoJsonPoint point = new GeoJsonPoint(Double.parseDouble(fields[2].trim()),
+                                                      Double.parseDouble(fields[1].trim()));
+                add(name, point);
+                add(name.split(",")[0], point);
+                for (int i = 3; i < fields.length; i++) {
+                    add(fields[i], point);
+                }
+            }
+        }
+    }
+
+    // Coordinates of the place a free-text location names, or null when it names none
+    public GeoJsonPoint resolve(String location) {
+        if (location == null) {
+            return null;
+        }
+        String[] parts = PARENTHESES.matcher(location).replaceAll(" ").split(",");
+        for (int n = parts.length; n > 0; n--) {
+            StringBuilder candidate = new StringBuilder();
+            for (int i = 0; i < n; i++) {
+                candidate.append(parts[i]).append(' ');
+            }
+            GeoJsonPoint point = places.get(key(candidate.toString()));
+            if (point != null) {
+                return point;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return places.size();
+    }
+
+    // The first place listed keeps a shared name
+    private void add(String name, GeoJsonPoint point) {
+        String key = key(name);
+        if (!key.isEmpty()) {
+            places.putIfAbsent(key, point);
+        }
+    }
+
+    private static String key(String text) {
+        List<String> words = Tokenizer.tokenize(text);
+        return String.join(" ", words);
+    }
+}
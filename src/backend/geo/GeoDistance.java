@@ -0,0 +1,32 @@
+package com.jobportal.geo;
+
+// Great-circle distances on a spherical Earth, accurate to well under 1% for radius searches
+public final class GeoDistance {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private GeoDistance() {}
+
+    // Haversine distance in kilometres
+    public static double km(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // Degrees of latitude spanned by a distance
+    public static double latitudeDegrees(double km) {
+        return Math.toDegrees(km / EARTH_RADIUS_KM);
+    }
+
+    // Degrees of longitude spanned by a distance at a latitude; 360 near the poles
+    public static double longitudeDegrees(double km, double latitude) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        if (cos < 1e-6) {
+            return 360;
+        }
+        return Math.min(360, Math.toDegrees(km / (EARTH_RADIUS_KM * cos)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.jobportal.matching;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One ranked user or job: score in (0, 1] and the skills it shares with the other side
+public class Match {
+    private final String id;
+    private final double score;
+    private List<String> matchedSkills = new ArrayList<>();
+
+    public Match(String id, double score) {
+        this.id = id;
+        this.score = score;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public List<String> getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public void setMatchedSkills(List<String> matchedSkills) {
+        this.matchedSkills = matchedSkills;
+    }
+}
@@ -0,0 +1,380 @@
+package com.jobportal.matching;
+
+import com.jobportal.models.Job;
+import com.jobportal.models.User;
+import com.jobportal.processing.SkillDictionary;
+import com.jobportal.search.Tokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Scores job seekers against jobs by skill overlap.
+// Skills and requirements are mapped to canonical skill names (SkillDictionary) and then to
+// dense int ids, so each user and each active job is a sorted int[] and scoring is a merge of
+// two short arrays. The score is the share of the job's skills the candidate has. Top-K uses a
+// bounded min-heap, and vectors are replaced one at a time as users and jobs change.
+@Component
+public class MatchingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchingEngine.class);
+
+    // Requirements longer than this are sentences; only dictionary skills are taken from them
+    private static final int MAX_FREE_TERM_WORDS = 3;
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final Comparator<Match> WORST_FIRST = Comparator
+            .comparingDouble(Match::getScore)
+            .thenComparing(Match::getId, Comparator.reverseOrder());
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    // Term table shared by every vector; guarded by termLock, which request threads take when
+    // jobs and users change, so it is a lock rather than a monitor
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> termNames = new ArrayList<>();
+    private final ReentrantLock termLock = new ReentrantLock();
+
+    private final ConcurrentMap<String, int[]> userVectors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, int[]> jobVectors = new ConcurrentHashMap<>();
+
+    // A lock rather than a monitor: the load blocks on Mongo, which would pin a virtual thread
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    // Ids updated or removed while the first load runs; the load must not overwrite them with
+    // what it read, or bring back a job deleted or deactivated in the meantime. Null otherwise.
+    private volatile Set<String> usersChangedDuringLoad;
+    private volatile Set<String> jobsChangedDuringLoad;
+
+    // Updates
+
+    public void userChanged(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        markChanged(usersChangedDuringLoad, user.getId());
+        if ("JOBSEEKER".equals(user.getRole())) {
+            userVectors.put(user.getId(), encodeSkills(user.getSkills()));
+        } else {
+            userVectors.remove(user.getId());
+        }
+    }
+
+    public void userRemoved(String userId) {
+        markChanged(usersChangedDuringLoad, userId);
+        userVectors.remove(userId);
+    }
+
+    public void jobChanged(Job job) {
+        if (job == null || job.getId() == null) {
+            return;
+        }
+        markChanged(jobsChangedDuringLoad, job.getId());
+        if (job.isActive()) {
+            jobVectors.put(job.getId(), encodeRequirements(job.getRequirements()));
+        } else {
+            jobVectors.remove(job.getId());
+        }
+    }
+
+    public void jobRemoved(String jobId) {
+        markChanged(jobsChangedDuringLoad, jobId);
+        jobVectors.remove(jobId);
+    }
+
+    // Ranking
+
+    // Best active jobs for a job seeker
+    public List<Match> topJobsForUser(String userId, int k) {
+        ensureLoaded();
+        int[] skills = userVectors.getOrDefault(userId, EMPTY);
+        TopK top = new TopK(k);
+        if (skills.length > 0) {
+            for (Map.Entry<String, int[]> job : jobVectors.entrySet()) {
+                top.offer(job.getKey(), skills, job.getValue());
+            }
+        }
+        return top.result(this);
+    }
+
+    // Best candidates for a job among the given users, e.g. the job's applicants
+    public List<Match> topUsersForJob(String jobId, Iterator<String> userIds, int k) {
+        ensureLoaded();
+        int[] requirements = jobVectors.get(jobId);
+        if (requirements == null) {
+            requirements = loadJobVector(jobId);
+        }
+        TopK top = new TopK(k);
+        if (requirements.length > 0) {
+            while (userIds.hasNext()) {
+                String userId = userIds.next();
+                top.offer(userId, userVectors.getOrDefault(userId, EMPTY), requirements);
+            }
+        }
+        return top.result(this);
+    }
+
+    // Skill vector of a job seeker; empty when unknown
+    public int[] userSkills(String userId) {
+        ensureLoaded();
+        return userVectors.getOrDefault(userId, EMPTY);
+    }
+
+    // Skill vector of an active job; empty when unknown or inactive
+    public int[] jobSkills(String jobId) {
+        ensureLoaded();
+        return jobVectors.getOrDefault(jobId, EMPTY);
+    }
+
+    // Share of the job's skills the user has, from 0 to 1
+    public static double skillScore(int[] user, int[] job) {
+        return job.length == 0 ? 0 : (double) overlap(user, job) / job.length;
+    }
+
+    // Encoding
+
+    public int[] encodeSkills(Collection<String> skills) {
+        if (skills == null || skills.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> names = new ArrayList<>();
+        for (String skill : skills) {
+            String canonical = skillDictionary.resolve(skill);
+            if (canonical != null) {
+                names.add(canonical);
+            } else {
+                addTerms(skill, names);
+            }
+        }
+        return encode(names);
+    }
+
+    public int[] encodeRequirements(List<String> requirements) {
+        if (requirements == null || requirements.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> names = new ArrayList<>();
+        for (String requirement : requirements) {
+            addTerms(requirement, names);
+        }
+        return encode(names);
+    }
+
+    // Dictionary skills found in the text; a short phrase with none becomes a term of its own
+    private void addTerms(String text, List<String> names) {
+        List<String> skills = skillDictionary.tag(text);
+        if (!skills.isEmpty()) {
+            names.addAll(skills);
+            return;
+        }
+        List<String> words = Tokenizer.tokenize(text);
+        if (!words.isEmpty() && words.size() <= MAX_FREE_TERM_WORDS) {
+            names.add(String.join(" ", words));
+        }
+    }
+
+    private int[] encode(List<String> names) {
+        if (names.isEmpty()) {
+            return EMPTY;
+        }
+        int[] ids = new int[names.size()];
+        termLock.lock();
+        try {
+            for (int i = 0; i < ids.length; i++) {
+                String name = names.get(i).toLowerCase(Locale.ROOT);
+                Integer id = termIds.get(name);
+                if (id == null) {
+                    id = termNames.size();
+                    termIds.put(name, id);
+                    termNames.add(names.get(i));
+                }
+                ids[i] = id;
+            }
+        } finally {
+            termLock.unlock();
+        }
+        Arrays.sort(ids);
+        int n = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (n == 0 || ids[n - 1] != ids[i]) {
+                ids[n++] = ids[i];
+            }
+        }
+        return n == ids.length ? ids : Arrays.copyOf(ids, n);
+    }
+
+    List<String> names(int[] ids) {
+        List<String> names = new ArrayList<>(ids.length);
+        termLock.lock();
+        try {
+            for (int id : ids) {
+                names.add(termNames.get(id));
+            }
+        } finally {
+            termLock.unlock();
+        }
+        return names;
+    }
+
+    // Number of ids present in both sorted arrays
+    static int overlap(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                count++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    static int[] intersection(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                result[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    // Loading
+
+    // Vectors for every job seeker and active job, read once with projections on first use
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            Set<String> changedUsers = ConcurrentHashMap.newKeySet();
+            Set<String> changedJobs = ConcurrentHashMap.newKeySet();
+            usersChangedDuringLoad = changedUsers;
+            jobsChangedDuringLoad = changedJobs;
+            try {
+                Query users = new Query(Criteria.where("role").is("JOBSEEKER"));
+                users.fields().include("id").include("skills");
+                mongoTemplate.stream(users, User.class).forEachRemaining(user ->
+                        putLoaded(userVectors, changedUsers, user.getId(), encodeSkills(user.getSkills())));
+
+                Query jobs = new Query(Criteria.where("active").is(true));
+                jobs.fields().include("id").include("requirements");
+                mongoTemplate.stream(jobs, Job.class).forEachRemaining(job ->
+                        putLoaded(jobVectors, changedJobs, job.getId(), encodeRequirements(job.getRequirements())));
+
+                loaded = true;
+            } finally {
+                usersChangedDuringLoad = null;
+                jobsChangedDuringLoad = null;
+            }
+            logger.info("Loaded skill vectors for {} users and {} jobs", userVectors.size(), jobVectors.size());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Updates mark the id before touching the map, and the load only fills in ids that are
+    // neither present nor marked, atomically per key, so the newer state always wins
+    private static void markChanged(Set<String> changed, String id) {
+        if (changed != null) {
+            changed.add(id);
+        }
+    }
+
+    private static void putLoaded(ConcurrentMap<String, int[]> vectors, Set<String> changed, String id, int[] vector) {
+        vectors.compute(id, (key, current) -> current != null || changed.contains(key) ? current : vector);
+    }
+
+    // Inactive jobs are not kept in memory, but their owner may still rank its applicants
+    private int[] loadJobVector(String jobId) {
+        Query query = new Query(Criteria.where("id").is(jobId));
+        query.fields().include("requirements");
+        Job job = mongoTemplate.findOne(query, Job.class);
+        return job != null ? encodeRequirements(job.getRequirements()) : EMPTY;
+    }
+
+    // Bounded min-heap of the best k scores seen so far
+    private static class TopK {
+        private final int k;
+        private final PriorityQueue<Match> heap;
+        private final Map<String, int[][]> pairs = new HashMap<>();
+
+        private TopK(int k) {
+            this.k = Math.max(1, k);
+            this.heap = new PriorityQueue<>(this.k + 1, WORST_FIRST);
+        }
+
+        // Score is the share of the job's skills the user has
+        private void offer(String id, int[] user, int[] job) {
+            int common = overlap(user, job);
+            if (common == 0) {
+                return;
+            }
+            double score = (double) common / job.length;
+            if (heap.size() == k) {
+                Match worst = heap.peek();
+                if (score < worst.getScore() || (score == worst.getScore() && id.compareTo(worst.getId()) > 0)) {
+                    return;
+                }
+                pairs.remove(heap.poll().getId());
+            }
+            heap.add(new Match(id, score));
+            pairs.put(id, new int[][] {user, job});
+        }
+
+        // Best first, with the skills each match has in common
+        private List<Match> result(MatchingEngine engine) {
+            List<Match> matches = new ArrayList<>(heap);
+            matches.sort(Collections.reverseOrder(WORST_FIRST));
+            for (Match match : matches) {
+                int[][] pair = pairs.get(match.getId());
+                match.setMatchedSkills(engine.names(intersection(pair[0], pair[1])));
+            }
+            return matches;
+        }
+    }
+}
@@ -2,16 +2,38 @@
 package com.jobportal.models;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Document(collection = "applications")
+@CompoundIndexes({
+    // Keyset pagination of a job seeker's and a job's applications
+    @CompoundIndex(name = "user_applied_id", def = "{'userId': 1, 'appliedDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "job_applied_id", def = "{'jobId': 1, 'appliedDate': -1, '_id': -1}")
+    // The unique (userId, jobId) index is built by DuplicateApplicationMigration once
+    // duplicates from before it are gone
+})
 public class Application {
     @Id
     private String id;
     private String jobId;
     private String userId;
     private String status; // PENDING, REVIEWED, REJECTED, INTERVIEW, HIRED
-    private String resume; // File path or Base64 encoded string
+    private String resume; // Legacy: file name or Base64 encoded string
+    private String resumeId; // SHA-256 of the resume in the blob store
+    private String resumeFileName;
+    private String resumeContentType;
+    private Long resumeSize;
+    @Indexed(sparse = true)
+    private String resumeStatus; // PENDING, PROCESSED, UNSUPPORTED, FAILED
+    private String resumeText; // Extracted text, omitted from list queries
+    private Integer resumePageCount;
+    private List<String> resumeSkills = new ArrayList<>();
     private String coverLetter;
     private String appliedDate;
     private String lastUpdated;
@@ -68,6 +90,70 @@ public class Application {
         this.resume = resume;
     }
 
+    public String getResumeId() {
+        return resumeId;
+    }
+
+    public void setResumeId(String resumeId) {
+        this.resumeId = resumeId;
+    }
+
+    public String getResumeFileName() {
+        return resumeFileName;
+    }
+
+    public void setResumeFileName(String resumeFileName) {
+        this.resumeFileName = resumeFileName;
+    }
+
+    public String getResumeContentType() {
+        return resumeContentType;
+    }
+
+    public void setResumeContentType(String resumeContentType) {
+        this.resumeContentType = resumeContentType;
+    }
+
+    public Long getResumeSize() {
+        return resumeSize;
+    }
+
+    public void setResumeSize(Long resumeSize) {
+        this.resumeSize = resumeSize;
+    }
+
+    public String getResumeStatus() {
+        return resumeStatus;
+    }
+
+    public void setResumeStatus(String resumeStatus) {
+        this.resumeStatus = resumeStatus;
+    }
+
+    public String getResumeText() {
+        return resumeText;
+    }
+
+    public void setResumeText(String resumeText) {
+        this.resumeText = resumeText;
+    }
+
+    public Integer getResumePageCount() {
+        return resumePageCount;
+    }
+
+    public void setResumePageCount(Integer resumePageCount) {
+        this.resumePageCount = resumePageCount;
+    }
+
+    public List<String> getResumeSkills() {
+        return resumeSkills;
+    }
+
+    public void setResumeSkills(List<String> resumeSkills) {
+        this.resumeSkills = resumeSkills;
+    }
+
     public String getCoverLetter() {
         return coverLetter;
     }
@@ -2,21 +2,55 @@
 package com.jobportal.models;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "jobs")
+@CompoundIndexes({
+    // Equality filters of the search endpoint first, then the default sort key
+    @CompoundIndex(name = "active_type_level_remote_posted",
+                   def = "{'active': 1, 'type': 1, 'experienceLevel': 1, 'remote': 1, 'postedDate': -1}"),
+    @CompoundIndex(name = "active_posted", def = "{'active': 1, 'postedDate': -1}"),
+    // Anchored prefix matches of the location filter
+    @CompoundIndex(name = "active_location_keys", def = "{'active': 1, 'locationKeys': 1}"),
+    // Keyset pagination of an employer's jobs
+    @CompoundIndex(name = "employer_posted_id", def = "{'employerId': 1, 'postedDate': -1, '_id': -1}"),
+    @CompoundIndex(name = "active_currency_salary_range",
+                   def = "{'active': 1, 'salaryCurrency': 1, 'salaryPeriod': 1, 'salaryMin': 1, 'salaryMax': 1}")
+})
 public class Job {
     @Id
     private String id;
+    @TextIndexed(weight = 3)
     private String title;
     private String company;
     private String employerId;
     private String location;
+    // Lower-cased words of location, so the Mongo search path can match them by anchored prefix
+    private List<String> locationKeys;
+    // Resolved from location against the gazetteer when the job is saved; null when unknown
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint coordinates;
     private String type; // FULL_TIME, PART_TIME, CONTRACT, etc.
+    @TextIndexed
     private String description;
     private String salary;
+    // Parsed from salary when the job is saved; amounts are per salaryPeriod
+    private Long salaryMin;
+    private Long salaryMax;
+    private String salaryCurrency;
+    // Stored even when null, so an unparseable salary is told apart from one never parsed
+    @Field(write = Field.Write.ALWAYS)
+    private String salaryPeriod; // HOUR, DAY, WEEK, MONTH, YEAR
+    @TextIndexed
     private List<String> requirements = new ArrayList<>();
     private String experienceLevel;
     private boolean remote;
@@ -28,6 +62,31 @@ public class Job {
     // Constructors
     public Job() {}
 
+    // Copy with its own requirements list, for holders that must not see later changes
+    public Job(Job other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.company = other.company;
+        this.employerId = other.employerId;
+        this.location = other.location;
+        this.locationKeys = other.locationKeys != null ? new ArrayList<>(other.locationKeys) : null;
+        this.coordinates = other.coordinates;
+        this.type = other.type;
+        this.description = other.description;
+        this.salary = other.salary;
+        this.salaryMin = other.salaryMin;
+        this.salaryMax = other.salaryMax;
+        this.salaryCurrency = other.salaryCurrency;
+        this.salaryPeriod = other.salaryPeriod;
+        this.requirements = other.requirements != null ? new ArrayList<>(other.requirements) : null;
+        this.experienceLevel = other.experienceLevel;
+        this.remote = other.remote;
+        this.category = other.category;
+        this.postedDate = other.postedDate;
+        this.deadline = other.deadline;
+        this.active = other.active;
+    }
+
     public Job(String title, String company, String employerId, String location, 
                String type, String description, String salary) {
         this.title = title;
@@ -104,6 +163,38 @@ public class Job {
         this.salary = salary;
     }
 
+    public Long getSalaryMin() {
+        return salaryMin;
+    }
+
+    public void setSalaryMin(Long salaryMin) {
+        this.salaryMin = salaryMin;
+    }
+
+    public Long getSalaryMax() {
+        return salaryMax;
+    }
+
+    public void setSalaryMax(Long salaryMax) {
+        this.salaryMax = salaryMax;
+    }
+
+    public String getSalaryCurrency() {
+        return salaryCurrency;
+    }
+
+    public void setSalaryCurrency(String salaryCurrency) {
+        this.salaryCurrency = salaryCurrency;
+    }
+
+    public String getSalaryPeriod() {
+        return salaryPeriod;
+    }
+
+    public void setSalaryPeriod(String salaryPeriod) {
+        this.salaryPeriod = salaryPeriod;
+    }
+
     public List<String> getRequirements() {
         return requirements;
     }
@@ -120,6 +211,22 @@ public class Job {
         this.experienceLevel = experienceLevel;
     }
 
+    public List<String> getLocationKeys() {
+        return locationKeys;
+    }
+
+    public void setLocationKeys(List<String> locationKeys) {
+        this.locationKeys = locationKeys;
+    }
+
+    public GeoJsonPoint getCoordinates() {
+        return coordinates;
+    }
+
+    public void setCoordinates(GeoJsonPoint coordinates) {
+        this.coordinates = coordinates;
+    }
+
     public boolean isRemote() {
         return remote;
     }
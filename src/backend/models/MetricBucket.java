@@ -0,0 +1,72 @@
+
+package com.jobportal.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+// Pre-aggregated event counts for one time bucket at one resolution
+@Document(collection = "metric_buckets")
+@CompoundIndex(name = "resolution_start", def = "{'resolution': 1, 'start': 1}")
+public class MetricBucket {
+    public static final String MINUTE = "MINUTE";
+    public static final String HOUR = "HOUR";
+    public static final String DAY = "DAY";
+
+    @Id
+    private String id; // resolution:start
+    private String resolution; // MINUTE, HOUR, DAY
+    private Instant start;
+    private Map<String, Long> counts = new HashMap<>();
+    @Indexed(expireAfterSeconds = 0)
+    private Instant expireAt; // null keeps the bucket forever
+
+    // Constructors
+    public MetricBucket() {}
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(String resolution) {
+        this.resolution = resolution;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public void setStart(Instant start) {
+        this.start = start;
+    }
+
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<String, Long> counts) {
+        this.counts = counts;
+    }
+
+    public Instant getExpireAt() {
+        return expireAt;
+    }
+
+    public void setExpireAt(Instant expireAt) {
+        this.expireAt = expireAt;
+    }
+}
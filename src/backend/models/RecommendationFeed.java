@@ -0,0 +1,78 @@
+package com.jobportal.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Precomputed top-N jobs for one job seeker, keyed by user id and kept sorted by score
+@Document(collection = "recommendations")
+public class RecommendationFeed {
+    @Id
+    private String id; // User id
+    private List<Entry> jobs = new ArrayList<>();
+    private String computedAt;
+
+    // Constructors
+    public RecommendationFeed() {}
+
+    public RecommendationFeed(String id, List<Entry> jobs, String computedAt) {
+        this.id = id;
+        this.jobs = jobs;
+        this.computedAt = computedAt;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<Entry> getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(List<Entry> jobs) {
+        this.jobs = jobs;
+    }
+
+    public String getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(String computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    public static class Entry {
+        private String jobId;
+        private double score;
+
+        public Entry() {}
+
+        public Entry(String jobId, double score) {
+            this.jobId = jobId;
+            this.score = score;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public void setJobId(String jobId) {
+            this.jobId = jobId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public void setScore(double score) {
+            this.score = score;
+        }
+    }
+}
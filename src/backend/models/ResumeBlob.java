@@ -0,0 +1,67 @@
+
+package com.jobportal.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Reference-counted record of one unique resume file in the content-addressed store
+@Document(collection = "resume_blobs")
+@CompoundIndex(name = "refcount_released", def = "{'refCount': 1, 'releasedAt': 1}")
+public class ResumeBlob {
+    @Id
+    private String id; // SHA-256 of the content, hex encoded
+    private long size;
+    private long refCount;
+    private String createdAt;
+    private String releasedAt; // last time the count dropped to zero
+
+    // Constructors
+    public ResumeBlob() {}
+
+    public ResumeBlob(String id, long size) {
+        this.id = id;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public long getRefCount() {
+        return refCount;
+    }
+
+    public void setRefCount(long refCount) {
+        this.refCount = refCount;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getReleasedAt() {
+        return releasedAt;
+    }
+
+    public void setReleasedAt(String releasedAt) {
+        this.releasedAt = releasedAt;
+    }
+}
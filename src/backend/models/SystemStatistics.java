@@ -0,0 +1,47 @@
+
+package com.jobportal.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Single document holding the running platform counters; updated with atomic $inc operations
+@Document(collection = "statistics")
+public class SystemStatistics {
+    public static final String GLOBAL_ID = "global";
+
+    @Id
+    private String id;
+    private Map<String, Long> counters = new HashMap<>();
+    private String reconciledAt;
+
+    // Constructors
+    public SystemStatistics() {}
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public void setCounters(Map<String, Long> counters) {
+        this.counters = counters;
+    }
+
+    public String getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(String reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
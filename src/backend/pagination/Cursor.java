@@ -0,0 +1,67 @@
+
+package com.jobportal.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Position in a keyset-paginated list: the sort key and id of the last row already returned.
+// Clients only ever see the encoded, opaque form. The sort key is null for a row without one;
+// such rows come after every keyed row in descending order, as Mongo sorts them.
+public class Cursor {
+
+    private static final char SEPARATOR = '\n';
+
+    private final String sortKey;
+    private final String id;
+
+    public Cursor(String sortKey, String id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    // A null sort key is written as the id alone, without the separator
+    public String encode() {
+        String raw = sortKey == null ? id : sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for a missing or empty cursor, meaning "start from the first row"
+    public static Cursor decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        int separator = raw.lastIndexOf(SEPARATOR);
+        if (raw.isEmpty() || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (separator < 0) {
+            return new Cursor(null, raw);
+        }
+        return new Cursor(raw.substring(0, separator), raw.substring(separator + 1));
+    }
+
+    // Whether a row with the given key comes after this cursor in (sortKey desc, id desc) order
+    public boolean precedes(String otherSortKey, String otherId) {
+        if (sortKey == null || otherSortKey == null) {
+            return otherSortKey == null && (sortKey != null || id.compareTo(otherId) > 0);
+        }
+        int bySortKey = sortKey.compareTo(otherSortKey);
+        return bySortKey > 0 || (bySortKey == 0 && id.compareTo(otherId) > 0);
+    }
+}
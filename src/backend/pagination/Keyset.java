@@ -0,0 +1,42 @@
+
+package com.jobportal.pagination;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+// Builds keyset (seek) queries ordered by (sortField desc, _id desc).
+// Instead of skipping rows, each page starts strictly after the cursor, so page N costs the
+// same index range scan as page one when a matching (..., sortField, _id) index exists.
+public final class Keyset {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private Keyset() {}
+
+    // Fetches one extra row so the caller can tell whether another page exists. Rows without the
+    // sort key sort last, and $lt never matches them, so they are sought with an explicit null
+    public static Query page(Criteria filter, String sortField, Cursor after, int limit) {
+        Criteria criteria = filter;
+        if (after != null && after.getSortKey() == null) {
+            criteria = new Criteria().andOperator(filter,
+                    Criteria.where(sortField).is(null).and("id").lt(after.getId()));
+        } else if (after != null) {
+            criteria = new Criteria().andOperator(filter, new Criteria().orOperator(
+                    Criteria.where(sortField).lt(after.getSortKey()),
+                    Criteria.where(sortField).is(after.getSortKey()).and("id").lt(after.getId()),
+                    Criteria.where(sortField).is(null)));
+        }
+        return new Query(criteria).with(Sort.by(Sort.Direction.DESC, sortField).and(Sort.by(Sort.Direction.DESC, "id")))
+                .limit(limit + 1);
+    }
+
+    // Clamp a client supplied page size
+    public static int limit(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,20 @@
+package com.jobportal.processing;
+
+// Text and page count read from a resume file; pageCount is null when the format has no pages
+public class ExtractedResume {
+    private final String text;
+    private final Integer pageCount;
+
+    public ExtractedResume(String text, Integer pageCount) {
+        this.text = text;
+        this.pageCount = pageCount;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Integer getPageCount() {
+        return pageCount;
+    }
+}
@@ -0,0 +1,228 @@
+package com.jobportal.processing;
+
+import com.jobportal.models.Application;
+import com.jobportal.storage.ResumeStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Background text extraction and skill tagging for stored resumes.
+// New applications are saved with resumeStatus PENDING and offered to a bounded queue served by
+// one worker per core. When the queue is full the offer is dropped rather than blocking the
+// apply request; a periodic sweep picks PENDING applications up again, which also covers work
+// lost in a restart. Failures are retried with a growing delay, and results are written back
+// to Mongo in batches.
+@Component
+public class ResumeProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeProcessor.class);
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_PROCESSED = "PROCESSED";
+    public static final String STATUS_UNSUPPORTED = "UNSUPPORTED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ResumeStore resumeStore;
+
+    @Autowired
+    private SkillDictionary skillDictionary;
+
+    @Value("${app.resume-processing.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.resume-processing.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.resume-processing.retry-delay-ms:30000}")
+    private long retryDelayMs;
+
+    @Value("${app.resume-processing.batch-size:100}")
+    private int batchSize;
+
+    private final ResumeTextExtractor extractor = new ResumeTextExtractor();
+
+    // Applications queued, running, waiting for a retry or waiting to be written back
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Result> results = new LinkedBlockingQueue<>();
+
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService retries;
+
+    @PostConstruct
+    public void start() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "resume-processor-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "resume-processor-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        retries.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    // Queue a newly stored resume; never blocks the caller
+    public void submit(Application application) {
+        if (application.getId() == null || application.getResumeId() == null) {
+            return;
+        }
+        if (inFlight.add(application.getId())) {
+            enqueue(new Task(application.getId(), application.getResumeId(), 1));
+        }
+    }
+
+    public int getQueueSize() {
+        return workers.getQueue().size();
+    }
+
+    // Re-offer PENDING applications that are not already being handled here
+    @Scheduled(fixedDelayString = "${app.resume-processing.sweep-interval-ms:60000}")
+    public void sweep() {
+        int room = workers.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+        Query query = new Query(Criteria.where("resumeStatus").is(STATUS_PENDING)).limit(room + inFlight.size());
+        query.fields().include("id").include("resumeId");
+        for (Application application : mongoTemplate.find(query, Application.class)) {
+            submit(application);
+        }
+    }
+
+    // Write finished results back in batches of unordered updates
+    @Scheduled(fixedDelayString = "${app.resume-processing.flush-interval-ms:1000}")
+    public void flush() {
+        List<Result> batch = new ArrayList<>(batchSize);
+        while (results.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void enqueue(Task task) {
+        try {
+            workers.execute(() -> process(task));
+        } catch (RejectedExecutionException e) {
+            // Backpressure: leave it PENDING for the next sweep
+            inFlight.remove(task.applicationId);
+        }
+    }
+
+    private void process(Task task) {
+        try {
+            ExtractedResume extracted = extractor.extract(resumeStore.resolve(task.resumeId));
+            if (extracted == null) {
+                results.add(new Result(task.applicationId, STATUS_UNSUPPORTED, null));
+                return;
+            }
+            List<String> skills = skillDictionary.tag(extracted.getText());
+            results.add(new Result(task.applicationId, STATUS_PROCESSED, extracted, skills));
+        } catch (Exception e) {
+            if (task.attempt >= maxAttempts) {
+                logger.warn("Giving up on resume of application {}: {}", task.applicationId, e.getMessage());
+                results.add(new Result(task.applicationId, STATUS_FAILED, null));
+                return;
+            }
+            Task retry = new Task(task.applicationId, task.resumeId, task.attempt + 1);
+            try {
+                retries.schedule(() -> enqueue(retry), retryDelayMs * task.attempt, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException shuttingDown) {
+                inFlight.remove(task.applicationId);
+            }
+        }
+    }
+
+    // Only applications still PENDING are updated, so a withdrawn application stays deleted
+    private void write(List<Result> batch) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        for (Result result : batch) {
+            Update update = new Update().set("resumeStatus", result.status);
+            if (result.extracted != null) {
+                update.set("resumeText", result.extracted.getText())
+                        .set("resumePageCount", result.extracted.getPageCount())
+                        .set("resumeSkills", result.skills);
+            }
+            bulk.updateOne(new Query(Criteria.where("id").is(result.applicationId)
+                    .and("resumeStatus").is(STATUS_PENDING)), update);
+        }
+        try {
+            bulk.execute();
+        } catch (RuntimeException e) {
+            logger.warn("Could not write {} resume processing results: {}", batch.size(), e.getMessage());
+        } finally {
+            for (Result result : batch) {
+                inFlight.remove(result.applicationId);
+            }
+        }
+    }
+
+    private static class Task {
+        private final String applicationId;
+        private final String resumeId;
+        private final int attempt;
+
+        private Task(String applicationId, String resumeId, int attempt) {
+            this.applicationId = applicationId;
+            this.resumeId = resumeId;
+            this.attempt = attempt;
+        }
+    }
+
+    private static class Result {
+        private final String applicationId;
+        private final String status;
+        private final ExtractedResume extracted;
+        private final List<String> skills;
+
+        private Result(String applicationId, String status, ExtractedResume extracted) {
+            this(applicationId, status, extracted, null);
+        }
+
+        private Result(String applicationId, String status, ExtractedResume extracted, List<String> skills) {
+            this.applicationId = applicationId;
+            this.status = status;
+            this.extracted = extracted;
+            this.skills = skills;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.jobportal.processing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+// Best-effort plain-text extraction for the resume formats we accept, without a document
+// library: PDF text operators from uncompressed or Flate streams, the body of a DOCX package,
+// and UTF-8 text. Anything else comes back as unsupported.
+public class ResumeTextExtractor {
+
+    public static final int MAX_TEXT_CHARS = 100_000;
+
+    private static final int MAX_INFLATED_BYTES = 16 << 20;
+
+    private static final Pattern PDF_PAGE = Pattern.compile("/Type\\s*/Page(?![a-zA-Z])");
+    private static final Pattern DOCX_TEXT = Pattern.compile("<w:t(?:\\s[^>]*)?>([^<]*)</w:t>|</w:p>|<w:tab/>|<w:br/>");
+    private static final Pattern DOCX_PAGES = Pattern.compile("<Pages>(\\d+)</Pages>");
+
+    // Null when the format is not one we can read
+    public ExtractedResume extract(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        if (startsWith(content, "%PDF")) {
+            return extractPdf(content);
+        }
+        if (startsWith(content, "PK\u0003\u0004")) {
+            return extractDocx(file);
+        }
+        String text = decodeUtf8(content);
+        return text != null ? new ExtractedResume(truncate(text), null) : null;
+    }
+
+    // PDF
+
+    private ExtractedResume extractPdf(byte[] content) throws IOException {
+        String raw = new String(content, StandardCharsets.ISO_8859_1);
+        StringBuilder text = new StringBuilder();
+        int pages = countPages(raw);
+
+        int from = 0;
+        while (text.length() < MAX_TEXT_CHARS) {
+            int keyword = raw.indexOf("stream", from);
+            if (keyword < 0) {
+                break;
+            }
+            if (keyword >= 3 && raw.startsWith("end", keyword - 3)) {
+                from = keyword + 6;
+                continue;
+            }
+            int start = keyword + 6;
+            if (start < raw.length() && raw.charAt(start) == '\r') {
+                start++;
+            }
+            if (start < raw.length() && raw.charAt(start) == '\n') {
+                start++;
+            }
+            int end = raw.indexOf("endstream", start);
+            if (end < 0) {
+                break;
+            }
+
+            String dictionary = raw.substring(Math.max(0, raw.lastIndexOf("<<", keyword)), keyword);
+            byte[] data = slice(content, start, end);
+            if (dictionary.contains("/FlateDecode")) {
+                data = inflate(data);
+            } else if (dictionary.contains("/Filter")) {
+                data = null; // images and other encodings carry no text we can read
+            }
+            if (data != null) {
+                String stream = new String(data, StandardCharsets.ISO_8859_1);
+                if (pages == 0) {
+                    pages = countPages(stream);
+                }
+                appendPdfText(stream, text);
+            }
+            from = end + 9;
+        }
+        return new ExtractedResume(truncate(text.toString()), pages > 0 ? pages : null);
+    }
+
+    private static int countPages(String raw) {
+        int pages = 0;
+        Matcher matcher = PDF_PAGE.matcher(raw);
+        while (matcher.find()) {
+            pages++;
+        }
+        return pages;
+    }
+
+    // Collect literal strings shown by Tj, TJ, ' and "; line moves and text blocks become spaces
+    private static void appendPdfText(String stream, StringBuilder text) {
+        StringBuilder pending = new StringBuilder();
+        boolean inArray = false;
+        int i = 0;
+        while (i < stream.length()) {
+            char c = stream.charAt(i);
+            if (c == '(') {
+                i = readLiteral(stream, i + 1, pending);
+                continue;
+            }
+            if (c == '[' || c == ']') {
+                inArray = c == '[';
+                i++;
+                continue;
+            }
+            if (c == '-' || c == '.' || (c >= '0' && c <= '9')) {
+                int start = i++;
+                while (i < stream.length() && (stream.charAt(i) == '.' || Character.isDigit(stream.charAt(i)))) {
+                    i++;
+                }
+                // A large negative adjustment inside a TJ array is how PDFs usually space words
+                if (inArray && pending.length() > 0 && isWordGap(stream.substring(start, i))) {
+                    pending.append(' ');
+                }
+                continue;
+            }
+            if (c == '%') {
+                while (i < stream.length() && stream.charAt(i) != '\n' && stream.charAt(i) != '\r') {
+                    i++;
+                }
+                continue;
+            }
+            if (Character.isLetter(c) || c == '\'' || c == '"' || c == '*') {
+                int start = i;
+                while (i < stream.length() && (Character.isLetter(stream.charAt(i))
+                        || stream.charAt(i) == '*' || stream.charAt(i) == '\'' || stream.charAt(i) == '"')) {
+                    i++;
+                }
+                String operator = stream.substring(start, i);
+                if (operator.equals("Tj") || operator.equals("TJ") || operator.equals("'") || operator.equals("\"")) {
+                    text.append(pending);
+                } else if (operator.equals("Td") || operator.equals("TD") || operator.equals("T*")
+                        || operator.equals("ET")) {
+                    if (text.length() > 0 && text.charAt(text.length() - 1) != ' ') {
+                        text.append(' ');
+                    }
+                }
+                pending.setLength(0);
+                continue;
+            }
+            i++;
+        }
+    }
+
+    private static boolean isWordGap(String number) {
+        try {
+            return Double.parseDouble(number) <= -200;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Decode a PDF literal string starting after its '(' and return the index after its ')'
+    private static int readLiteral(String stream, int i, StringBuilder out) {
+        int depth = 1;
+        while (i < stream.length()) {
+            char c = stream.charAt(i++);
+            if (c == '\\' && i < stream.length()) {
+                char e = stream.charAt(i++);
+                switch (e) {
+                    case 'n': out.append('\n'); break;
+                    case 'r': out.append('\r'); break;
+                    case 't': out.append('\t'); break;
+                    case 'b': case 'f': break;
+                    case '\r': case '\n': break;
+                    default:
+                        if (e >= '0' && e <= '7') {
+                            int value = e - '0';
+                            for (int k = 0; k < 2 && i < stream.length()
+                                    && stream.charAt(i) >= '0' && stream.charAt(i) <= '7'; k++) {
+                                value = value * 8 + (stream.charAt(i++) - '0');
+                            }
+                            out.append((char) (value & 0xFF));
+                        } else {
+                            out.append(e);
+                        }
+                }
+            } else if (c == '(') {
+                depth++;
+                out.append(c);
+            } else if (c == ')') {
+                if (--depth == 0) {
+                    return i;
+                }
+                out.append(c);
+            } else {
+                out.append(c);
+            }
+        }
+        return i;
+    }
+
+    private static byte[] inflate(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished() && out.size() < MAX_INFLATED_BYTES) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // DOCX
+
+    private ExtractedResume extractDocx(Path file) throws IOException {
+        String document = null;
+        Integer pages = null;
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(file))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.getName().equals("word/document.xml")) {
+                    document = readEntry(zip);
+                } else if (entry.getName().equals("docProps/app.xml")) {
+                    Matcher matcher = DOCX_PAGES.matcher(readEntry(zip));
+                    if (matcher.find()) {
+                        pages = Integer.valueOf(matcher.group(1));
+                    }
+                }
+            }
+        }
+        if (document == null) {
+            return null;
+        }
+
+        StringBuilder text = new StringBuilder();
+        Matcher matcher = DOCX_TEXT.matcher(document);
+        while (matcher.find() && text.length() < MAX_TEXT_CHARS) {
+            if (matcher.group(1) != null) {
+                text.append(unescapeXml(matcher.group(1)));
+            } else {
+                text.append(matcher.group().equals("<w:tab/>") ? ' ' : '\n');
+            }
+        }
+        return new ExtractedResume(truncate(text.toString()), pages);
+    }
+
+    private static String readEntry(InputStream zip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = zip.read(buffer)) > 0) {
+            if (out.size() + n > MAX_INFLATED_BYTES) {
+                throw new IOException("Document is too large");
+            }
+            out.write(buffer, 0, n);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String unescapeXml(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    // Plain text
+
+    private static String decodeUtf8(byte[] content) {
+        try {
+            String text = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(content))
+                    .toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < 0x20 && c != '\n' && c != '\r' && c != '\t' && c != '\f') {
+                    return null;
+                }
+            }
+            return text;
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+
+    private static boolean startsWith(byte[] content, String prefix) {
+        if (content.length < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (content[i] != (byte) prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] slice(byte[] content, int start, int end) {
+        byte[] data = new byte[Math.max(0, end - start)];
+        System.arraycopy(content, start, data, 0, data.length);
+        return data;
+    }
+
+    private static String truncate(String text) {
+        String trimmed = text.trim();
+        return trimmed.length() > MAX_TEXT_CHARS ? trimmed.substring(0, MAX_TEXT_CHARS) : trimmed;
+    }
+}
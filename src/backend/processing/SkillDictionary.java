@@ -0,0 +1,104 @@
+package com.jobportal.processing;
+
+import com.jobportal.search.Tokenizer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Skill names and aliases from skills.txt, matched against tokenized text.
+// Phrases are indexed by their first term, so tagging is one pass over the text with a short
+// look-ahead for multi-word skills such as "machine learning".
+@Component
+public class SkillDictionary {
+
+    private static final String RESOURCE = "skills.txt";
+
+    private final Map<String, List<Phrase>> phrasesByFirstTerm = new HashMap<>();
+    private final Map<String, String> skillsByName = new HashMap<>();
+
+    @PostConstruct
+    public void load() throws IOException {
+        ClassPathResource resource = new ClassPathResource(RESOURCE);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] names = line.split("\\|");
+                String skill = names[0].trim();
+                for (String name : names) {
+                    add(skill, name);
+                }
+            }
+        }
+    }
+
+    // Canonical names of the skills mentioned in the text, sorted
+    public List<String> tag(String text) {
+        Set<String> skills = new TreeSet<>();
+        List<String> terms = Tokenizer.tokenize(text);
+        for (int i = 0; i < terms.size(); i++) {
+            List<Phrase> candidates = phrasesByFirstTerm.get(terms.get(i));
+            if (candidates == null) {
+                continue;
+            }
+            for (Phrase phrase : candidates) {
+                if (phrase.matches(terms, i)) {
+                    skills.add(phrase.skill);
+                }
+            }
+        }
+        return new ArrayList<>(skills);
+    }
+
+    // Canonical name for a skill name or alias written exactly as in the dictionary, else null
+    public String resolve(String name) {
+        return skillsByName.get(String.join(" ", Tokenizer.tokenize(name)));
+    }
+
+    private void add(String skill, String name) {
+        List<String> terms = Tokenizer.tokenize(name);
+        if (terms.isEmpty()) {
+            return;
+        }
+        skillsByName.put(String.join(" ", terms), skill);
+        phrasesByFirstTerm.computeIfAbsent(terms.get(0), k -> new ArrayList<>())
+                .add(new Phrase(skill, terms.toArray(new String[0])));
+    }
+
+    private static class Phrase {
+        private final String skill;
+        private final String[] terms;
+
+        private Phrase(String skill, String[] terms) {
+            this.skill = skill;
+            this.terms = terms;
+        }
+
+        private boolean matches(List<String> text, int start) {
+            if (start + terms.length > text.size()) {
+                return false;
+            }
+            for (int i = 1; i < terms.length; i++) {
+                if (!terms[i].equals(text.get(start + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -5,7 +5,7 @@ import com.jobportal.models.Application;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 
-public interface ApplicationRepository extends MongoRepository<Application, String> {
+public interface ApplicationRepository extends MongoRepository<Application, String>, ApplicationRepositoryCustom {
     List<Application> findByUserId(String userId);
     
     List<Application> findByJobId(String jobId);
@@ -0,0 +1,30 @@
+
+package com.jobportal.repositories;
+
+import com.jobportal.models.Application;
+import com.jobportal.pagination.Cursor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface ApplicationRepositoryCustom {
+    List<Application> findByUserIdAfter(String userId, Cursor after, int limit);
+    
+    List<Application> findByJobIdAfter(String jobId, Cursor after, int limit);
+    
+    List<Application> findStatusesByIdIn(Collection<String> ids);
+    
+    List<Application> findStatusesByJobId(String jobId, String currentStatus, String targetStatus, int limit);
+    
+    Stream<Application> streamForExport(String jobId);
+    
+    Stream<String> streamApplicantIds(String jobId);
+    
+    List<Application> findStatusesByJobIdAndUserIdIn(String jobId, Collection<String> userIds);
+    
+    Application setStatus(String id, String status, String lastUpdated);
+    
+    Map<String, Long> updateStatus(Map<String, List<String>> idsByCurrentStatus, String status, String lastUpdated);
+}
@@ -0,0 +1,122 @@
+
+package com.jobportal.repositories;
+
+import com.jobportal.models.Application;
+import com.jobportal.pagination.Cursor;
+import com.jobportal.pagination.Keyset;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.StreamUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Spring Data picks this up as the implementation of ApplicationRepositoryCustom
+public class ApplicationRepositoryImpl implements ApplicationRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Application> findByUserIdAfter(String userId, Cursor after, int limit) {
+        return mongoTemplate.find(withoutResumeBody(
+                Keyset.page(Criteria.where("userId").is(userId), "appliedDate", after, limit)), Application.class);
+    }
+
+    @Override
+    public List<Application> findByJobIdAfter(String jobId, Cursor after, int limit) {
+        return mongoTemplate.find(withoutResumeBody(
+                Keyset.page(Criteria.where("jobId").is(jobId), "appliedDate", after, limit)), Application.class);
+    }
+
+    @Override
+    public List<Application> findStatusesByIdIn(Collection<String> ids) {
+        return mongoTemplate.find(statusOnly(new Query(Criteria.where("id").in(ids))), Application.class);
+    }
+
+    @Override
+    public List<Application> findStatusesByJobId(String jobId, String currentStatus, String targetStatus, int limit) {
+        Criteria criteria = Criteria.where("jobId").is(jobId);
+        if (currentStatus != null) {
+            criteria.and("status").is(currentStatus);
+        } else {
+            criteria.and("status").ne(targetStatus);
+        }
+        return mongoTemplate.find(statusOnly(new Query(criteria)).limit(limit), Application.class);
+    }
+
+    // Cursor-backed stream of a job's applications in applied order, without legacy resume
+    // bodies; documents are decoded one at a time as the caller consumes the stream
+    @Override
+    public Stream<Application> streamForExport(String jobId) {
+        Query query = withoutResumeBody(new Query(Criteria.where("jobId").is(jobId)))
+                .with(Sort.by(Sort.Direction.DESC, "appliedDate", "id"));
+        query.cursorBatchSize(500);
+        return StreamUtils.createStreamFromIterator(mongoTemplate.stream(query, Application.class));
+    }
+
+    // User ids of a job's applicants, read from the (jobId, ...) index with nothing else attached
+    @Override
+    public Stream<String> streamApplicantIds(String jobId) {
+        Query query = new Query(Criteria.where("jobId").is(jobId));
+        query.fields().include("userId").exclude("id");
+        query.cursorBatchSize(1000);
+        return StreamUtils.createStreamFromIterator(mongoTemplate.stream(query, Application.class))
+                .map(Application::getUserId);
+    }
+
+    @Override
+    public List<Application> findStatusesByJobIdAndUserIdIn(String jobId, Collection<String> userIds) {
+        Query query = statusOnly(new Query(Criteria.where("jobId").is(jobId).and("userId").in(userIds)));
+        query.fields().include("userId");
+        return mongoTemplate.find(query, Application.class);
+    }
+
+    // Atomic status change that leaves every other field alone; returns the document as it was
+    // before the change, or null when it does not exist
+    @Override
+    public Application setStatus(String id, String status, String lastUpdated) {
+        Update update = new Update().set("status", status).set("lastUpdated", lastUpdated);
+        return mongoTemplate.findAndModify(new Query(Criteria.where("id").is(id)), update,
+                FindAndModifyOptions.options().returnNew(false), Application.class);
+    }
+
+    // One updateMulti per current status. Each only matches documents still in the status they
+    // were read in, so the modified counts say exactly how many left each status; documents
+    // changed by someone else in the meantime are skipped
+    @Override
+    public Map<String, Long> updateStatus(Map<String, List<String>> idsByCurrentStatus, String status,
+                                          String lastUpdated) {
+        Update update = new Update().set("status", status).set("lastUpdated", lastUpdated);
+        Map<String, Long> moved = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : idsByCurrentStatus.entrySet()) {
+            Query query = new Query(Criteria.where("id").in(entry.getValue()).and("status").is(entry.getKey()));
+            long modified = mongoTemplate.updateMulti(query, update, Application.class).getModifiedCount();
+            if (modified > 0) {
+                moved.put(entry.getKey(), modified);
+            }
+        }
+        return moved;
+    }
+
+    // Bulk status changes only need to know where each application is and what state it is in
+    private static Query statusOnly(Query query) {
+        query.fields().include("id").include("jobId").include("status");
+        return query;
+    }
+
+    // Legacy documents may still embed a base64 resume, and processed ones carry the extracted
+    // text; lists only need the reference fields
+    private static Query withoutResumeBody(Query query) {
+        query.fields().exclude("resume").exclude("resumeText");
+        return query;
+    }
+}
@@ -5,9 +5,12 @@ import com.jobportal.models.Job;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface JobRepository extends MongoRepository<Job, String> {
+public interface JobRepository extends MongoRepository<Job, String>, JobRepositoryCustom {
     List<Job> findByEmployerId(String employerId);
     
     List<Job> findByActive(boolean active);
@@ -27,4 +30,19 @@ public interface JobRepository extends MongoRepository<Job, String> {
     
     @Query("{'category': ?0}")
     List<Job> findByCategory(String category);
+    
+    @Query(value = "{'_id': ?0}", fields = "{'employerId': 1}")
+    Optional<Job> findEmployerIdById(String id);
+    
+    @Query(value = "{'_id': {$in: ?0}}", fields = "{'employerId': 1}")
+    List<Job> findEmployerIdsByIdIn(Collection<String> ids);
+    
+    @Query(value = "{'salary': {$ne: null}, 'salaryPeriod': {$exists: false}}", fields = "{'salary': 1}")
+    Stream<Job> streamWithUnparsedSalary();
+    
+    @Query(value = "{'location': {$ne: null}, 'coordinates': {$exists: false}}", fields = "{'location': 1}")
+    List<Job> findWithUnresolvedLocation();
+    
+    @Query(value = "{'location': {$ne: null}, 'locationKeys': {$exists: false}}", fields = "{'location': 1}")
+    List<Job> findWithoutLocationKeys();
 }
@@ -0,0 +1,33 @@
+
+package com.jobportal.repositories;
+
+import com.jobportal.models.Job;
+import com.jobportal.pagination.Cursor;
+import com.jobportal.search.JobSearchQuery;
+import com.jobportal.search.SalaryRange;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.List;
+import java.util.Map;
+
+public interface JobRepositoryCustom {
+    Page<Job> search(JobSearchQuery query, Pageable pageable);
+    
+    List<Job> searchAfter(JobSearchQuery query, Cursor after, int limit);
+    
+    List<Job> findByEmployerIdAfter(String employerId, Cursor after, int limit);
+    
+    Job removeById(String id);
+    
+    Job setActive(String id, boolean active);
+    
+    Map<Integer, String> insertUnordered(List<Job> jobs);
+    
+    void setSalaryRanges(Map<String, SalaryRange> rangesByJobId);
+    
+    void setCoordinates(Map<String, GeoJsonPoint> coordinatesByJobId);
+    
+    void setLocationKeys(Map<String, List<String>> locationKeysByJobId);
+}
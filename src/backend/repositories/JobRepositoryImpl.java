@@ -0,0 +1,239 @@
+
+package com.jobportal.repositories;
+
+import com.jobportal.models.Job;
+import com.jobportal.pagination.Cursor;
+import com.jobportal.pagination.Keyset;
+import com.jobportal.search.JobSearchQuery;
+import com.jobportal.search.JobSort;
+import com.jobportal.search.SalaryParser;
+import com.jobportal.search.SalaryRange;
+import com.jobportal.search.Tokenizer;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+// Spring Data picks this up as the implementation of JobRepositoryCustom
+public class JobRepositoryImpl implements JobRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Translate the search filters into a single Mongo query so matching, sorting and
+    // paging all happen on the server and only one page of jobs is transferred
+    @Override
+    public Page<Job> search(JobSearchQuery searchQuery, Pageable pageable) {
+        Query query = withText(new Query(searchCriteria(searchQuery)), searchQuery);
+
+        // Requirements are only shown on the detail page, so leave them out of result lists
+        query.fields().exclude("requirements");
+
+        // Only indexed keys are accepted, and the id breaks ties, so jobs with equal sort keys keep
+        // their place from page to page
+        query.with(JobSort.of(pageable.getSort()));
+        if (pageable.isPaged()) {
+            query.skip(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+
+        List<Job> jobs = mongoTemplate.find(query, Job.class);
+        return PageableExecutionUtils.getPage(jobs, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), Job.class));
+    }
+
+    // Same filters as search, but seeking past the cursor instead of skipping rows
+    @Override
+    public List<Job> searchAfter(JobSearchQuery searchQuery, Cursor after, int limit) {
+        Query query = withText(Keyset.page(searchCriteria(searchQuery), "postedDate", after, limit), searchQuery);
+        query.fields().exclude("requirements");
+        return mongoTemplate.find(query, Job.class);
+    }
+
+    @Override
+    public List<Job> findByEmployerIdAfter(String employerId, Cursor after, int limit) {
+        Query query = Keyset.page(Criteria.where("employerId").is(employerId), "postedDate", after, limit);
+        return mongoTemplate.find(query, Job.class);
+    }
+
+    // Unordered bulk insert: one round trip per batch, and a failing document does not stop the
+    // others. Ids are assigned up front so callers know which jobs were stored.
+    @Override
+    public Map<Integer, String> insertUnordered(List<Job> jobs) {
+        Map<Integer, String> failures = new HashMap<>();
+        if (jobs.isEmpty()) {
+            return failures;
+        }
+        for (Job job : jobs) {
+            if (job.getId() == null) {
+                job.setId(new ObjectId().toHexString());
+            }
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class).insert(jobs).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    // One unordered bulk update for a batch of parsed salaries; a null range stores the fields as
+    // null, which marks the salary as unparseable. Jobs whose salary was parsed in the meantime,
+    // by an edit, are left alone.
+    @Override
+    public void setSalaryRanges(Map<String, SalaryRange> rangesByJobId) {
+        if (rangesByJobId.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+        for (Map.Entry<String, SalaryRange> entry : rangesByJobId.entrySet()) {
+            SalaryRange range = entry.getValue();
+            bulk.updateOne(new Query(Criteria.where("id").is(entry.getKey()).and("salaryPeriod").exists(false)),
+                           new Update().set("salaryMin", range != null ? range.getMin() : null)
+                                       .set("salaryMax", range != null ? range.getMax() : null)
+                                       .set("salaryCurrency", range != null ? range.getCurrency() : null)
+                                       .set("salaryPeriod", range != null ? range.getPeriod() : null));
+        }
+        bulk.execute();
+    }
+
+    // One unordered bulk update for a batch of geocoded locations
+    @Override
+    public void setCoordinates(Map<String, GeoJsonPoint> coordinatesByJobId) {
+        setEach("coordinates", coordinatesByJobId);
+    }
+
+    @Override
+    public void setLocationKeys(Map<String, List<String>> locationKeysByJobId) {
+        setEach("locationKeys", locationKeysByJobId);
+    }
+
+    // Delete and return the fields the delete bookkeeping needs in one round trip
+    @Override
+    public Job removeById(String id) {
+        Query query = new Query(Criteria.where("id").is(id));
+        query.fields().include("employerId").include("active");
+        return mongoTemplate.findAndRemove(query, Job.class);
+    }
+
+    // Atomic moderation flip that leaves every other field alone. Matches only a job in the other
+    // state and returns it as it was before the change, or null when no job was changed
+    @Override
+    public Job setActive(String id, boolean active) {
+        Query query = new Query(Criteria.where("id").is(id).and("active").is(!active));
+        return mongoTemplate.findAndModify(query, new Update().set("active", active),
+                FindAndModifyOptions.options().returnNew(false), Job.class);
+    }
+
+    // Shared with ReactiveJobRepositoryImpl
+    static Criteria searchCriteria(JobSearchQuery searchQuery) {
+        List<Criteria> filters = new ArrayList<>();
+        filters.add(Criteria.where("active").is(true));
+
+        if (!searchQuery.getJobTypes().isEmpty()) {
+            filters.add(Criteria.where("type").in(searchQuery.getJobTypes()));
+        }
+        if (!searchQuery.getExperienceLevels().isEmpty()) {
+            filters.add(Criteria.where("experienceLevel").in(searchQuery.getExperienceLevels()));
+        }
+        if (searchQuery.isRemote()) {
+            filters.add(Criteria.where("remote").is(true));
+        }
+        // Each location word must prefix a word of the job location, as in the in-memory index.
+        // Anchored and case-sensitive on the lower-cased keys, so the multikey index bounds the scan
+        for (String token : new LinkedHashSet<>(Tokenizer.tokenize(searchQuery.getLocation()))) {
+            filters.add(Criteria.where("locationKeys").regex("^" + escapeRegex(token)));
+        }
+        Criteria salaryFilter = salaryCriteria(searchQuery.getSalaryRanges());
+        if (salaryFilter != null) {
+            filters.add(salaryFilter);
+        }
+        // $geoWithin, unlike $near, combines with the text search and keeps the postedDate sort
+        if (searchQuery.getRadiusKm() != null) {
+            Circle circle = new Circle(new Point(searchQuery.getLongitude(), searchQuery.getLatitude()),
+                                       new Distance(searchQuery.getRadiusKm(), Metrics.KILOMETERS));
+            filters.add(Criteria.where("coordinates").withinSphere(circle));
+        }
+
+        return new Criteria().andOperator(filters.toArray(new Criteria[0]));
+    }
+
+    // Helper method to set one field on many jobs in a single unordered bulk update
+    private void setEach(String field, Map<String, ?> valuesByJobId) {
+        if (valuesByJobId.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+        for (Map.Entry<String, ?> entry : valuesByJobId.entrySet()) {
+            bulk.updateOne(new Query(Criteria.where("id").is(entry.getKey())),
+                           new Update().set(field, entry.getValue()));
+        }
+        bulk.execute();
+    }
+
+    // Backslash every character that is not a letter or digit, so "c++" stays a literal prefix
+    private static String escapeRegex(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 4);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    // Served by the text index on title, description and requirements
+    static Query withText(Query query, JobSearchQuery searchQuery) {
+        if (StringUtils.hasText(searchQuery.getQuery())) {
+            query.addCriteria(TextCriteria.forDefaultLanguage().matching(searchQuery.getQuery()));
+        }
+        return query;
+    }
+
+    // Overlap test on the parsed salary fields, served by the active_currency_salary_range index. A range
+    // naming a currency matches jobs paid in it or in an unstated currency, never in another one
+    private static Criteria salaryCriteria(List<String> salaryRanges) {
+        List<Criteria> overlaps = new ArrayList<>();
+        for (String rangeText : salaryRanges) {
+            SalaryRange range = SalaryParser.parse(rangeText);
+            if (range != null) {
+                Criteria overlap = Criteria.where("salaryPeriod").is(range.getPeriod())
+                        .and("salaryMin").lte(range.getMax())
+                        .and("salaryMax").gte(range.getMin());
+                if (range.getCurrency() != null) {
+                    overlap = overlap.and("salaryCurrency").in(range.getCurrency(), null);
+                }
+                overlaps.add(overlap);
+            }
+        }
+        if (overlaps.isEmpty()) {
+            return null;
+        }
+        return overlaps.size() == 1 ? overlaps.get(0) : new Criteria().orOperator(overlaps.toArray(new Criteria[0]));
+    }
+}
@@ -0,0 +1,13 @@
+package com.jobportal.repositories;
+
+import com.jobportal.models.Application;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+// Non-blocking counterpart of ApplicationRepository for the streaming read endpoints
+public interface ReactiveApplicationRepository extends ReactiveMongoRepository<Application, String> {
+    // Lists leave out embedded resumes and extracted text, like ApplicationRepositoryImpl
+    @Query(value = "{'userId': ?0}", fields = "{'resume': 0, 'resumeText': 0}", sort = "{'appliedDate': -1, '_id': -1}")
+    Flux<Application> findByUserIdOrderByAppliedDateDesc(String userId);
+}
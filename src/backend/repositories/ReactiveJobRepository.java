@@ -0,0 +1,13 @@
+package com.jobportal.repositories;
+
+import com.jobportal.models.Job;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+// Non-blocking counterpart of JobRepository for the streaming read endpoints
+public interface ReactiveJobRepository extends ReactiveMongoRepository<Job, String>, ReactiveJobRepositoryCustom {
+    // Same documents and order as the keyset pages of JobRepositoryCustom.findByEmployerIdAfter
+    @Query(value = "{'employerId': ?0}", sort = "{'postedDate': -1, '_id': -1}")
+    Flux<Job> findByEmployerIdOrderByPostedDateDesc(String employerId);
+}
@@ -0,0 +1,9 @@
+package com.jobportal.repositories;
+
+import com.jobportal.models.Job;
+import com.jobportal.search.JobSearchQuery;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveJobRepositoryCustom {
+    Flux<Job> search(JobSearchQuery query);
+}
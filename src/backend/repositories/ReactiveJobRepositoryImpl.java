@@ -0,0 +1,26 @@
+package com.jobportal.repositories;
+
+import com.jobportal.models.Job;
+import com.jobportal.search.JobSearchQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+// Spring Data picks this up as the implementation of ReactiveJobRepositoryCustom
+public class ReactiveJobRepositoryImpl implements ReactiveJobRepositoryCustom {
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    // Same filters as JobRepositoryImpl.search, newest first and unpaged: the driver fetches
+    // further batches only as the subscriber requests more jobs
+    @Override
+    public Flux<Job> search(JobSearchQuery searchQuery) {
+        Query query = JobRepositoryImpl.withText(new Query(JobRepositoryImpl.searchCriteria(searchQuery)), searchQuery);
+        query.fields().exclude("requirements");
+        query.with(Sort.by(Sort.Direction.DESC, "postedDate", "id"));
+        return reactiveMongoTemplate.find(query, Job.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.jobportal.search;
+
+import java.util.Arrays;
+
+// Fixed-width bitmap over internal doc ids. Doc ids are dense and reused, so a plain array of
+// 64-bit words stays small, and counting the overlap of two bitmaps is one AND and popcount
+// per word.
+public class DocBitmap {
+
+    private long[] words;
+    private int cardinality;
+
+    public DocBitmap() {
+        this(64);
+    }
+
+    public DocBitmap(int capacity) {
+        this.words = new long[Math.max(1, (capacity + 63) >>> 6)];
+    }
+
+    // Bitmap of the ids in a posting list
+    public static DocBitmap of(PostingList ids, int capacity) {
+        DocBitmap bitmap = new DocBitmap(capacity);
+        for (int i = 0; i < ids.size(); i++) {
+            bitmap.set(ids.get(i));
+        }
+        return bitmap;
+    }
+
+    public void set(int id) {
+        int word = id >>> 6;
+        if (word >= words.length) {
+            words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+        }
+        long bit = 1L << id;
+        if ((words[word] & bit) == 0) {
+            words[word] |= bit;
+            cardinality++;
+        }
+    }
+
+    public void clear(int id) {
+        int word = id >>> 6;
+        if (word >= words.length) {
+            return;
+        }
+        long bit = 1L << id;
+        if ((words[word] & bit) != 0) {
+            words[word] &= ~bit;
+            cardinality--;
+        }
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    // Number of ids present in both bitmaps
+    public int andCount(DocBitmap other) {
+        int n = Math.min(words.length, other.words.length);
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+}
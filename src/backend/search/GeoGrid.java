@@ -0,0 +1,152 @@
+package com.jobportal.search;
+
+import com.jobportal.geo.GeoDistance;
+import com.jobportal.geo.Geohash;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Geohash grid answering "which docs lie within r km of a point" without visiting every job.
+// Docs are filed under their fine geohash cell. A radius query picks the finest cell size whose
+// cells covering the circle's bounding box stay few, takes each covering cell as a prefix range
+// of the fine cells, and checks the candidates with the exact great-circle distance.
+// Not thread-safe; JobSearchIndex guards it with its own lock.
+public class GeoGrid {
+
+    // Cells of about 1.2 x 0.6 km
+    private static final int PRECISION = 6;
+
+    private static final int MAX_COVERING_CELLS = 64;
+
+    private final NavigableMap<String, PostingList> cells = new TreeMap<>();
+
+    // Coordinates by doc id; doc ids are dense, and NaN marks a doc without a point.
+    // The cosine of the latitude is kept so distance checks need only two sines.
+    private double[] latitudes = new double[0];
+    private double[] longitudes = new double[0];
+    private double[] latitudeCosines = new double[0];
+    private int size;
+
+    public void add(int docId, double latitude, double longitude) {
+        remove(docId);
+        if (docId >= latitudes.length) {
+            int capacity = Math.max(docId + 1, latitudes.length * 2);
+            int from = latitudes.length;
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            latitudeCosines = Arrays.copyOf(latitudeCosines, capacity);
+            Arrays.fill(latitudes, from, capacity, Double.NaN);
+        }
+        String cell = Geohash.encode(latitude, longitude, PRECISION);
+        cells.computeIfAbsent(cell, k -> new PostingList()).add(docId);
+        latitudes[docId] = latitude;
+        longitudes[docId] = longitude;
+        latitudeCosines[docId] = Math.cos(Math.toRadians(latitude));
+        size++;
+    }
+
+    public void remove(int docId) {
+        if (docId >= latitudes.length || Double.isNaN(latitudes[docId])) {
+            return;
+        }
+        String cell = Geohash.encode(latitudes[docId], longitudes[docId], PRECISION);
+        PostingList list = cells.get(cell);
+        list.remove(docId);
+        if (list.isEmpty()) {
+            cells.remove(cell);
+        }
+        latitudes[docId] = Double.NaN;
+        size--;
+    }
+
+    public void clear() {
+        cells.clear();
+        latitudes = new double[0];
+        longitudes = new double[0];
+        latitudeCosines = new double[0];
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Docs within radiusKm of the point
+    public PostingList within(double latitude, double longitude, double radiusKm) {
+        double dLat = GeoDistance.latitudeDegrees(radiusKm);
+        double minLat = Math.max(-90, latitude - dLat);
+        double maxLat = Math.min(90, latitude + dLat);
+        // The box is widest at its edge nearest a pole
+        double dLon = GeoDistance.longitudeDegrees(radiusKm, Math.max(Math.abs(minLat), Math.abs(maxLat)));
+
+        // Haversine compared before its square root and arcsine
+        double limit = Math.sin(Math.min(Math.PI, radiusKm / GeoDistance.EARTH_RADIUS_KM) / 2);
+        limit *= limit;
+        double cosLatitude = Math.cos(Math.toRadians(latitude));
+
+        // Covering cells do not overlap, so each doc is seen at most once
+        int[] matches = new int[16];
+        int count = 0;
+        for (String cell : coveringCells(minLat, maxLat, longitude - dLon, longitude + dLon)) {
+            for (PostingList list : cells.subMap(cell, true, cell + Character.MAX_VALUE, false).values()) {
+                for (int i = 0; i < list.size(); i++) {
+                    int docId = list.get(i);
+                    double sinLat = Math.sin(Math.toRadians(latitudes[docId] - latitude) / 2);
+                    double sinLon = Math.sin(Math.toRadians(longitudes[docId] - longitude) / 2);
+                    if (sinLat * sinLat + cosLatitude * latitudeCosines[docId] * sinLon * sinLon <= limit) {
+                        if (count == matches.length) {
+                            matches = Arrays.copyOf(matches, count * 2);
+                        }
+                        matches[count++] = docId;
+                    }
+                }
+            }
+        }
+        return PostingList.fromUnsorted(matches, count);
+    }
+
+    // Hashes of the cells covering the box, at the finest precision needing few of them
+    private static Set<String> coveringCells(double minLat, double maxLat, double minLon, double maxLon) {
+        if (maxLon - minLon >= 360) {
+            minLon = -180;
+            maxLon = 180 - 1e-9;
+        }
+        int precision = PRECISION;
+        while (precision > 1 && cellCount(minLat, maxLat, minLon, maxLon, precision) > MAX_COVERING_CELLS) {
+            precision--;
+        }
+
+        double height = Geohash.cellHeight(precision);
+        double width = Geohash.cellWidth(precision);
+        Set<String> hashes = new LinkedHashSet<>();
+        for (double lat = alignDown(minLat, -90, height); lat <= maxLat; lat += height) {
+            for (double lon = alignDown(minLon, -180, width); lon <= maxLon; lon += width) {
+                hashes.add(Geohash.encode(clampLatitude(lat + height / 2), wrapLongitude(lon + width / 2), precision));
+            }
+        }
+        return hashes;
+    }
+
+    private static long cellCount(double minLat, double maxLat, double minLon, double maxLon, int precision) {
+        long rows = (long) Math.floor((maxLat - alignDown(minLat, -90, Geohash.cellHeight(precision))) / Geohash.cellHeight(precision)) + 1;
+        long columns = (long) Math.floor((maxLon - alignDown(minLon, -180, Geohash.cellWidth(precision))) / Geohash.cellWidth(precision)) + 1;
+        return rows * columns;
+    }
+
+    // Start of the cell containing value, for cells of the given size starting at origin
+    private static double alignDown(double value, double origin, double size) {
+        return origin + Math.floor((value - origin) / size) * size;
+    }
+
+    private static double clampLatitude(double latitude) {
+        return Math.max(-90, Math.min(90, latitude));
+    }
+
+    private static double wrapLongitude(double longitude) {
+        double wrapped = (longitude + 180) % 360;
+        return (wrapped < 0 ? wrapped + 360 : wrapped) - 180;
+    }
+}
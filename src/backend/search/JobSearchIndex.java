@@ -0,0 +1,584 @@
+
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.repositories.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over active jobs.
+// Every job gets a dense internal doc id; text terms and filter values map to sorted
+// posting lists of those ids, so a search only touches the postings of its own terms.
+// Fuzzy searches also look query words up in a trigram index over the words of titles,
+// companies and requirements, so a misspelt word still finds the jobs using the real one.
+// Facet values additionally get a bitmap each, so counting them over a match set is a
+// popcount pass per value, and geocoded jobs are filed in a geohash grid for radius filters.
+// The index keeps its own copies of the jobs it is given. Jobs returned by searches are those
+// copies, shared between callers: treat them as read-only.
+@Component
+public class JobSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobSearchIndex.class);
+
+    public static final String FACET_JOB_TYPE = "jobType";
+    public static final String FACET_EXPERIENCE_LEVEL = "experienceLevel";
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_REMOTE = "remote";
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    // The index is only maintained when it serves searches (app.search.engine=index)
+    @Value("${app.search.engine:index}")
+    private String searchEngine;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Set once the first rebuild has gone live; until then JobService searches Mongo instead
+    private volatile boolean ready;
+
+    // While a rebuild reads its snapshot: job id -> latest version, or null once removed.
+    // These changes may be missing from the snapshot, so they are replayed over it.
+    private Map<String, Job> pendingChanges;
+
+    // Document storage
+    private final Map<String, Integer> docIdsByJobId = new HashMap<>();
+    private final List<IndexedJob> docs = new ArrayList<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private final PostingList liveDocs = new PostingList();
+
+    // Term postings for title, description and requirements
+    private final NavigableMap<String, PostingList> textTerms = new TreeMap<>();
+
+    // Words of title, company and requirements, and their trigrams for fuzzy matching
+    private final Map<String, PostingList> fuzzyTerms = new HashMap<>();
+    private final TrigramIndex fuzzyVocabulary = new TrigramIndex();
+
+    // Filter structures
+    private final NavigableMap<String, PostingList> locationTerms = new TreeMap<>();
+    private final Map<String, PostingList> byType = new HashMap<>();
+    private final Map<String, PostingList> byExperienceLevel = new HashMap<>();
+    private final PostingList remoteDocs = new PostingList();
+    // Salary bands per currency and pay period, keyed by salaryKey
+    private final Map<String, SalaryRangeIndex> salaryBands = new HashMap<>();
+    private final GeoGrid geoGrid = new GeoGrid();
+
+    // Facet name -> value -> docs carrying it; remote jobs are the "true" value of FACET_REMOTE
+    private final Map<String, Map<String, DocBitmap>> facetBits = new LinkedHashMap<>();
+
+    // Load all active jobs once the application has started
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!isEnabled()) {
+            logger.info("In-memory job index disabled, searches use engine '{}'", searchEngine);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Job> activeJobs;
+        try {
+            activeJobs = jobRepository.findByActive(true);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            docIdsByJobId.clear();
+            docs.clear();
+            freeDocIds.clear();
+            liveDocs.clear();
+            textTerms.clear();
+            fuzzyTerms.clear();
+            fuzzyVocabulary.clear();
+            locationTerms.clear();
+            byType.clear();
+            byExperienceLevel.clear();
+            remoteDocs.clear();
+            salaryBands.clear();
+            geoGrid.clear();
+            facetBits.clear();
+
+            for (Job job : activeJobs) {
+                addLocked(job);
+            }
+            replayed = pendingChanges.size();
+            Map<String, Job> changes = pendingChanges;
+            pendingChanges = null;
+            for (Map.Entry<String, Job> change : changes.entrySet()) {
+                applyLocked(change.getKey(), change.getValue());
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Indexed {} active jobs for search, replayed {} changes made during the load",
+                activeJobs.size(), replayed);
+    }
+
+    // Add or replace a job; inactive jobs are dropped from the index
+    public void index(Job job) {
+        if (!isEnabled() || job == null || job.getId() == null) {
+            return;
+        }
+
+        Job copy = new Job(job);
+        lock.writeLock().lock();
+        try {
+            applyLocked(copy.getId(), copy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Add or replace a batch of jobs under a single write lock
+    public void indexAll(Collection<Job> jobs) {
+        if (!isEnabled() || jobs.isEmpty()) {
+            return;
+        }
+
+        List<Job> copies = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            if (job.getId() != null) {
+                copies.add(new Job(job));
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Job copy : copies) {
+                applyLocked(copy.getId(), copy);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Remove a job from the index
+    public void remove(String jobId) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            applyLocked(jobId, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return "index".equals(searchEngine);
+    }
+
+    // True once the index holds every active job and can answer searches
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByJobId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Find the active jobs matching every supplied filter.
+    // Each query token matches any indexed term it prefixes, so "java" still finds "javascript".
+    // In fuzzy mode a token also matches title, company and requirement words within a few edits.
+    public List<Job> search(JobSearchQuery query) {
+        lock.readLock().lock();
+        try {
+            return jobsOf(matchLocked(query));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Same as search, plus how many matching jobs carry each facet value
+    public SearchResult searchWithFacets(JobSearchQuery query) {
+        lock.readLock().lock();
+        try {
+            PostingList matches = matchLocked(query);
+            return new SearchResult(jobsOf(matches), countFacets(matches));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helper methods - callers must hold the appropriate lock
+
+    // Replace a job with its latest version, or drop it when job is null; remembered for
+    // replay while a rebuild is loading
+    private void applyLocked(String jobId, Job job) {
+        if (pendingChanges != null) {
+            pendingChanges.put(jobId, job);
+        }
+        removeLocked(jobId);
+        if (job != null && job.isActive()) {
+            addLocked(job);
+        }
+    }
+
+    private PostingList matchLocked(JobSearchQuery query) {
+        List<PostingList> constraints = new ArrayList<>();
+
+        for (String token : new LinkedHashSet<>(Tokenizer.tokenize(query.getQuery()))) {
+            PostingList prefixMatches = prefixPostings(textTerms, token);
+            constraints.add(query.isFuzzy() ? withFuzzyMatches(prefixMatches, token) : prefixMatches);
+        }
+        for (String token : new LinkedHashSet<>(Tokenizer.tokenize(query.getLocation()))) {
+            constraints.add(prefixPostings(locationTerms, token));
+        }
+        if (!query.getJobTypes().isEmpty()) {
+            constraints.add(valuePostings(byType, query.getJobTypes()));
+        }
+        if (!query.getExperienceLevels().isEmpty()) {
+            constraints.add(valuePostings(byExperienceLevel, query.getExperienceLevels()));
+        }
+        if (query.isRemote()) {
+            constraints.add(remoteDocs);
+        }
+        PostingList salaryMatches = salaryPostings(query.getSalaryRanges());
+        if (salaryMatches != null) {
+            constraints.add(salaryMatches);
+        }
+        if (query.getRadiusKm() != null) {
+            constraints.add(geoGrid.within(query.getLatitude(), query.getLongitude(), query.getRadiusKm()));
+        }
+
+        return intersectAll(constraints);
+    }
+
+    private List<Job> jobsOf(PostingList matches) {
+        List<Job> results = new ArrayList<>(matches.size());
+        for (int i = 0; i < matches.size(); i++) {
+            results.add(docs.get(matches.get(i)).job);
+        }
+        return results;
+    }
+
+    // Counts per facet value, largest first; values no match carries are left out
+    private Map<String, Map<String, Integer>> countFacets(PostingList matches) {
+        DocBitmap matchBits = DocBitmap.of(matches, docs.size());
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        for (String facet : new String[] {FACET_JOB_TYPE, FACET_EXPERIENCE_LEVEL, FACET_CATEGORY}) {
+            List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+            for (Map.Entry<String, DocBitmap> value : facetBits.getOrDefault(facet, Collections.emptyMap()).entrySet()) {
+                int count = matchBits.andCount(value.getValue());
+                if (count > 0) {
+                    counts.add(new AbstractMap.SimpleEntry<>(value.getKey(), count));
+                }
+            }
+            counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+            Map<String, Integer> byValue = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> count : counts) {
+                byValue.put(count.getKey(), count.getValue());
+            }
+            facets.put(facet, byValue);
+        }
+
+        DocBitmap remote = facetBits.getOrDefault(FACET_REMOTE, Collections.emptyMap()).get("true");
+        int remoteCount = remote == null ? 0 : matchBits.andCount(remote);
+        Map<String, Integer> byRemote = new LinkedHashMap<>();
+        byRemote.put("true", remoteCount);
+        byRemote.put("false", matches.size() - remoteCount);
+        facets.put(FACET_REMOTE, byRemote);
+        return facets;
+    }
+
+    private void addLocked(Job job) {
+        int docId = freeDocIds.isEmpty() ? docs.size() : freeDocIds.pop();
+        IndexedJob entry = new IndexedJob(job);
+        if (docId == docs.size()) {
+            docs.add(entry);
+        } else {
+            docs.set(docId, entry);
+        }
+        docIdsByJobId.put(job.getId(), docId);
+        liveDocs.add(docId);
+
+        for (String term : entry.textTerms) {
+            textTerms.computeIfAbsent(term, k -> new PostingList()).add(docId);
+        }
+        for (String term : entry.fuzzyTerms) {
+            PostingList list = fuzzyTerms.get(term);
+            if (list == null) {
+                list = new PostingList();
+                fuzzyTerms.put(term, list);
+                fuzzyVocabulary.add(term);
+            }
+            list.add(docId);
+        }
+        for (String term : entry.locationTerms) {
+            locationTerms.computeIfAbsent(term, k -> new PostingList()).add(docId);
+        }
+        if (job.getType() != null) {
+            byType.computeIfAbsent(job.getType(), k -> new PostingList()).add(docId);
+        }
+        if (job.getExperienceLevel() != null) {
+            byExperienceLevel.computeIfAbsent(job.getExperienceLevel(), k -> new PostingList()).add(docId);
+        }
+        if (job.isRemote()) {
+            remoteDocs.add(docId);
+        }
+        if (entry.salary != null) {
+            salaryBands.computeIfAbsent(salaryKey(entry.salary.getCurrency(), entry.salary.getPeriod()),
+                                        k -> new SalaryRangeIndex())
+                    .add(docId, entry.salary.getMin(), entry.salary.getMax());
+        }
+        if (job.getCoordinates() != null) {
+            geoGrid.add(docId, job.getCoordinates().getY(), job.getCoordinates().getX());
+        }
+        for (Map.Entry<String, String> facet : entry.facetValues.entrySet()) {
+            facetBits.computeIfAbsent(facet.getKey(), k -> new HashMap<>())
+                    .computeIfAbsent(facet.getValue(), k -> new DocBitmap(docs.size()))
+                    .set(docId);
+        }
+    }
+
+    private void removeLocked(String jobId) {
+        Integer docId = docIdsByJobId.remove(jobId);
+        if (docId == null) {
+            return;
+        }
+
+        IndexedJob entry = docs.get(docId);
+        for (String term : entry.textTerms) {
+            removePosting(textTerms, term, docId);
+        }
+        for (String term : entry.fuzzyTerms) {
+            if (removePosting(fuzzyTerms, term, docId)) {
+                fuzzyVocabulary.remove(term);
+            }
+        }
+        for (String term : entry.locationTerms) {
+            removePosting(locationTerms, term, docId);
+        }
+        if (entry.job.getType() != null) {
+            removePosting(byType, entry.job.getType(), docId);
+        }
+        if (entry.job.getExperienceLevel() != null) {
+            removePosting(byExperienceLevel, entry.job.getExperienceLevel(), docId);
+        }
+        remoteDocs.remove(docId);
+        if (entry.salary != null) {
+            String key = salaryKey(entry.salary.getCurrency(), entry.salary.getPeriod());
+            SalaryRangeIndex salaries = salaryBands.get(key);
+            salaries.remove(docId);
+            if (salaries.size() == 0) {
+                salaryBands.remove(key);
+            }
+        }
+        geoGrid.remove(docId);
+        for (Map.Entry<String, String> facet : entry.facetValues.entrySet()) {
+            Map<String, DocBitmap> values = facetBits.get(facet.getKey());
+            DocBitmap bits = values.get(facet.getValue());
+            bits.clear(docId);
+            if (bits.isEmpty()) {
+                values.remove(facet.getValue());
+            }
+        }
+        liveDocs.remove(docId);
+
+        docs.set(docId, null);
+        freeDocIds.push(docId);
+    }
+
+    // Returns true when the key lost its last posting and was dropped
+    private static boolean removePosting(Map<String, PostingList> postings, String key, int docId) {
+        PostingList list = postings.get(key);
+        if (list == null) {
+            return false;
+        }
+        list.remove(docId);
+        if (list.isEmpty()) {
+            postings.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    // Add the jobs whose title, company or requirements contain a word close to the token
+    private PostingList withFuzzyMatches(PostingList prefixMatches, String token) {
+        int maxEdits = maxEdits(token);
+        if (maxEdits == 0) {
+            return prefixMatches;
+        }
+        List<PostingList> lists = new ArrayList<>();
+        lists.add(prefixMatches);
+        for (String term : fuzzyVocabulary.similar(token, maxEdits)) {
+            lists.add(fuzzyTerms.get(term));
+        }
+        return lists.size() == 1 ? prefixMatches : PostingList.union(lists);
+    }
+
+    // Short words tolerate fewer typos, or every three-letter word would match every other
+    private static int maxEdits(String token) {
+        if (token.length() <= 2) {
+            return 0;
+        }
+        return token.length() <= 5 ? 1 : 2;
+    }
+
+    private static PostingList prefixPostings(NavigableMap<String, PostingList> terms, String prefix) {
+        Collection<PostingList> expansions = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        return PostingList.union(new ArrayList<>(expansions));
+    }
+
+    private static PostingList valuePostings(Map<String, PostingList> postings, List<String> values) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String value : new LinkedHashSet<>(values)) {
+            PostingList list = postings.get(value);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        return PostingList.union(lists);
+    }
+
+    // Jobs whose band overlaps any requested range of the same pay period. A range naming a
+    // currency only matches jobs paid in it or in an unstated currency; one without a currency
+    // matches any. Ranges that cannot be parsed are ignored, and null means no salary filter applies
+    private PostingList salaryPostings(List<String> salaryRanges) {
+        List<PostingList> lists = new ArrayList<>();
+        boolean filtered = false;
+        for (String rangeText : salaryRanges) {
+            SalaryRange range = SalaryParser.parse(rangeText);
+            if (range == null) {
+                continue;
+            }
+            filtered = true;
+            for (Map.Entry<String, SalaryRangeIndex> bands : salaryBands.entrySet()) {
+                if (salaryKeyMatches(bands.getKey(), range)) {
+                    lists.add(bands.getValue().overlapping(range.getMin(), range.getMax()));
+                }
+            }
+        }
+        return filtered ? PostingList.union(lists) : null;
+    }
+
+    // "EUR|YEAR"; jobs whose currency is unknown file under "|YEAR"
+    private static String salaryKey(String currency, String period) {
+        return (currency != null ? currency : "") + "|" + period;
+    }
+
+    private static boolean salaryKeyMatches(String key, SalaryRange range) {
+        if (!key.endsWith("|" + range.getPeriod())) {
+            return false;
+        }
+        return range.getCurrency() == null || key.startsWith("|") || key.startsWith(range.getCurrency() + "|");
+    }
+
+    // Intersect starting from the shortest list so the work is bounded by the rarest constraint
+    private PostingList intersectAll(List<PostingList> constraints) {
+        if (constraints.isEmpty()) {
+            return liveDocs.copy();
+        }
+
+        constraints.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        PostingList result = constraints.get(0);
+        for (int i = 1; i < constraints.size() && !result.isEmpty(); i++) {
+            result = PostingList.intersect(result, constraints.get(i));
+        }
+        return result;
+    }
+
+    // Snapshot of a job together with the terms it was indexed under, so removal
+    // does not depend on the caller still holding an unmodified copy
+    private static class IndexedJob {
+        private final Job job;
+        private final Set<String> textTerms = new LinkedHashSet<>();
+        private final Set<String> fuzzyTerms = new LinkedHashSet<>();
+        private final Set<String> locationTerms = new LinkedHashSet<>();
+        private final Map<String, String> facetValues = new HashMap<>();
+        private final SalaryRange salary;
+
+        private IndexedJob(Job job) {
+            this.job = job;
+            textTerms.addAll(Tokenizer.tokenize(job.getTitle()));
+            textTerms.addAll(Tokenizer.tokenize(job.getDescription()));
+            fuzzyTerms.addAll(Tokenizer.tokenize(job.getTitle()));
+            fuzzyTerms.addAll(Tokenizer.tokenize(job.getCompany()));
+            if (job.getRequirements() != null) {
+                for (String requirement : job.getRequirements()) {
+                    List<String> words = Tokenizer.tokenize(requirement);
+                    textTerms.addAll(words);
+                    fuzzyTerms.addAll(words);
+                }
+            }
+            locationTerms.addAll(Tokenizer.tokenize(job.getLocation()));
+            salary = SalaryParser.of(job);
+            putFacet(FACET_JOB_TYPE, job.getType());
+            putFacet(FACET_EXPERIENCE_LEVEL, job.getExperienceLevel());
+            putFacet(FACET_CATEGORY, job.getCategory());
+            if (job.isRemote()) {
+                putFacet(FACET_REMOTE, "true");
+            }
+        }
+
+        private void putFacet(String facet, String value) {
+            if (value != null && !value.isEmpty()) {
+                facetValues.put(facet, value);
+            }
+        }
+    }
+
+    // Matching jobs together with their facet counts
+    public static class SearchResult {
+        private final List<Job> jobs;
+        private final Map<String, Map<String, Integer>> facets;
+
+        private SearchResult(List<Job> jobs, Map<String, Map<String, Integer>> facets) {
+            this.jobs = jobs;
+            this.facets = facets;
+        }
+
+        public List<Job> getJobs() {
+            return jobs;
+        }
+
+        public Map<String, Map<String, Integer>> getFacets() {
+            return facets;
+        }
+    }
+}
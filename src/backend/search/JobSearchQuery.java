@@ -0,0 +1,132 @@
+
+package com.jobportal.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Filter parameters accepted by the job search endpoint
+public class JobSearchQuery {
+    private String query;
+    private String location;
+    private List<String> jobTypes = new ArrayList<>();
+    private List<String> experienceLevels = new ArrayList<>();
+    private List<String> salaryRanges = new ArrayList<>();
+    private boolean remote;
+    private boolean fuzzy;
+    // Radius filter around lat/lon, or around a place name resolved through the gazetteer
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+    private String near;
+    private boolean sortByDistance;
+
+    // Constructors
+    public JobSearchQuery() {}
+
+    public JobSearchQuery(String query, String location, List<String> jobTypes,
+                          List<String> experienceLevels, List<String> salaryRanges, boolean remote) {
+        this.query = query;
+        this.location = location;
+        setJobTypes(jobTypes);
+        setExperienceLevels(experienceLevels);
+        setSalaryRanges(salaryRanges);
+        this.remote = remote;
+    }
+
+    // Getters and Setters
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public List<String> getJobTypes() {
+        return jobTypes;
+    }
+
+    public void setJobTypes(List<String> jobTypes) {
+        this.jobTypes = jobTypes == null ? new ArrayList<>() : jobTypes;
+    }
+
+    public List<String> getExperienceLevels() {
+        return experienceLevels;
+    }
+
+    public void setExperienceLevels(List<String> experienceLevels) {
+        this.experienceLevels = experienceLevels == null ? new ArrayList<>() : experienceLevels;
+    }
+
+    public List<String> getSalaryRanges() {
+        return salaryRanges;
+    }
+
+    public void setSalaryRanges(List<String> salaryRanges) {
+        this.salaryRanges = salaryRanges == null ? new ArrayList<>() : salaryRanges;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    public void setRemote(boolean remote) {
+        this.remote = remote;
+    }
+
+    public boolean isFuzzy() {
+        return fuzzy;
+    }
+
+    public void setFuzzy(boolean fuzzy) {
+        this.fuzzy = fuzzy;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getRadiusKm() {
+        return radiusKm;
+    }
+
+    public void setRadiusKm(Double radiusKm) {
+        this.radiusKm = radiusKm;
+    }
+
+    public String getNear() {
+        return near;
+    }
+
+    public void setNear(String near) {
+        this.near = near == null || near.trim().isEmpty() ? null : near.trim();
+    }
+
+    public boolean isSortByDistance() {
+        return sortByDistance;
+    }
+
+    public void setSortByDistance(boolean sortByDistance) {
+        this.sortByDistance = sortByDistance;
+    }
+}
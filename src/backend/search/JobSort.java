@@ -0,0 +1,59 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+// The job orders a client may ask for with the sort parameter. Only postedDate and the id are
+// backed by indexes, so any other property is rejected before it reaches Mongo, and the
+// in-memory index orders its results the same way Mongo would.
+public final class JobSort {
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "postedDate", "id");
+
+    private JobSort() {}
+
+    // The requested order with _id spelled id and the id appended to break ties; unsorted means
+    // newest first. Throws when a property is not sortable.
+    public static Sort of(Sort requested) {
+        if (requested.isUnsorted()) {
+            return NEWEST_FIRST;
+        }
+        Set<String> seen = new HashSet<>();
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : requested) {
+            String property = "_id".equals(order.getProperty()) ? "id" : order.getProperty();
+            if (!"postedDate".equals(property) && !"id".equals(property)) {
+                throw new RuntimeException("Cannot sort by " + order.getProperty() + "; use postedDate or id");
+            }
+            // Keys after the id never decide anything, and a repeated key only its first time
+            if (!seen.contains("id") && seen.add(property)) {
+                orders.add(new Sort.Order(order.getDirection(), property));
+            }
+        }
+        if (!seen.contains("id")) {
+            orders.add(Sort.Order.desc("id"));
+        }
+        return Sort.by(orders);
+    }
+
+    // The same order for jobs held in memory; missing values sort lowest, as in Mongo
+    public static Comparator<Job> comparator(Sort requested) {
+        Comparator<Job> comparator = null;
+        for (Sort.Order order : of(requested)) {
+            Function<Job, String> key = "id".equals(order.getProperty()) ? Job::getId : Job::getPostedDate;
+            Comparator<String> values = order.isAscending()
+                    ? Comparator.nullsFirst(Comparator.<String>naturalOrder())
+                    : Comparator.nullsLast(Comparator.<String>reverseOrder());
+            Comparator<Job> next = Comparator.comparing(key, values);
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+}
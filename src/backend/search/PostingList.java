@@ -0,0 +1,158 @@
+
+package com.jobportal.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Sorted, duplicate-free list of internal document ids backed by a primitive array
+public class PostingList {
+
+    private int[] ids;
+    private int size;
+
+    public PostingList() {
+        this(4);
+    }
+
+    public PostingList(int capacity) {
+        this.ids = new int[Math.max(capacity, 1)];
+    }
+
+    private PostingList(int[] ids, int size) {
+        this.ids = ids;
+        this.size = size;
+    }
+
+    // Build a list from ids in any order, dropping duplicates
+    public static PostingList fromUnsorted(int[] ids, int count) {
+        int[] sorted = Arrays.copyOf(ids, Math.max(count, 1));
+        Arrays.sort(sorted, 0, count);
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (n == 0 || sorted[n - 1] != sorted[i]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        return new PostingList(sorted, n);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int index) {
+        return ids[index];
+    }
+
+    // Add a document id, keeping the list sorted; appending a new highest id is O(1)
+    public void add(int id) {
+        if (size > 0 && ids[size - 1] < id) {
+            ensureCapacity(size + 1);
+            ids[size++] = id;
+            return;
+        }
+
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    // Remove a document id if present
+    public void remove(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public PostingList copy() {
+        return new PostingList(Arrays.copyOf(ids, Math.max(size, 1)), size);
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    // Merge-intersect two lists; cost is linear in the smaller inputs, not the catalog
+    public static PostingList intersect(PostingList a, PostingList b) {
+        int[] out = new int[Math.min(a.size, b.size)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            int x = a.ids[i];
+            int y = b.ids[j];
+            if (x == y) {
+                out[n++] = x;
+                i++;
+                j++;
+            } else if (x < y) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new PostingList(out, n);
+    }
+
+    // Merge-union any number of lists
+    public static PostingList union(List<PostingList> lists) {
+        if (lists.isEmpty()) {
+            return new PostingList();
+        }
+        if (lists.size() == 1) {
+            return lists.get(0).copy();
+        }
+
+        PostingList result = lists.get(0);
+        for (int k = 1; k < lists.size(); k++) {
+            result = union(result, lists.get(k));
+        }
+        return result;
+    }
+
+    private static PostingList union(PostingList a, PostingList b) {
+        int[] out = new int[a.size + b.size];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.size || j < b.size) {
+            if (j >= b.size || (i < a.size && a.ids[i] < b.ids[j])) {
+                out[n++] = a.ids[i++];
+            } else if (i >= a.size || b.ids[j] < a.ids[i]) {
+                out[n++] = b.ids[j++];
+            } else {
+                out[n++] = a.ids[i];
+                i++;
+                j++;
+            }
+        }
+        return new PostingList(out, n);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(required, ids.length * 2));
+        }
+    }
+}
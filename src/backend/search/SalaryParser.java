@@ -0,0 +1,119 @@
+
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Turns salary text such as "$120,000 - $150,000", "50k-70k EUR", "$35/hour" or
+// "Above $100,000" into a numeric SalaryRange. Amounts without a period are yearly.
+public final class SalaryParser {
+
+    private static final Pattern AMOUNT = Pattern.compile("(\\d[\\d,]*(?:\\.\\d+)?)\\s*([km])?(?![a-z])");
+    private static final Pattern CURRENCY_CODE = Pattern.compile("\\b(usd|eur|gbp|inr|rs|cad|aud)\\b");
+
+    private SalaryParser() {}
+
+    // Returns null when the text contains no amount
+    public static SalaryRange parse(String salary) {
+        if (salary == null || salary.trim().isEmpty()) {
+            return null;
+        }
+
+        String text = salary.toLowerCase(Locale.ROOT);
+        List<Double> amounts = new ArrayList<>();
+        List<Long> multipliers = new ArrayList<>();
+
+        Matcher matcher = AMOUNT.matcher(text);
+        while (matcher.find() && amounts.size() < 2) {
+            try {
+                amounts.add(Double.parseDouble(matcher.group(1).replace(",", "")));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            multipliers.add(multiplier(matcher.group(2)));
+        }
+        if (amounts.isEmpty()) {
+            return null;
+        }
+
+        // "50-70k" means 50k to 70k
+        if (multipliers.size() == 2 && multipliers.get(0) == 1L && multipliers.get(1) > 1L) {
+            multipliers.set(0, multipliers.get(1));
+        }
+
+        long first = Math.round(amounts.get(0) * multipliers.get(0));
+        String currency = currency(text);
+        String period = period(text);
+
+        if (amounts.size() == 2) {
+            long second = Math.round(amounts.get(1) * multipliers.get(1));
+            return new SalaryRange(first, second, currency, period);
+        }
+        if (text.contains("below") || text.contains("under") || text.contains("up to") || text.contains("less than")) {
+            return new SalaryRange(0, first, currency, period);
+        }
+        if (text.contains("above") || text.contains("over") || text.contains("more than")
+                || text.contains("from") || text.contains("+")) {
+            return new SalaryRange(first, SalaryRange.UNBOUNDED, currency, period);
+        }
+        return new SalaryRange(first, first, currency, period);
+    }
+
+    // Parsed band of a job, preferring the stored numeric fields over re-parsing the text
+    public static SalaryRange of(Job job) {
+        if (job.getSalaryMin() != null && job.getSalaryMax() != null) {
+            return new SalaryRange(job.getSalaryMin(), job.getSalaryMax(),
+                                   job.getSalaryCurrency(), job.getSalaryPeriod());
+        }
+        return parse(job.getSalary());
+    }
+
+    private static long multiplier(String suffix) {
+        if ("k".equals(suffix)) {
+            return 1_000L;
+        }
+        if ("m".equals(suffix)) {
+            return 1_000_000L;
+        }
+        return 1L;
+    }
+
+    private static String currency(String text) {
+        if (text.contains("\u20AC")) {
+            return "EUR";
+        }
+        if (text.contains("\u00A3")) {
+            return "GBP";
+        }
+        if (text.contains("\u20B9")) {
+            return "INR";
+        }
+
+        Matcher code = CURRENCY_CODE.matcher(text);
+        if (code.find()) {
+            return "rs".equals(code.group(1)) ? "INR" : code.group(1).toUpperCase(Locale.ROOT);
+        }
+        return text.contains("$") ? "USD" : null;
+    }
+
+    private static String period(String text) {
+        if (text.contains("hour") || text.contains("/hr") || text.contains("per hr")) {
+            return SalaryRange.PERIOD_HOUR;
+        }
+        if (text.contains("day") || text.contains("daily")) {
+            return SalaryRange.PERIOD_DAY;
+        }
+        if (text.contains("week")) {
+            return SalaryRange.PERIOD_WEEK;
+        }
+        if (text.contains("month") || text.contains("/mo")) {
+            return SalaryRange.PERIOD_MONTH;
+        }
+        return SalaryRange.PERIOD_YEAR;
+    }
+}
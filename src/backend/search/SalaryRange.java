@@ -0,0 +1,47 @@
+
+package com.jobportal.search;
+
+// Numeric salary band parsed from the free-form salary text of a job or a filter
+public class SalaryRange {
+    public static final String PERIOD_HOUR = "HOUR";
+    public static final String PERIOD_DAY = "DAY";
+    public static final String PERIOD_WEEK = "WEEK";
+    public static final String PERIOD_MONTH = "MONTH";
+    public static final String PERIOD_YEAR = "YEAR";
+
+    // Used as the upper bound of open-ended bands such as "Above $100,000"
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final long min;
+    private final long max;
+    private final String currency;
+    private final String period;
+
+    public SalaryRange(long min, long max, String currency, String period) {
+        this.min = Math.min(min, max);
+        this.max = Math.max(min, max);
+        this.currency = currency;
+        this.period = period;
+    }
+
+    public long getMin() {
+        return min;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    // Two bands overlap when each one starts before the other ends
+    public boolean overlaps(long otherMin, long otherMax) {
+        return min <= otherMax && max >= otherMin;
+    }
+}
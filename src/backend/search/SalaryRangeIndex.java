@@ -0,0 +1,97 @@
+
+package com.jobportal.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Range index answering "which salary bands overlap [lo, hi]" without visiting every job.
+// Bands are grouped by width class (width < 2^c); within a class a band can only overlap
+// [lo, hi] if its minimum lies in [lo - 2^c, hi], so each class is a single ordered range
+// scan and the candidates it yields are almost all real matches.
+// Not thread-safe; JobSearchIndex guards it with its own lock.
+public class SalaryRangeIndex {
+
+    private static final int WIDTH_CLASSES = 65;
+
+    @SuppressWarnings("unchecked")
+    private final NavigableMap<Long, PostingList>[] byMinPerClass = new NavigableMap[WIDTH_CLASSES];
+    private final Map<Integer, long[]> bandsByDocId = new HashMap<>();
+
+    public void add(int docId, long min, long max) {
+        remove(docId);
+        int widthClass = widthClass(min, max);
+        if (byMinPerClass[widthClass] == null) {
+            byMinPerClass[widthClass] = new TreeMap<>();
+        }
+        byMinPerClass[widthClass].computeIfAbsent(min, k -> new PostingList()).add(docId);
+        bandsByDocId.put(docId, new long[] {min, max});
+    }
+
+    public void remove(int docId) {
+        long[] band = bandsByDocId.remove(docId);
+        if (band == null) {
+            return;
+        }
+        NavigableMap<Long, PostingList> byMin = byMinPerClass[widthClass(band[0], band[1])];
+        PostingList list = byMin.get(band[0]);
+        list.remove(docId);
+        if (list.isEmpty()) {
+            byMin.remove(band[0]);
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(byMinPerClass, null);
+        bandsByDocId.clear();
+    }
+
+    public int size() {
+        return bandsByDocId.size();
+    }
+
+    // Doc ids of every band overlapping [lo, hi], sorted ascending
+    public PostingList overlapping(long lo, long hi) {
+        int[] hits = new int[16];
+        int n = 0;
+
+        for (int c = 0; c < WIDTH_CLASSES; c++) {
+            NavigableMap<Long, PostingList> byMin = byMinPerClass[c];
+            if (byMin == null || byMin.isEmpty()) {
+                continue;
+            }
+
+            long from = c >= 63 ? Long.MIN_VALUE : saturatedSubtract(lo, 1L << c);
+            for (Map.Entry<Long, PostingList> entry : byMin.subMap(from, true, hi, true).entrySet()) {
+                PostingList list = entry.getValue();
+                for (int i = 0; i < list.size(); i++) {
+                    int docId = list.get(i);
+                    if (bandsByDocId.get(docId)[1] >= lo) {
+                        if (n == hits.length) {
+                            hits = Arrays.copyOf(hits, n * 2);
+                        }
+                        hits[n++] = docId;
+                    }
+                }
+            }
+        }
+
+        return PostingList.fromUnsorted(hits, n);
+    }
+
+    // Class c holds bands whose width w satisfies 2^(c-1) <= w < 2^c; class 0 holds single values
+    private static int widthClass(long min, long max) {
+        long width = max - min;
+        if (width < 0) {
+            return WIDTH_CLASSES - 1;
+        }
+        return 64 - Long.numberOfLeadingZeros(width);
+    }
+
+    private static long saturatedSubtract(long value, long amount) {
+        long result = value - amount;
+        return result > value ? Long.MIN_VALUE : result;
+    }
+}
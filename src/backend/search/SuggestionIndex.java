@@ -0,0 +1,281 @@
+package com.jobportal.search;
+
+import com.jobportal.dto.Suggestion;
+import com.jobportal.models.Application;
+import com.jobportal.models.Job;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Typeahead over the titles, companies and locations of active jobs.
+// Each field has its own SuggestionTrie. A value is weighted by popularity: one for every
+// active job carrying it plus one for every application to those jobs. Values can be found
+// from the start of any of their words, so "dev" suggests "Senior Java Developer".
+@Component
+public class SuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    public static final String TYPE_TITLE = "TITLE";
+    public static final String TYPE_COMPANY = "COMPANY";
+    public static final String TYPE_LOCATION = "LOCATION";
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    // Only the first few words of a value are entry points, which bounds the keys per value
+    private static final int MAX_WORD_KEYS = 6;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, SuggestionTrie> tries = new HashMap<>();
+    private final Map<String, Map<String, SuggestionTrie.Entry>> entries = new HashMap<>();
+
+    // Values each indexed job contributes, and application counts for every job
+    private final Map<String, IndexedJob> jobs = new HashMap<>();
+    private final Map<String, Long> applicationCounts = new HashMap<>();
+
+    public SuggestionIndex() {
+        for (String type : new String[] {TYPE_TITLE, TYPE_COMPANY, TYPE_LOCATION}) {
+            tries.put(type, new SuggestionTrie(MAX_SUGGESTIONS));
+            entries.put(type, new HashMap<>());
+        }
+    }
+
+    // Load active jobs and application counts once the application has started
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("jobId").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, Application.class, Document.class).getMappedResults()) {
+            Object jobId = group.get("_id");
+            if (jobId != null) {
+                counts.put(jobId.toString(), ((Number) group.get("count")).longValue());
+            }
+        }
+
+        Query query = new Query(Criteria.where("active").is(true));
+        query.fields().include("id").include("title").include("company").include("location").include("active");
+
+        lock.writeLock().lock();
+        try {
+            for (SuggestionTrie trie : tries.values()) {
+                trie.clear();
+            }
+            for (Map<String, SuggestionTrie.Entry> byKey : entries.values()) {
+                byKey.clear();
+            }
+            jobs.clear();
+            applicationCounts.clear();
+            applicationCounts.putAll(counts);
+            mongoTemplate.stream(query, Job.class).forEachRemaining(this::addLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("Indexed suggestions for {} active jobs", jobs.size());
+    }
+
+    // Add or replace a job; inactive jobs are dropped
+    public void index(Job job) {
+        if (job == null || job.getId() == null) {
+            return;
+        }
+        indexAll(Collections.singletonList(job));
+    }
+
+    public void indexAll(Collection<Job> changed) {
+        lock.writeLock().lock();
+        try {
+            for (Job job : changed) {
+                if (job.getId() == null) {
+                    continue;
+                }
+                removeLocked(job.getId());
+                if (job.isActive()) {
+                    addLocked(job);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String jobId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+            applicationCounts.remove(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applications make a job's title, company and location more popular
+    public void applicationCreated(String jobId) {
+        applicationsChanged(jobId, 1);
+    }
+
+    public void applicationRemoved(String jobId) {
+        applicationsChanged(jobId, -1);
+    }
+
+    // Best values starting with the prefix; all fields are merged when type is null
+    public List<Suggestion> suggest(String prefix, String type, int limit) {
+        String normalized = normalizePrefix(prefix);
+        int size = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        List<Suggestion> result = new ArrayList<>(size);
+        if (normalized.isEmpty()) {
+            return result;
+        }
+        List<String> types = type != null ? Collections.singletonList(type.toUpperCase(Locale.ROOT))
+                : new ArrayList<>(tries.keySet());
+        for (String t : types) {
+            if (!tries.containsKey(t)) {
+                throw new RuntimeException("Unknown suggestion type: " + type);
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            for (String t : types) {
+                for (SuggestionTrie.Entry entry : tries.get(t).lookup(normalized, size)) {
+                    result.add(new Suggestion(entry.getText(), t, entry.getWeight()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (types.size() > 1) {
+            result.sort((a, b) -> {
+                int byWeight = Long.compare(b.getWeight(), a.getWeight());
+                return byWeight != 0 ? byWeight : a.getText().compareTo(b.getText());
+            });
+        }
+        return result.size() > size ? new ArrayList<>(result.subList(0, size)) : result;
+    }
+
+    // Helper methods - callers must hold the write lock
+
+    private void applicationsChanged(String jobId, long delta) {
+        lock.writeLock().lock();
+        try {
+            long count = Math.max(0, applicationCounts.getOrDefault(jobId, 0L) + delta);
+            applicationCounts.put(jobId, count);
+            IndexedJob job = jobs.get(jobId);
+            if (job == null) {
+                return;
+            }
+            long weight = 1 + count;
+            for (Map.Entry<String, String> value : job.values.entrySet()) {
+                adjustLocked(value.getKey(), value.getValue(), weight - job.weight);
+            }
+            job.weight = weight;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(Job job) {
+        IndexedJob indexed = new IndexedJob(1 + applicationCounts.getOrDefault(job.getId(), 0L));
+        putValue(indexed, TYPE_TITLE, job.getTitle());
+        putValue(indexed, TYPE_COMPANY, job.getCompany());
+        putValue(indexed, TYPE_LOCATION, job.getLocation());
+        for (Map.Entry<String, String> value : indexed.values.entrySet()) {
+            adjustLocked(value.getKey(), value.getValue(), indexed.weight);
+        }
+        jobs.put(job.getId(), indexed);
+    }
+
+    private void removeLocked(String jobId) {
+        IndexedJob indexed = jobs.remove(jobId);
+        if (indexed == null) {
+            return;
+        }
+        for (Map.Entry<String, String> value : indexed.values.entrySet()) {
+            adjustLocked(value.getKey(), value.getValue(), -indexed.weight);
+        }
+    }
+
+    private static void putValue(IndexedJob indexed, String type, String value) {
+        if (value != null && !value.trim().isEmpty()) {
+            indexed.values.put(type, value.trim());
+        }
+    }
+
+    // Shift a value's weight and refresh it in the trie; the first spelling seen is the one shown
+    private void adjustLocked(String type, String text, long delta) {
+        List<String> words = Tokenizer.tokenize(text);
+        if (words.isEmpty() || delta == 0) {
+            return;
+        }
+        String key = String.join(" ", words);
+        Map<String, SuggestionTrie.Entry> byKey = entries.get(type);
+        SuggestionTrie.Entry entry = byKey.get(key);
+        if (entry == null) {
+            if (delta < 0) {
+                return;
+            }
+            entry = new SuggestionTrie.Entry(text, wordKeys(words));
+            byKey.put(key, entry);
+        }
+        entry.addWeight(delta);
+        tries.get(type).update(entry);
+        if (entry.getWeight() <= 0) {
+            byKey.remove(key);
+        }
+    }
+
+    // The value from each of its first words on: "senior java developer", "java developer", ...
+    private static List<String> wordKeys(List<String> words) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.size() && i < MAX_WORD_KEYS; i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        return new ArrayList<>(keys);
+    }
+
+    // Same normalization as the keys; a trailing space means the last word is complete
+    private static String normalizePrefix(String prefix) {
+        if (prefix == null) {
+            return "";
+        }
+        String normalized = String.join(" ", Tokenizer.tokenize(prefix));
+        if (!normalized.isEmpty() && Character.isWhitespace(prefix.charAt(prefix.length() - 1))) {
+            normalized += " ";
+        }
+        return normalized;
+    }
+
+    private static class IndexedJob {
+        private final Map<String, String> values = new HashMap<>();
+        private long weight;
+
+        private IndexedJob(long weight) {
+            this.weight = weight;
+        }
+    }
+}
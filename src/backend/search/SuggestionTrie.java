@@ -0,0 +1,212 @@
+package com.jobportal.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Weighted prefix trie for typeahead. Every node caches the best few entries below it, so a
+// lookup walks the prefix and copies that list; nothing under the prefix is visited. Children
+// are kept in sorted parallel arrays to stay compact. A weight change only rebuilds the
+// cached lists along the paths of the entry's own keys.
+// Not thread-safe; SuggestionIndex guards it with a read-write lock.
+public class SuggestionTrie {
+
+    // Keys are cut at this length; longer prefixes are checked against the full key
+    public static final int MAX_KEY_LENGTH = 40;
+
+    private final int topK;
+    private final Node root = new Node();
+
+    public SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    // Add an entry under each of its keys, or refresh it after its weight changed;
+    // entries with a weight of zero or less are removed
+    public void update(Entry entry) {
+        for (String key : entry.keys) {
+            updatePath(entry, key);
+        }
+    }
+
+    // Best entries having a key that starts with the prefix, heaviest first
+    public List<Entry> lookup(String prefix, int limit) {
+        Node node = root;
+        int depth = Math.min(prefix.length(), MAX_KEY_LENGTH);
+        for (int i = 0; i < depth && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        List<Entry> result = new ArrayList<>(Math.min(limit, topK));
+        if (node == null) {
+            return result;
+        }
+        for (Entry entry : node.top) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (prefix.length() <= MAX_KEY_LENGTH || entry.hasKeyStartingWith(prefix)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        root.labels = new char[0];
+        root.children = new Node[0];
+        root.terminals = Node.NO_ENTRIES;
+        root.top = Node.NO_ENTRIES;
+    }
+
+    private void updatePath(Entry entry, String key) {
+        int depth = Math.min(key.length(), MAX_KEY_LENGTH);
+        Node[] path = new Node[depth + 1];
+        path[0] = root;
+        for (int i = 0; i < depth; i++) {
+            Node next = path[i].child(key.charAt(i));
+            if (next == null) {
+                if (entry.weight <= 0) {
+                    return; // nothing to remove
+                }
+                next = path[i].addChild(key.charAt(i));
+            }
+            path[i + 1] = next;
+        }
+
+        Node leaf = path[depth];
+        leaf.terminals = entry.weight > 0 ? with(leaf.terminals, entry) : without(leaf.terminals, entry);
+
+        // Rebuild the cached lists bottom-up and prune branches that became empty
+        for (int i = depth; i >= 0; i--) {
+            Node node = path[i];
+            node.top = best(node);
+            if (i > 0 && node.top.length == 0 && node.children.length == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+        }
+    }
+
+    // Merge the node's own entries with its children's cached lists, keeping the topK heaviest
+    private Entry[] best(Node node) {
+        List<Entry> candidates = new ArrayList<>(node.terminals.length + node.children.length * topK);
+        candidates.addAll(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(Entry::compareTo);
+
+        List<Entry> top = new ArrayList<>(topK);
+        for (Entry entry : candidates) {
+            if (top.size() == topK) {
+                break;
+            }
+            // An entry reachable through two of its keys is listed once
+            if (top.isEmpty() || !top.contains(entry)) {
+                top.add(entry);
+            }
+        }
+        return top.toArray(Node.NO_ENTRIES);
+    }
+
+    private static Entry[] with(Entry[] entries, Entry entry) {
+        for (Entry existing : entries) {
+            if (existing == entry) {
+                return entries;
+            }
+        }
+        Entry[] result = Arrays.copyOf(entries, entries.length + 1);
+        result[entries.length] = entry;
+        return result;
+    }
+
+    private static Entry[] without(Entry[] entries, Entry entry) {
+        List<Entry> result = new ArrayList<>(Arrays.asList(entries));
+        result.remove(entry);
+        return result.toArray(Node.NO_ENTRIES);
+    }
+
+    // A suggestion: the text shown, and the normalized keys it can be found under
+    public static class Entry implements Comparable<Entry> {
+        private final String text;
+        private final List<String> keys;
+        private long weight;
+
+        public Entry(String text, List<String> keys) {
+            this.text = text;
+            this.keys = keys;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        public void addWeight(long delta) {
+            weight += delta;
+        }
+
+        private boolean hasKeyStartingWith(String prefix) {
+            for (String key : keys) {
+                if (key.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Heaviest first, then alphabetical so results are stable
+        @Override
+        public int compareTo(Entry other) {
+            int byWeight = Long.compare(other.weight, weight);
+            return byWeight != 0 ? byWeight : text.compareTo(other.text);
+        }
+    }
+
+    private static class Node {
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private Entry[] terminals = NO_ENTRIES;
+        private Entry[] top = NO_ENTRIES;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node addChild(char label) {
+            int index = -(Arrays.binarySearch(labels, label) + 1);
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index, newLabels, index + 1, labels.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node child = new Node();
+            newLabels[index] = label;
+            newChildren[index] = child;
+            labels = newLabels;
+            children = newChildren;
+            return child;
+        }
+
+        private void removeChild(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index < 0) {
+                return;
+            }
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(labels, index + 1, newLabels, index, labels.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            labels = newLabels;
+            children = newChildren;
+        }
+    }
+}
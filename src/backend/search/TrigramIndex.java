@@ -0,0 +1,165 @@
+package com.jobportal.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Character trigram index over a vocabulary of terms, for typo-tolerant lookups.
+// Terms are padded with '$' at both ends so word starts and ends count as trigrams. A query
+// term within k edits of a vocabulary term shares all but at most 3k of its trigrams with it,
+// so candidates are the terms reaching that count in the trigram postings, and only those are
+// checked with a bounded edit distance. Queries too short for that count to be positive fall
+// back to checking every term of a length within reach.
+// Not thread-safe; JobSearchIndex guards it with its own lock.
+public class TrigramIndex {
+
+    private static final char PAD = '$';
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private final Map<String, PostingList> grams = new HashMap<>();
+    private final Map<Integer, PostingList> lengths = new HashMap<>();
+
+    public void add(String term) {
+        if (termIds.containsKey(term)) {
+            return;
+        }
+        int id = freeIds.isEmpty() ? terms.size() : freeIds.pop();
+        if (id == terms.size()) {
+            terms.add(term);
+        } else {
+            terms.set(id, term);
+        }
+        termIds.put(term, id);
+        for (String gram : trigrams(term)) {
+            grams.computeIfAbsent(gram, k -> new PostingList()).add(id);
+        }
+        lengths.computeIfAbsent(term.length(), k -> new PostingList()).add(id);
+    }
+
+    public void remove(String term) {
+        Integer id = termIds.remove(term);
+        if (id == null) {
+            return;
+        }
+        for (String gram : trigrams(term)) {
+            PostingList list = grams.get(gram);
+            list.remove(id);
+            if (list.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+        PostingList sameLength = lengths.get(term.length());
+        sameLength.remove(id);
+        if (sameLength.isEmpty()) {
+            lengths.remove(term.length());
+        }
+        terms.set(id, null);
+        freeIds.push(id);
+    }
+
+    public void clear() {
+        termIds.clear();
+        terms.clear();
+        freeIds.clear();
+        grams.clear();
+        lengths.clear();
+    }
+
+    public int size() {
+        return termIds.size();
+    }
+
+    // Vocabulary terms at most maxDistance edits away from the query term
+    public List<String> similar(String query, int maxDistance) {
+        List<String> result = new ArrayList<>();
+        Set<String> queryGrams = trigrams(query);
+        int needed = queryGrams.size() - 3 * maxDistance;
+        if (needed <= 0) {
+            // Too short for the trigram filter: a match may share no trigram at all with the query
+            for (int length = query.length() - maxDistance; length <= query.length() + maxDistance; length++) {
+                PostingList list = lengths.get(length);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size(); i++) {
+                    String term = terms.get(list.get(i));
+                    if (editDistance(query, term, maxDistance) <= maxDistance) {
+                        result.add(term);
+                    }
+                }
+            }
+            return result;
+        }
+
+        int[] shared = new int[terms.size()];
+        List<Integer> touched = new ArrayList<>();
+        for (String gram : queryGrams) {
+            PostingList list = grams.get(gram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                int id = list.get(i);
+                if (shared[id]++ == 0) {
+                    touched.add(id);
+                }
+            }
+        }
+
+        for (int id : touched) {
+            if (shared[id] < needed) {
+                continue;
+            }
+            String term = terms.get(id);
+            if (Math.abs(term.length() - query.length()) <= maxDistance
+                    && editDistance(query, term, maxDistance) <= maxDistance) {
+                result.add(term);
+            }
+        }
+        return result;
+    }
+
+    // Levenshtein distance, giving up with max + 1 as soon as it must exceed max
+    public static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static Set<String> trigrams(String term) {
+        String padded = PAD + term + PAD;
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+}
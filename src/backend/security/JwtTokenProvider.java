@@ -2,6 +2,7 @@
 package com.jobportal.security;
 
 import io.jsonwebtoken.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -24,6 +25,9 @@ public class JwtTokenProvider {
     @Value("${app.jwtExpirationInMs}")
     private int jwtExpirationInMs;
 
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
     // Generate token for user
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
@@ -57,9 +61,43 @@ public class JwtTokenProvider {
     
     // Validate JWT token
     public boolean validateToken(String authToken) {
+        return parseVerifiedClaims(authToken) != null;
+    }
+    
+    // Verify and parse a JWT token once, returning its authentication or null if it is invalid.
+    // Repeat requests with the same token are answered from the verified-token cache until it expires.
+    public Authentication resolveAuthentication(String token) {
+        Authentication cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Claims claims = parseVerifiedClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        
+        Authentication authentication = toAuthentication(claims);
+        if (claims.getExpiration() != null) {
+            verifiedTokenCache.put(token, authentication, claims.getExpiration().getTime());
+        }
+        return authentication;
+    }
+    
+    // Get authentication from JWT token
+    public Authentication getAuthentication(String token) {
+        Claims claims = Jwts.parser()
+                .setSigningKey(jwtSecret)
+                .parseClaimsJws(token)
+                .getBody();
+        
+        return toAuthentication(claims);
+    }
+    
+    // Verify the signature and parse the claims, or return null if the token is invalid
+    private Claims parseVerifiedClaims(String token) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(authToken);
-            return true;
+            return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
         } catch (SignatureException ex) {
             System.out.println("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -71,16 +109,11 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             System.out.println("JWT claims string is empty");
         }
-        return false;
+        return null;
     }
     
-    // Get authentication from JWT token
-    public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(jwtSecret)
-                .parseClaimsJws(token)
-                .getBody();
-        
+    // Build the authentication from already verified claims
+    private Authentication toAuthentication(Claims claims) {
         Collection<? extends GrantedAuthority> authorities =
                 Arrays.stream(claims.get("roles").toString().split(","))
                         .map(SimpleGrantedAuthority::new)
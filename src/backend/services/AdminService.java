@@ -1,17 +1,19 @@
 
 package com.jobportal.services;
 
+import com.jobportal.cache.JobCache;
+import com.jobportal.matching.MatchingEngine;
 import com.jobportal.models.Job;
 import com.jobportal.models.User;
-import com.jobportal.repositories.ApplicationRepository;
 import com.jobportal.repositories.JobRepository;
 import com.jobportal.repositories.UserRepository;
+import com.jobportal.search.JobSearchIndex;
+import com.jobportal.search.SuggestionIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -24,57 +26,50 @@ public class AdminService {
     private JobRepository jobRepository;
 
     @Autowired
-    private ApplicationRepository applicationRepository;
+    private JobSearchIndex jobSearchIndex;
+    
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private JobCache jobCache;
+    
+    @Autowired
+    private MatchingEngine matchingEngine;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private StatisticsService statisticsService;
 
     // Get all users with pagination
     public Page<User> getAllUsers(Pageable pageable) {
         return userRepository.findAll(pageable);
     }
 
-    // Get system statistics
+    // Get system statistics from the incrementally maintained counters
     public Map<String, Object> getStatistics() {
-        Map<String, Object> statistics = new HashMap<>();
-        
-        // User statistics
-        long totalUsers = userRepository.count();
-        
-        // Count by role
-        long employers = 0;
-        long jobSeekers = 0;
-        
-        for (User user : userRepository.findAll()) {
-            if ("EMPLOYER".equals(user.getRole())) {
-                employers++;
-            } else if ("JOBSEEKER".equals(user.getRole())) {
-                jobSeekers++;
-            }
-        }
-        
-        // Job statistics
-        long totalJobs = jobRepository.count();
-        long activeJobs = jobRepository.findByActive(true).size();
-        
-        // Application statistics
-        long totalApplications = applicationRepository.count();
-        
-        // Populate the statistics map
-        statistics.put("totalUsers", totalUsers);
-        statistics.put("employers", employers);
-        statistics.put("jobSeekers", jobSeekers);
-        statistics.put("totalJobs", totalJobs);
-        statistics.put("activeJobs", activeJobs);
-        statistics.put("totalApplications", totalApplications);
-        
-        return statistics;
+        return statisticsService.getStatistics();
     }
     
-    // Moderate job - toggle active status
+    // Moderate job - toggle active status. Only the call that actually flips the flag moves the
+    // counters, so concurrent moderations cannot count the same change twice
     public Job moderateJob(String jobId, boolean active) {
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> new RuntimeException("Job not found"));
-        
-        job.setActive(active);
-        return jobRepository.save(job);
+        Job savedJob = jobRepository.setActive(jobId, active);
+        if (savedJob == null) {
+            // Already in the requested state, or gone
+            return jobRepository.findById(jobId)
+                    .orElseThrow(() -> new RuntimeException("Job not found"));
+        }
+        savedJob.setActive(active);
+        jobCache.invalidate(jobId);
+        jobSearchIndex.index(savedJob);
+        suggestionIndex.index(savedJob);
+        matchingEngine.jobChanged(savedJob);
+        recommendationService.jobChanged(savedJob);
+        statisticsService.jobModerated(!active, active);
+        return savedJob;
     }
     
     // Ban user
@@ -84,5 +79,8 @@ public class AdminService {
         
         // In a real application, you might set a banned flag or delete the user
         userRepository.delete(user);
+        statisticsService.userRemoved(user);
+        matchingEngine.userRemoved(userId);
+        recommendationService.userRemoved(userId);
     }
 }
@@ -0,0 +1,107 @@
+package com.jobportal.services;
+
+import com.jobportal.cache.BloomFilter;
+import com.jobportal.models.Application;
+import com.jobportal.models.Job;
+import com.jobportal.repositories.JobRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory pre-checks for the apply flow, so the usual first application is a single insert.
+// - A Bloom filter of known job ids answers "does this job exist" without a read; only ids it
+//   has never seen (possibly created by another instance) are confirmed against Mongo.
+// - A Bloom filter of (user, job) pairs answers "has this user definitely not applied"; only
+//   possible repeats pay for an exists query before the resume is stored.
+// The unique (userId, jobId) index stays the source of truth for duplicates.
+@Service
+public class ApplicationGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationGuard.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final BloomFilter knownJobs;
+    private final BloomFilter appliedPairs;
+    private final Set<String> deletedJobs = ConcurrentHashMap.newKeySet();
+
+    // Until the filters are loaded every check falls back to Mongo
+    private volatile boolean warm;
+
+    public ApplicationGuard(@Value("${app.applications.bloom.expected-jobs:1000000}") long expectedJobs,
+                            @Value("${app.applications.bloom.expected-applications:10000000}") long expectedApplications) {
+        this.knownJobs = new BloomFilter(expectedJobs, 0.01);
+        this.appliedPairs = new BloomFilter(expectedApplications, 0.01);
+    }
+
+    // Load the filters in the background from id-only projections
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread loader = new Thread(() -> {
+            Query jobs = new Query();
+            jobs.fields().include("id");
+            mongoTemplate.stream(jobs, Document.class, mongoTemplate.getCollectionName(Job.class))
+                    .forEachRemaining(doc -> knownJobs.add(doc.get("_id").toString()));
+
+            Query applications = new Query();
+            applications.fields().include("userId").include("jobId").exclude("id");
+            mongoTemplate.stream(applications, Document.class, mongoTemplate.getCollectionName(Application.class))
+                    .forEachRemaining(doc -> appliedPairs.add(pair(doc.getString("userId"), doc.getString("jobId"))));
+
+            warm = true;
+            logger.info("Application guard filters loaded");
+        }, "application-guard-warmup");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // Throws when the job does not exist; reads Mongo only for ids the filter has never seen
+    public void checkJobExists(String jobId) {
+        if (deletedJobs.contains(jobId)) {
+            throw new RuntimeException("Job not found");
+        }
+        if (warm && knownJobs.mightContain(jobId)) {
+            return;
+        }
+        if (!jobRepository.existsById(jobId)) {
+            throw new RuntimeException("Job not found");
+        }
+        knownJobs.add(jobId);
+    }
+
+    // False means the user has certainly not applied; true means an exists check is needed
+    public boolean mightHaveApplied(String userId, String jobId) {
+        return !warm || appliedPairs.mightContain(pair(userId, jobId));
+    }
+
+    public void jobCreated(String jobId) {
+        knownJobs.add(jobId);
+        deletedJobs.remove(jobId);
+    }
+
+    public void jobDeleted(String jobId) {
+        deletedJobs.add(jobId);
+    }
+
+    public void applicationCreated(String userId, String jobId) {
+        appliedPairs.add(pair(userId, jobId));
+    }
+
+    private static String pair(String userId, String jobId) {
+        return userId + ":" + jobId;
+    }
+}
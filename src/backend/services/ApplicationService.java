@@ -1,56 +1,80 @@
 
 package com.jobportal.services;
 
+import com.jobportal.cache.JobOwnershipIndex;
+import com.jobportal.dto.BulkStatusRequest;
+import com.jobportal.dto.BulkStatusResponse;
+import com.jobportal.dto.CursorPage;
 import com.jobportal.models.Application;
-import com.jobportal.models.Job;
+import com.jobportal.models.ResumeBlob;
+import com.jobportal.pagination.Cursor;
+import com.jobportal.pagination.Keyset;
+import com.jobportal.processing.ResumeProcessor;
 import com.jobportal.repositories.ApplicationRepository;
-import com.jobportal.repositories.JobRepository;
+import com.jobportal.repositories.ReactiveApplicationRepository;
+import com.jobportal.search.SuggestionIndex;
+import com.jobportal.storage.ResumeFile;
+import com.jobportal.storage.ResumeStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 public class ApplicationService {
 
+    // Upper bound on the applications touched by one bulk status update
+    static final int MAX_BULK_UPDATE = 1000;
+
     @Autowired
     private ApplicationRepository applicationRepository;
     
     @Autowired
-    private JobRepository jobRepository;
+    private ReactiveApplicationRepository reactiveApplicationRepository;
+    
+    @Autowired
+    private JobOwnershipIndex jobOwnershipIndex;
+    
+    @Autowired
+    private StatisticsService statisticsService;
     
-    private final Path fileStorageLocation = Paths.get("uploads/resumes");
+    @Autowired
+    private ResumeStore resumeStore;
+    
+    @Autowired
+    private ApplicationGuard applicationGuard;
+    
+    @Autowired
+    private ResumeProcessor resumeProcessor;
 
-    public ApplicationService() {
-        try {
-            Files.createDirectories(fileStorageLocation);
-        } catch (IOException e) {
-            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", e);
-        }
-    }
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
 
     // Apply for a job with file upload
     public Application applyForJob(String jobId, String userId, MultipartFile resume, String coverLetter) throws IOException {
-        // Check if job exists
-        Optional<Job> job = jobRepository.findById(jobId);
-        if (!job.isPresent()) {
-            throw new RuntimeException("Job not found");
-        }
-        
-        // Check if user has already applied
-        if (applicationRepository.existsByUserIdAndJobId(userId, jobId)) {
-            throw new RuntimeException("You have already applied for this job");
-        }
+        // Check if job exists and whether the user may already have applied;
+        // the guard only goes to Mongo when its filters cannot rule the case out
+        checkCanApply(jobId, userId);
         
         Application application = new Application();
         application.setJobId(jobId);
@@ -58,100 +82,275 @@ public class ApplicationService {
         application.setCoverLetter(coverLetter);
         application.setStatus("PENDING");
         
-        // Store resume as file
-        String resumePath = storeFile(resume);
-        application.setResume(resumePath);
+        // Store resume in the deduplicating blob store
+        storeFile(resume, application);
         
         // Set dates
         String now = LocalDateTime.now().toString();
         application.setAppliedDate(now);
         application.setLastUpdated(now);
         
-        return applicationRepository.save(application);
+        return insertApplication(application);
     }
     
     // Alternative: Apply with base64 encoded resume
-    public Application applyWithBase64Resume(String jobId, String userId, String base64Resume, String coverLetter) {
-        // Check if job exists
-        Optional<Job> job = jobRepository.findById(jobId);
-        if (!job.isPresent()) {
-            throw new RuntimeException("Job not found");
-        }
-        
-        // Check if user has already applied
-        if (applicationRepository.existsByUserIdAndJobId(userId, jobId)) {
-            throw new RuntimeException("You have already applied for this job");
-        }
+    public Application applyWithBase64Resume(String jobId, String userId, String base64Resume, String coverLetter) throws IOException {
+        // Check if job exists and whether the user may already have applied;
+        // the guard only goes to Mongo when its filters cannot rule the case out
+        checkCanApply(jobId, userId);
         
         Application application = new Application();
         application.setJobId(jobId);
         application.setUserId(userId);
-        application.setResume(base64Resume);
         application.setCoverLetter(coverLetter);
         application.setStatus("PENDING");
         
+        // Decode into the same blob store as uploads; only the reference is kept in the document
+        storeBase64(base64Resume, application);
+        
         // Set dates
         String now = LocalDateTime.now().toString();
         application.setAppliedDate(now);
         application.setLastUpdated(now);
         
-        return applicationRepository.save(application);
+        return insertApplication(application);
     }
     
-    // Get applications by job seeker
-    public List<Application> getApplicationsByUser(String userId) {
-        return applicationRepository.findByUserId(userId);
+    // Get applications by job seeker, one keyset page at a time
+    public CursorPage<Application> getApplicationsByUser(String userId, String cursor, Integer limit) {
+        int pageSize = Keyset.limit(limit);
+        List<Application> rows = applicationRepository.findByUserIdAfter(userId, Cursor.decode(cursor), pageSize);
+        return CursorPage.of(rows, pageSize, ApplicationService::cursorOf);
     }
     
-    // Get applications by job
-    public List<Application> getApplicationsByJob(String jobId, String employerId) {
-        // Verify that the employer is the owner of the job
-        Optional<Job> job = jobRepository.findById(jobId);
-        if (!job.isPresent()) {
-            throw new RuntimeException("Job not found");
+    // Stream all applications of a job seeker from the reactive driver, as fast as the client reads them
+    public Flux<Application> getApplicationsByUserReactive(String userId) {
+        return reactiveApplicationRepository.findByUserIdOrderByAppliedDateDesc(userId);
+    }
+    
+    // Get applications by job, one keyset page at a time
+    public CursorPage<Application> getApplicationsByJob(String jobId, String employerId, String cursor, Integer limit) {
+        verifyJobOwner(jobId, employerId, "You don't have permission to view these applications");
+        
+        int pageSize = Keyset.limit(limit);
+        List<Application> rows = applicationRepository.findByJobIdAfter(jobId, Cursor.decode(cursor), pageSize);
+        return CursorPage.of(rows, pageSize, ApplicationService::cursorOf);
+    }
+    
+    // Check access now and return the applications of a job as a stream straight from the Mongo
+    // cursor, opened when the supplier is called; the caller must close it
+    public Supplier<Stream<Application>> streamApplicationsByJob(String jobId, String employerId) {
+        verifyJobOwner(jobId, employerId, "You don't have permission to view these applications");
+        
+        return () -> applicationRepository.streamForExport(jobId);
+    }
+    
+    // Resolve the stored resume of an application for the job's employer or the applicant
+    public ResumeFile getResumeFile(String id, String userId) throws IOException {
+        Application application = applicationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Application not found"));
+        
+        if (!application.getUserId().equals(userId)) {
+            verifyJobOwner(application.getJobId(), userId, "You don't have permission to view this resume");
+        }
+        
+        if (application.getResumeId() == null) {
+            throw new RuntimeException("Resume is not available yet");
         }
         
-        if (!job.get().getEmployerId().equals(employerId)) {
-            throw new RuntimeException("You don't have permission to view these applications");
+        // The content hash never changes for a blob, so it doubles as a strong ETag
+        Path path = resumeStore.resolve(application.getResumeId());
+        return new ResumeFile(path, "\"" + application.getResumeId() + "\"", Files.size(path),
+                              application.getResumeContentType(), application.getResumeFileName());
+    }
+    
+    // Withdraw an application; its resume blob is released and collected once unreferenced
+    public void withdrawApplication(String id, String userId) {
+        Application application = applicationRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Application not found"));
+        
+        if (!application.getUserId().equals(userId)) {
+            throw new RuntimeException("You don't have permission to withdraw this application");
         }
         
-        return applicationRepository.findByJobId(jobId);
+        applicationRepository.delete(application);
+        resumeStore.release(application.getResumeId());
+        statisticsService.applicationDeleted(application);
+        suggestionIndex.applicationRemoved(application.getJobId());
     }
     
-    // Update application status
+    // Update application status with one findAndModify: only status and lastUpdated are written,
+    // so fields set concurrently (such as the resume processing results) are kept, and the
+    // counters move from the status the document really had
     public Application updateApplicationStatus(String id, String status, String employerId) {
-        Optional<Application> existingApplication = applicationRepository.findById(id);
-        if (!existingApplication.isPresent()) {
+        List<Application> existing = applicationRepository.findStatusesByIdIn(Collections.singletonList(id));
+        if (existing.isEmpty()) {
             throw new RuntimeException("Application not found");
         }
         
-        Application application = existingApplication.get();
-        
         // Verify that the employer is the owner of the job
-        Optional<Job> job = jobRepository.findById(application.getJobId());
-        if (!job.isPresent()) {
-            throw new RuntimeException("Job not found");
-        }
+        verifyJobOwner(existing.get(0).getJobId(), employerId, "You don't have permission to update this application");
         
-        if (!job.get().getEmployerId().equals(employerId)) {
-            throw new RuntimeException("You don't have permission to update this application");
+        String now = LocalDateTime.now().toString();
+        Application application = applicationRepository.setStatus(id, status, now);
+        if (application == null) {
+            throw new RuntimeException("Application not found");
         }
+        statisticsService.applicationStatusChanged(application.getStatus(), status);
         
         application.setStatus(status);
-        application.setLastUpdated(LocalDateTime.now().toString());
+        application.setLastUpdated(now);
+        return application;
+    }
+    
+    // Update the status of many applications at once: one read of the current states, one
+    // ownership lookup for the distinct jobs involved and one updateMulti per current status
+    public BulkStatusResponse updateApplicationStatuses(BulkStatusRequest request, String employerId) {
+        String status = request.getStatus();
+        if (status == null || status.isEmpty()) {
+            throw new RuntimeException("Status is required");
+        }
+        
+        List<Application> applications;
+        List<String> requestedIds;
+        Set<String> ownedJobIds = new HashSet<>();
+        boolean truncated = false;
+        if (!request.getApplicationIds().isEmpty()) {
+            requestedIds = new ArrayList<>(new LinkedHashSet<>(request.getApplicationIds()));
+            if (requestedIds.size() > MAX_BULK_UPDATE) {
+                throw new RuntimeException("At most " + MAX_BULK_UPDATE + " applications can be updated at once");
+            }
+            applications = applicationRepository.findStatusesByIdIn(requestedIds);
+        } else if (request.getJobId() != null) {
+            verifyJobOwner(request.getJobId(), employerId, "You don't have permission to update these applications");
+            ownedJobIds.add(request.getJobId());
+            // One row past the limit tells whether the job has more applications left to update
+            applications = applicationRepository.findStatusesByJobId(
+                    request.getJobId(), request.getCurrentStatus(), status, MAX_BULK_UPDATE + 1);
+            if (applications.size() > MAX_BULK_UPDATE) {
+                truncated = true;
+                applications = applications.subList(0, MAX_BULK_UPDATE);
+            }
+            requestedIds = new ArrayList<>();
+            for (Application application : applications) {
+                requestedIds.add(application.getId());
+            }
+        } else {
+            throw new RuntimeException("Either applicationIds or jobId is required");
+        }
+        
+        Map<String, Application> byId = new HashMap<>();
+        Set<String> jobIds = new HashSet<>();
+        for (Application application : applications) {
+            byId.put(application.getId(), application);
+            jobIds.add(application.getJobId());
+        }
+        
+        // Verify ownership once per distinct job
+        jobIds.removeAll(ownedJobIds);
+        if (!jobIds.isEmpty()) {
+            for (Map.Entry<String, String> owner : jobOwnershipIndex.ownersOf(jobIds).entrySet()) {
+                if (employerId.equals(owner.getValue())) {
+                    ownedJobIds.add(owner.getKey());
+                }
+            }
+        }
+        
+        BulkStatusResponse response = new BulkStatusResponse(status);
+        response.setTruncated(truncated);
+        Map<String, List<String>> toUpdate = new HashMap<>();
+        for (String id : requestedIds) {
+            Application application = byId.get(id);
+            if (application == null) {
+                response.add(id, BulkStatusResponse.NOT_FOUND);
+            } else if (!ownedJobIds.contains(application.getJobId())) {
+                response.add(id, BulkStatusResponse.FORBIDDEN);
+            } else if (status.equals(application.getStatus())) {
+                response.add(id, BulkStatusResponse.UNCHANGED);
+            } else {
+                response.add(id, BulkStatusResponse.UPDATED);
+                toUpdate.computeIfAbsent(application.getStatus(), current -> new ArrayList<>()).add(id);
+            }
+        }
         
-        return applicationRepository.save(application);
+        // Counters follow what the write changed, not what was read before it
+        if (!toUpdate.isEmpty()) {
+            Map<String, Long> previousCounts = applicationRepository.updateStatus(
+                    toUpdate, status, LocalDateTime.now().toString());
+            long updated = 0;
+            for (long count : previousCounts.values()) {
+                updated += count;
+            }
+            response.setUpdated(updated);
+            statisticsService.applicationStatusesChanged(previousCounts, status);
+        }
+        return response;
+    }
+    
+    // Helper method to verify that the employer is the owner of the job, without loading the job
+    private void verifyJobOwner(String jobId, String employerId, String message) {
+        jobOwnershipIndex.verifyOwner(jobId, employerId, message);
+    }
+    
+    // Helper method to build the keyset position of an application in (appliedDate, id) order
+    private static Cursor cursorOf(Application application) {
+        return new Cursor(application.getAppliedDate(), application.getId());
     }
     
+    // Reject missing jobs and repeat applications before any resume bytes are stored
+    private void checkCanApply(String jobId, String userId) {
+        applicationGuard.checkJobExists(jobId);
+        if (applicationGuard.mightHaveApplied(userId, jobId)
+                && applicationRepository.existsByUserIdAndJobId(userId, jobId)) {
+            throw new RuntimeException("You have already applied for this job");
+        }
+    }
+
+    // Single insert guarded by the unique (userId, jobId) index, so concurrent
+    // duplicate submissions cannot both succeed
+    private Application insertApplication(Application application) {
+        application.setResumeStatus(ResumeProcessor.STATUS_PENDING);
+        Application savedApplication;
+        try {
+            savedApplication = applicationRepository.insert(application);
+        } catch (DuplicateKeyException e) {
+            resumeStore.release(application.getResumeId());
+            applicationGuard.applicationCreated(application.getUserId(), application.getJobId());
+            throw new RuntimeException("You have already applied for this job");
+        } catch (RuntimeException e) {
+            resumeStore.release(application.getResumeId());
+            throw e;
+        }
+        applicationGuard.applicationCreated(savedApplication.getUserId(), savedApplication.getJobId());
+        statisticsService.applicationCreated(savedApplication);
+        recommendationService.applied(savedApplication.getUserId(), savedApplication.getJobId());
+        suggestionIndex.applicationCreated(savedApplication.getJobId());
+        // Text extraction and skill tagging happen in the background once the file is durable
+        resumeProcessor.submit(savedApplication);
+        return savedApplication;
+    }
+
     // Helper method to store file
-    private String storeFile(MultipartFile file) throws IOException {
-        // Normalize file name
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
+    private void storeFile(MultipartFile file, Application application) throws IOException {
+        ResumeBlob blob = resumeStore.store(file.getInputStream());
+        
+        application.setResumeId(blob.getId());
+        application.setResumeFileName(StringUtils.cleanPath(String.valueOf(file.getOriginalFilename())));
+        application.setResumeContentType(file.getContentType());
+        application.setResumeSize(blob.getSize());
+    }
+    
+    // Helper method to decode a base64 resume into the blob store
+    private void storeBase64(String base64Resume, Application application) throws IOException {
+        if (base64Resume == null || base64Resume.isEmpty()) {
+            throw new RuntimeException("Resume is required");
+        }
         
-        // Copy file to the target location
-        Path targetLocation = fileStorageLocation.resolve(fileName);
-        Files.copy(file.getInputStream(), targetLocation);
+        // Rejects text that is not base64, or only a data: prefix, so the blob is never empty
+        ResumeBlob blob = resumeStore.storeBase64(base64Resume);
         
-        return fileName;
+        application.setResumeId(blob.getId());
+        application.setResumeContentType(ResumeStore.dataUrlContentType(base64Resume));
+        application.setResumeSize(blob.getSize());
     }
 }
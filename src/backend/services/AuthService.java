@@ -3,6 +3,7 @@ package com.jobportal.services;
 
 import com.jobportal.dto.AuthRequest;
 import com.jobportal.dto.AuthResponse;
+import com.jobportal.matching.MatchingEngine;
 import com.jobportal.models.User;
 import com.jobportal.repositories.UserRepository;
 import com.jobportal.security.JwtTokenProvider;
@@ -31,6 +32,12 @@ public class AuthService {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private MatchingEngine matchingEngine;
+
     public User registerUser(User user) {
         // Check if user already exists
         if (userRepository.existsByEmail(user.getEmail())) {
@@ -46,7 +53,10 @@ public class AuthService {
         user.setUpdatedAt(now);
 
         // Save user
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        statisticsService.userRegistered(savedUser);
+        matchingEngine.userChanged(savedUser);
+        return savedUser;
     }
 
     public AuthResponse authenticateUser(AuthRequest loginRequest) {
@@ -0,0 +1,107 @@
+package com.jobportal.services;
+
+import com.jobportal.models.Application;
+import com.jobportal.storage.ResumeStore;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+
+// Builds the unique (userId, jobId) index that makes applying a single insert.
+// Databases from before the index can hold several applications of one user to one job, and
+// building the index over them would fail, so those are collapsed first: the oldest
+// application is kept and the others are deleted, releasing their resume blobs. Runs while
+// the context starts, so no request can insert a new duplicate before the index exists; once
+// the index is there, startup only reads the index list.
+@Component
+public class DuplicateApplicationMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateApplicationMigration.class);
+
+    public static final String INDEX_NAME = "user_job_unique";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ResumeStore resumeStore;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @PostConstruct
+    public void migrate() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Application.class);
+        for (IndexInfo index : indexOps.getIndexInfo()) {
+            if (INDEX_NAME.equals(index.getName()) && index.isUnique()) {
+                return;
+            }
+        }
+
+        int removed = removeDuplicates();
+        if (removed > 0) {
+            logger.warn("Removed {} duplicate applications before building the {} index", removed, INDEX_NAME);
+        }
+        try {
+            indexOps.ensureIndex(
+                    new CompoundIndexDefinition(new Document("userId", 1).append("jobId", 1))
+                            .named(INDEX_NAME)
+                            .unique());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Could not build the unique " + INDEX_NAME + " index on applications; "
+                    + "remove the remaining duplicate (userId, jobId) applications and restart", e);
+        }
+    }
+
+    // Delete all but the oldest application of every (userId, jobId) pair that has several
+    public int removeDuplicates() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.project("userId", "jobId", "status", "resumeId", "appliedDate"),
+                Aggregation.sort(Sort.by(Sort.Direction.ASC, "appliedDate", "_id")),
+                Aggregation.group("userId", "jobId")
+                        .count().as("count")
+                        .push(new Document("id", "$_id").append("status", "$status").append("resumeId", "$resumeId"))
+                        .as("applications"),
+                Aggregation.match(Criteria.where("count").gt(1)))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        int removed = 0;
+        for (Document group : mongoTemplate.aggregate(aggregation, Application.class, Document.class).getMappedResults()) {
+            List<Document> applications = group.getList("applications", Document.class);
+            for (Document duplicate : applications.subList(1, applications.size())) {
+                Application application = new Application();
+                application.setId(duplicate.get("id").toString());
+                application.setStatus(duplicate.getString("status"));
+                application.setResumeId(duplicate.getString("resumeId"));
+                if (delete(application)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    // Helper method to delete one duplicate and undo what it contributed
+    private boolean delete(Application application) {
+        Query query = Query.query(Criteria.where("id").is(application.getId()));
+        if (mongoTemplate.remove(query, Application.class).getDeletedCount() == 0) {
+            return false;
+        }
+        resumeStore.release(application.getResumeId());
+        statisticsService.applicationDeleted(application);
+        return true;
+    }
+}
@@ -0,0 +1,223 @@
+package com.jobportal.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobportal.csv.CsvReader;
+import com.jobportal.dto.JobImportReport;
+import com.jobportal.dto.JobRequest;
+import com.jobportal.models.Job;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Bulk job import from NDJSON (one JobRequest object per line) or CSV with a header row.
+// Rows are read one at a time and written in batches, so memory use is bounded by the batch
+// size rather than the size of the upload.
+@Service
+public class JobImportService {
+
+    public static final String FORMAT_NDJSON = "ndjson";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final List<String> CSV_COLUMNS = Arrays.asList(
+            "title", "description", "company", "location", "type", "salary", "requirements",
+            "experiencelevel", "remote", "category", "deadline");
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.jobs.import.batch-size:500}")
+    private int batchSize;
+
+    public JobImportReport importJobs(InputStream input, String format, String employerId) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Batch batch = new Batch(employerId, Math.max(1, batchSize));
+        if (FORMAT_CSV.equals(format)) {
+            importCsv(reader, batch);
+        } else if (FORMAT_NDJSON.equals(format)) {
+            importNdjson(reader, batch);
+        } else {
+            throw new RuntimeException("Unsupported import format: " + format);
+        }
+        batch.flush();
+        return batch.report;
+    }
+
+    private void importNdjson(BufferedReader reader, Batch batch) throws IOException {
+        long row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            JobRequest request;
+            try {
+                request = objectMapper.readValue(line, JobRequest.class);
+            } catch (IOException e) {
+                batch.report.addError(row, "Invalid JSON");
+                continue;
+            }
+            batch.add(row, request);
+        }
+    }
+
+    private void importCsv(BufferedReader reader, Batch batch) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1);
+            }
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new RuntimeException("Unknown CSV column: " + header.get(i));
+            }
+            columns.put(name, i);
+        }
+
+        long row = 0;
+        List<String> record;
+        while ((record = nextRecord(csv, row + 1, batch)) != null) {
+            row++;
+            if (record.size() != header.size()) {
+                batch.report.addError(row, "Expected " + header.size() + " columns but found " + record.size());
+                continue;
+            }
+            batch.add(row, toJobRequest(record, columns));
+        }
+    }
+
+    // A malformed record cannot be resynchronised, so it ends the import after being reported
+    private static List<String> nextRecord(CsvReader csv, long row, Batch batch) throws IOException {
+        try {
+            return csv.next();
+        } catch (IllegalArgumentException e) {
+            batch.report.addError(row, e.getMessage());
+            return null;
+        }
+    }
+
+    private static JobRequest toJobRequest(List<String> record, Map<String, Integer> columns) {
+        JobRequest request = new JobRequest();
+        request.setTitle(column(record, columns, "title"));
+        request.setDescription(column(record, columns, "description"));
+        request.setCompany(column(record, columns, "company"));
+        request.setLocation(column(record, columns, "location"));
+        request.setType(column(record, columns, "type"));
+        request.setSalary(column(record, columns, "salary"));
+        request.setExperienceLevel(column(record, columns, "experiencelevel"));
+        request.setCategory(column(record, columns, "category"));
+        request.setDeadline(column(record, columns, "deadline"));
+
+        // Requirements are one cell separated by semicolons
+        String requirements = column(record, columns, "requirements");
+        List<String> items = new ArrayList<>();
+        if (requirements != null) {
+            for (String item : requirements.split(";")) {
+                if (!item.trim().isEmpty()) {
+                    items.add(item.trim());
+                }
+            }
+        }
+        request.setRequirements(items);
+
+        String remote = column(record, columns, "remote");
+        request.setRemote(remote != null && (remote.equalsIgnoreCase("true")
+                || remote.equalsIgnoreCase("yes") || remote.equals("1")));
+        return request;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Reason a row cannot become a job, or null when it is valid
+    private static String validate(JobRequest request) {
+        if (isBlank(request.getTitle())) {
+            return "Title is required";
+        }
+        if (isBlank(request.getDescription())) {
+            return "Description is required";
+        }
+        if (isBlank(request.getCompany())) {
+            return "Company is required";
+        }
+        if (isBlank(request.getLocation())) {
+            return "Location is required";
+        }
+        if (isBlank(request.getType())) {
+            return "Type is required";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    // Valid rows waiting to be written, with the input row each one came from
+    private class Batch {
+        private final String employerId;
+        private final int size;
+        private final List<Job> jobs = new ArrayList<>();
+        private final List<Long> rows = new ArrayList<>();
+        private final JobImportReport report = new JobImportReport();
+
+        private Batch(String employerId, int size) {
+            this.employerId = employerId;
+            this.size = size;
+        }
+
+        private void add(long row, JobRequest request) {
+            String error = validate(request);
+            if (error != null) {
+                report.addError(row, error);
+                return;
+            }
+            jobs.add(jobService.newJob(request, employerId));
+            rows.add(row);
+            if (jobs.size() >= size) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (jobs.isEmpty()) {
+                return;
+            }
+            Map<Integer, String> failures = new TreeMap<>(jobService.createJobs(jobs));
+            for (Map.Entry<Integer, String> failure : failures.entrySet()) {
+                report.addError(rows.get(failure.getKey()), failure.getValue());
+            }
+            report.addImported(jobs.size() - failures.size());
+            jobs.clear();
+            rows.clear();
+        }
+    }
+}
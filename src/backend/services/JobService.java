@@ -1,19 +1,53 @@
 
 package com.jobportal.services;
 
+import com.jobportal.cache.JobCache;
+import com.jobportal.cache.JobOwnershipIndex;
+import com.jobportal.dto.CursorPage;
 import com.jobportal.dto.JobRequest;
+import com.jobportal.dto.JobSearchResult;
+import com.jobportal.dto.Suggestion;
+import com.jobportal.geo.Gazetteer;
+import com.jobportal.geo.GeoDistance;
+import com.jobportal.matching.MatchingEngine;
 import com.jobportal.models.Job;
+import com.jobportal.pagination.Cursor;
+import com.jobportal.pagination.Keyset;
 import com.jobportal.repositories.JobRepository;
+import com.jobportal.repositories.ReactiveJobRepository;
+import com.jobportal.search.JobSearchIndex;
+import com.jobportal.search.JobSearchQuery;
+import com.jobportal.search.JobSort;
+import com.jobportal.search.SalaryParser;
+import com.jobportal.search.SalaryRange;
+import com.jobportal.search.SuggestionIndex;
+import com.jobportal.search.Tokenizer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class JobService {
@@ -21,15 +55,144 @@ public class JobService {
     @Autowired
     private JobRepository jobRepository;
 
+    @Autowired
+    private ReactiveJobRepository reactiveJobRepository;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private JobCache jobCache;
+
+    @Autowired
+    private JobOwnershipIndex jobOwnershipIndex;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private ApplicationGuard applicationGuard;
+
+    @Autowired
+    private MatchingEngine matchingEngine;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    public static final String SEARCH_ENGINE_MONGO = "mongo";
+
+    private static final int DEFAULT_SUGGESTIONS = 8;
+
+    private static final int BACKFILL_BATCH = 500;
+
+    // Newest first with the id as tie-breaker, the same order as the Mongo keyset queries
+    private static final Comparator<Job> NEWEST_FIRST = Comparator
+            .comparing(Job::getPostedDate, Comparator.nullsLast(Comparator.<String>reverseOrder()))
+            .thenComparing(Job::getId, Comparator.reverseOrder());
+
+    @Value("${app.search.engine:index}")
+    private String searchEngine;
+
+    // Parse the salaries of jobs saved before the numeric salary fields existed. Runs before the
+    // search index loads so the index finds the stored bands instead of re-parsing the text.
+    // Unparseable salaries are stored with a null period, so each job is visited only once.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillSalaryRanges() {
+        Map<String, SalaryRange> ranges = new HashMap<>();
+        try (Stream<Job> jobs = jobRepository.streamWithUnparsedSalary()) {
+            jobs.forEach(job -> {
+                ranges.put(job.getId(), SalaryParser.parse(job.getSalary()));
+                if (ranges.size() == BACKFILL_BATCH) {
+                    jobRepository.setSalaryRanges(ranges);
+                    ranges.clear();
+                }
+            });
+        }
+        jobRepository.setSalaryRanges(ranges);
+    }
+
+    // Resolve the coordinates of jobs saved before locations were geocoded. Runs before the
+    // search index loads so the index sees them; locations the gazetteer does not know are
+    // simply retried on the next start.
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillCoordinates() {
+        Map<String, GeoJsonPoint> resolved = new HashMap<>();
+        for (Job job : jobRepository.findWithUnresolvedLocation()) {
+            GeoJsonPoint point = gazetteer.resolve(job.getLocation());
+            if (point != null) {
+                resolved.put(job.getId(), point);
+            }
+        }
+        jobRepository.setCoordinates(resolved);
+    }
+
+    // Split the locations of jobs saved before the location search keys existed; runs before
+    // the search index loads, like the coordinates backfill
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillLocationKeys() {
+        Map<String, List<String>> keys = new HashMap<>();
+        for (Job job : jobRepository.findWithoutLocationKeys()) {
+            keys.put(job.getId(), Tokenizer.tokenize(job.getLocation()));
+        }
+        jobRepository.setLocationKeys(keys);
+    }
+
     // Create a new job
     public Job createJob(JobRequest jobRequest, String employerId) {
+        Job job = newJob(jobRequest, employerId);
+        
+        Job savedJob = jobRepository.save(job);
+        jobSearchIndex.index(savedJob);
+        suggestionIndex.index(savedJob);
+        jobOwnershipIndex.jobCreated(savedJob.getId(), savedJob.getEmployerId());
+        applicationGuard.jobCreated(savedJob.getId());
+        matchingEngine.jobChanged(savedJob);
+        recommendationService.jobsPosted(Collections.singletonList(savedJob));
+        statisticsService.jobCreated(savedJob);
+        return savedJob;
+    }
+
+    // Create many jobs with one unordered bulk insert; returns the batch positions that failed
+    // with their error. Search index, lookups and counters are updated once for the batch.
+    public Map<Integer, String> createJobs(List<Job> jobs) {
+        Map<Integer, String> failures = jobRepository.insertUnordered(jobs);
+        
+        List<Job> savedJobs = new ArrayList<>(jobs.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            if (!failures.containsKey(i)) {
+                savedJobs.add(jobs.get(i));
+            }
+        }
+        jobSearchIndex.indexAll(savedJobs);
+        suggestionIndex.indexAll(savedJobs);
+        for (Job savedJob : savedJobs) {
+            jobOwnershipIndex.jobCreated(savedJob.getId(), savedJob.getEmployerId());
+            applicationGuard.jobCreated(savedJob.getId());
+            matchingEngine.jobChanged(savedJob);
+        }
+        recommendationService.jobsPosted(savedJobs);
+        statisticsService.jobsCreated(savedJobs);
+        return failures;
+    }
+
+    // Build a new, unsaved job from a request the same way createJob does
+    public Job newJob(JobRequest jobRequest, String employerId) {
         Job job = new Job();
         job.setTitle(jobRequest.getTitle());
         job.setDescription(jobRequest.getDescription());
         job.setCompany(jobRequest.getCompany());
-        job.setLocation(jobRequest.getLocation());
+        applyLocation(job, jobRequest.getLocation());
         job.setType(jobRequest.getType());
-        job.setSalary(jobRequest.getSalary());
+        applySalary(job, jobRequest.getSalary());
         job.setRequirements(jobRequest.getRequirements());
         job.setExperienceLevel(jobRequest.getExperienceLevel());
         job.setRemote(jobRequest.isRemote());
@@ -38,110 +201,313 @@ public class JobService {
         job.setEmployerId(employerId);
         job.setPostedDate(LocalDateTime.now().toString());
         job.setActive(true);
-        
-        return jobRepository.save(job);
+        return job;
     }
 
-    // Get all jobs with pagination
+    // Get all jobs with pagination, in one of the indexed orders
     public Page<Job> getAllJobs(Pageable pageable) {
+        if (pageable.isPaged()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), JobSort.of(pageable.getSort()));
+        }
         return jobRepository.findAll(pageable);
     }
 
     // Get job by id
     public Optional<Job> getJobById(String id) {
-        return jobRepository.findById(id);
+        return jobCache.get(id);
+    }
+
+    // Stream every job from the reactive driver, newest first unless another indexed order is given
+    public Flux<Job> getAllJobsReactive(Sort sort) {
+        return reactiveJobRepository.findAll(JobSort.of(sort));
+    }
+
+    // Get job by id without blocking; misses share one reactive read through the job cache
+    public Mono<Job> getJobByIdReactive(String id) {
+        return jobCache.getAsync(id);
     }
 
     // Update job
     public Job updateJob(String id, JobRequest jobRequest, String employerId) {
-        Optional<Job> existingJob = jobRepository.findById(id);
-        
-        if (!existingJob.isPresent()) {
-            throw new RuntimeException("Job not found");
-        }
+        // Check if the current user is the owner of this job before reading the document
+        jobOwnershipIndex.verifyOwner(id, employerId, "You don't have permission to update this job");
         
-        Job job = existingJob.get();
-        
-        // Check if the current user is the owner of this job
-        if (!job.getEmployerId().equals(employerId)) {
-            throw new RuntimeException("You don't have permission to update this job");
-        }
+        Job job = jobRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
         
         job.setTitle(jobRequest.getTitle());
         job.setDescription(jobRequest.getDescription());
-        job.setLocation(jobRequest.getLocation());
+        applyLocation(job, jobRequest.getLocation());
         job.setType(jobRequest.getType());
-        job.setSalary(jobRequest.getSalary());
+        applySalary(job, jobRequest.getSalary());
         job.setRequirements(jobRequest.getRequirements());
         job.setExperienceLevel(jobRequest.getExperienceLevel());
         job.setRemote(jobRequest.isRemote());
         job.setCategory(jobRequest.getCategory());
         job.setDeadline(jobRequest.getDeadline());
         
-        return jobRepository.save(job);
+        Job savedJob = jobRepository.save(job);
+        jobCache.invalidate(id);
+        jobSearchIndex.index(savedJob);
+        suggestionIndex.index(savedJob);
+        matchingEngine.jobChanged(savedJob);
+        recommendationService.jobChanged(savedJob);
+        return savedJob;
     }
 
     // Delete job
     public void deleteJob(String id, String employerId) {
-        Optional<Job> existingJob = jobRepository.findById(id);
+        // Check if the current user is the owner of this job
+        jobOwnershipIndex.verifyOwner(id, employerId, "You don't have permission to delete this job");
         
-        if (!existingJob.isPresent()) {
+        Job job = jobRepository.removeById(id);
+        if (job == null) {
             throw new RuntimeException("Job not found");
         }
         
-        Job job = existingJob.get();
+        jobOwnershipIndex.jobDeleted(id);
+        jobCache.invalidate(id);
+        jobSearchIndex.remove(id);
+        suggestionIndex.remove(id);
+        matchingEngine.jobRemoved(id);
+        recommendationService.jobRemoved(id);
+        applicationGuard.jobDeleted(id);
+        statisticsService.jobDeleted(job);
+    }
+
+    // Find jobs by employer, one keyset page at a time
+    public CursorPage<Job> getJobsByEmployer(String employerId, String cursor, Integer limit) {
+        int pageSize = Keyset.limit(limit);
+        List<Job> rows = jobRepository.findByEmployerIdAfter(employerId, Cursor.decode(cursor), pageSize);
+        return CursorPage.of(rows, pageSize, JobService::cursorOf);
+    }
+
+    // Stream all jobs of an employer from the reactive driver, as fast as the client reads them
+    public Flux<Job> getJobsByEmployerReactive(String employerId) {
+        return reactiveJobRepository.findByEmployerIdOrderByPostedDateDesc(employerId);
+    }
+
+    // Typeahead for the search box; type limits it to TITLE, COMPANY or LOCATION
+    public List<Suggestion> suggest(String prefix, String type, Integer limit) {
+        return suggestionIndex.suggest(prefix, type, limit != null ? limit : DEFAULT_SUGGESTIONS);
+    }
+
+    // Search jobs with filters
+    public Page<Job> searchJobs(JobSearchQuery searchQuery, Pageable pageable) {
+        prepare(searchQuery);
+        Comparator<Job> order = orderOf(searchQuery, pageable.getSort());
+        
+        // Let Mongo match, sort and page through the compound, text and 2dsphere indexes
+        if (servedByMongo()) {
+            return jobRepository.search(searchQuery, pageable);
+        }
+        
+        // Every filter, including salary overlap and radius, is answered by the in-memory index,
+        // so only the matching jobs are visited here
+        List<Job> filteredJobs = jobSearchIndex.search(searchQuery);
+        filteredJobs.sort(order);
         
-        // Check if the current user is the owner of this job
-        if (!job.getEmployerId().equals(employerId)) {
-            throw new RuntimeException("You don't have permission to delete this job");
+        return toPage(filteredJobs, pageable);
+    }
+
+    // Search jobs with filters and stream every match instead of one page. The query is checked
+    // here, so invalid filters fail before anything is written
+    public Flux<Job> searchJobsReactive(JobSearchQuery searchQuery) {
+        prepare(searchQuery);
+        
+        if (servedByMongo()) {
+            return reactiveJobRepository.search(searchQuery);
         }
         
-        jobRepository.delete(job);
+        // The index answers from memory: the whole result is computed and sorted up front, so
+        // nothing streams from the database here and demand only paces writing it out
+        List<Job> filteredJobs = jobSearchIndex.search(searchQuery);
+        filteredJobs.sort(orderOf(searchQuery));
+        return Flux.fromIterable(filteredJobs);
     }
 
-    // Find jobs by employer
-    public List<Job> getJobsByEmployer(String employerId) {
-        return jobRepository.findByEmployerId(employerId);
+    // Search jobs with filters, seeking past a cursor instead of counting and skipping rows
+    public CursorPage<Job> searchJobs(JobSearchQuery searchQuery, String cursor, Integer limit) {
+        prepare(searchQuery);
+        requireNewestFirst(searchQuery);
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = Keyset.limit(limit);
+        
+        if (servedByMongo()) {
+            return CursorPage.of(jobRepository.searchAfter(searchQuery, after, pageSize),
+                                 pageSize, JobService::cursorOf);
+        }
+        
+        List<Job> filteredJobs = jobSearchIndex.search(searchQuery);
+        filteredJobs.sort(NEWEST_FIRST);
+        
+        return toCursorPage(filteredJobs, after, pageSize);
     }
 
-    // Search jobs with filters
-    public List<Job> searchJobs(String query, String location, List<String> jobTypes, 
-                               List<String> experienceLevels, List<String> salaryRanges, 
-                               boolean remote) {
-        // This is a simplified implementation
-        // In a real application, you would use more sophisticated querying
-        // or a search engine like Elasticsearch
-        
-        List<Job> allJobs = jobRepository.findByActive(true);
-        List<Job> filteredJobs = new ArrayList<>();
-        
-        for (Job job : allJobs) {
-            boolean matchesQuery = query == null || 
-                                   job.getTitle().toLowerCase().contains(query.toLowerCase()) || 
-                                   job.getDescription().toLowerCase().contains(query.toLowerCase());
-            
-            boolean matchesLocation = location == null || location.isEmpty() ||
-                                     job.getLocation().toLowerCase().contains(location.toLowerCase());
-            
-            boolean matchesType = jobTypes == null || jobTypes.isEmpty() ||
-                                 jobTypes.contains(job.getType());
-            
-            boolean matchesExperience = experienceLevels == null || experienceLevels.isEmpty() ||
-                                       experienceLevels.contains(job.getExperienceLevel());
-            
-            boolean matchesRemote = !remote || job.isRemote();
-            
-            // Simplified salary range check - in a real app you'd parse and compare numeric ranges
-            boolean matchesSalary = salaryRanges == null || salaryRanges.isEmpty() ||
-                                   (job.getSalary() != null && salaryRanges.stream()
-                                   .anyMatch(range -> job.getSalary().contains(range)));
-            
-            if (matchesQuery && matchesLocation && matchesType && 
-                matchesExperience && matchesRemote && matchesSalary) {
-                filteredJobs.add(job);
+    // Search jobs and count job types, experience levels, categories and remote jobs over all
+    // matches; the counts come from the in-memory index, so the mongo engine cannot serve them
+    public JobSearchResult<Page<Job>> searchJobsWithFacets(JobSearchQuery searchQuery, Pageable pageable) {
+        JobSearchIndex.SearchResult result = facetedSearch(searchQuery, pageable.getSort());
+        return new JobSearchResult<>(toPage(result.getJobs(), pageable), result.getFacets());
+    }
+
+    public JobSearchResult<CursorPage<Job>> searchJobsWithFacets(JobSearchQuery searchQuery, String cursor,
+                                                                 Integer limit) {
+        requireNewestFirst(searchQuery);
+        Cursor after = Cursor.decode(cursor);
+        JobSearchIndex.SearchResult result = facetedSearch(searchQuery, Sort.unsorted());
+        return new JobSearchResult<>(toCursorPage(result.getJobs(), after, Keyset.limit(limit)), result.getFacets());
+    }
+
+    // Helper method to run a faceted search on the in-memory index
+    private JobSearchIndex.SearchResult facetedSearch(JobSearchQuery searchQuery, Sort sort) {
+        prepare(searchQuery);
+        Comparator<Job> order = orderOf(searchQuery, sort);
+        if (servedByMongo()) {
+            throw unavailable("Facet counts");
+        }
+        JobSearchIndex.SearchResult result = jobSearchIndex.searchWithFacets(searchQuery);
+        result.getJobs().sort(order);
+        return result;
+    }
+
+    // Helper method to check a search query against the engine and resolve the place it is near
+    private void prepare(JobSearchQuery searchQuery) {
+        boolean mongo = servedByMongo();
+        if (searchQuery.isFuzzy() && mongo) {
+            throw unavailable("Fuzzy search");
+        }
+        if (searchQuery.getNear() != null) {
+            GeoJsonPoint point = gazetteer.resolve(searchQuery.getNear());
+            if (point == null) {
+                throw new RuntimeException("Unknown place: " + searchQuery.getNear());
+            }
+            searchQuery.setLatitude(point.getY());
+            searchQuery.setLongitude(point.getX());
+        }
+        if ((searchQuery.getLatitude() == null) != (searchQuery.getLongitude() == null)) {
+            throw new RuntimeException("lat and lon must be given together");
+        }
+        if (searchQuery.getLatitude() != null && (Math.abs(searchQuery.getLatitude()) > 90
+                || Math.abs(searchQuery.getLongitude()) > 180)) {
+            throw new RuntimeException("lat must be within [-90, 90] and lon within [-180, 180]");
+        }
+        if (searchQuery.getRadiusKm() != null) {
+            if (searchQuery.getLatitude() == null) {
+                throw new RuntimeException("radius needs a centre: lat and lon, or near");
+            }
+            if (!(searchQuery.getRadiusKm() > 0)) {
+                throw new RuntimeException("radius must be positive");
+            }
+        }
+        if (searchQuery.isSortByDistance()) {
+            if (searchQuery.getLatitude() == null) {
+                throw new RuntimeException("Sorting by distance needs a centre: lat and lon, or near");
             }
+            if (mongo) {
+                throw unavailable("Sorting by distance");
+            }
+        }
+    }
+
+    // Helper method to tell whether searches go to Mongo: by configuration, or because the
+    // in-memory index is still loading
+    private boolean servedByMongo() {
+        return SEARCH_ENGINE_MONGO.equals(searchEngine) || !jobSearchIndex.isReady();
+    }
+
+    // Helper method to reject features only the in-memory index can answer
+    private RuntimeException unavailable(String feature) {
+        if (SEARCH_ENGINE_MONGO.equals(searchEngine)) {
+            return new RuntimeException(feature + " is not available with the mongo search engine");
+        }
+        return new RuntimeException(feature + " is not available until the search index has loaded");
+    }
+
+    // Helper method to reject orders that cursors cannot page through
+    private static void requireNewestFirst(JobSearchQuery searchQuery) {
+        if (searchQuery.isSortByDistance()) {
+            throw new RuntimeException("Sorting by distance is only available with page and size");
+        }
+    }
+
+    // Helper method to pick the result order: nearest first, else newest first
+    private static Comparator<Job> orderOf(JobSearchQuery searchQuery) {
+        return orderOf(searchQuery, Sort.unsorted());
+    }
+
+    // Helper method to pick the result order: nearest first, else the requested indexed order
+    private static Comparator<Job> orderOf(JobSearchQuery searchQuery, Sort sort) {
+        Comparator<Job> requested = JobSort.comparator(sort);
+        if (!searchQuery.isSortByDistance()) {
+            return requested;
+        }
+        if (sort.isSorted()) {
+            throw new RuntimeException("sort cannot be combined with orderBy=distance");
+        }
+        double latitude = searchQuery.getLatitude();
+        double longitude = searchQuery.getLongitude();
+        Map<Job, Double> distances = new IdentityHashMap<>();
+        return Comparator.<Job>comparingDouble(job -> distances.computeIfAbsent(job, j -> j.getCoordinates() == null
+                        ? Double.MAX_VALUE
+                        : GeoDistance.km(latitude, longitude, j.getCoordinates().getY(), j.getCoordinates().getX())))
+                .thenComparing(NEWEST_FIRST);
+    }
+
+    // Helper method to store the location together with its search keys and coordinates
+    private void applyLocation(Job job, String location) {
+        job.setLocation(location);
+        job.setLocationKeys(location != null ? Tokenizer.tokenize(location) : null);
+        job.setCoordinates(gazetteer.resolve(location));
+    }
+
+    // Helper method to store the salary text together with its parsed numeric band
+    private void applySalary(Job job, String salary) {
+        job.setSalary(salary);
+        
+        SalaryRange range = SalaryParser.parse(salary);
+        job.setSalaryMin(range != null ? range.getMin() : null);
+        job.setSalaryMax(range != null ? range.getMax() : null);
+        job.setSalaryCurrency(range != null ? range.getCurrency() : null);
+        job.setSalaryPeriod(range != null ? range.getPeriod() : null);
+    }
+
+    // Helper method to build the keyset position of a job in (postedDate, id) order
+    private static Cursor cursorOf(Job job) {
+        return new Cursor(job.getPostedDate(), job.getId());
+    }
+
+    // Helper method to binary search the first job of a NEWEST_FIRST list that comes after the cursor
+    private static int firstAfter(List<Job> jobs, Cursor after) {
+        int low = 0;
+        int high = jobs.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Job job = jobs.get(mid);
+            if (after.precedes(job.getPostedDate(), job.getId())) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    // Helper method to cut the page after a cursor from jobs sorted newest first
+    private CursorPage<Job> toCursorPage(List<Job> jobs, Cursor after, int pageSize) {
+        int from = after == null ? 0 : firstAfter(jobs, after);
+        int to = Math.min(from + pageSize + 1, jobs.size());
+        return CursorPage.of(new ArrayList<>(jobs.subList(from, to)), pageSize, JobService::cursorOf);
+    }
+
+    // Helper method to slice an in-memory result list into the requested page
+    private Page<Job> toPage(List<Job> jobs, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(jobs, pageable, jobs.size());
         }
         
-        return filteredJobs;
+        int from = (int) Math.min(pageable.getOffset(), jobs.size());
+        int to = Math.min(from + pageable.getPageSize(), jobs.size());
+        return new PageImpl<>(new ArrayList<>(jobs.subList(from, to)), pageable, jobs.size());
     }
 }
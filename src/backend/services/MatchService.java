@@ -0,0 +1,103 @@
+package com.jobportal.services;
+
+import com.jobportal.cache.JobOwnershipIndex;
+import com.jobportal.dto.CandidateMatch;
+import com.jobportal.dto.JobMatch;
+import com.jobportal.matching.Match;
+import com.jobportal.matching.MatchingEngine;
+import com.jobportal.models.Application;
+import com.jobportal.models.Job;
+import com.jobportal.models.User;
+import com.jobportal.pagination.Keyset;
+import com.jobportal.repositories.ApplicationRepository;
+import com.jobportal.repositories.JobRepository;
+import com.jobportal.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Skill-based ranking: only the top-K ids come out of the engine, so documents are loaded
+// for the returned matches alone
+@Service
+public class MatchService {
+
+    @Autowired
+    private MatchingEngine matchingEngine;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private JobOwnershipIndex jobOwnershipIndex;
+
+    // Active jobs that best fit the job seeker's skills
+    public List<JobMatch> getMatchingJobs(String userId, Integer limit) {
+        List<Match> matches = matchingEngine.topJobsForUser(userId, Keyset.limit(limit));
+        
+        Map<String, Job> jobs = new HashMap<>();
+        for (Job job : jobRepository.findAllById(ids(matches))) {
+            jobs.put(job.getId(), job);
+        }
+        
+        List<JobMatch> result = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            Job job = jobs.get(match.getId());
+            if (job != null) {
+                result.add(new JobMatch(job, match.getScore(), match.getMatchedSkills()));
+            }
+        }
+        return result;
+    }
+
+    // Applicants to the employer's job ranked by how many of its skills they have
+    public List<CandidateMatch> getMatchingCandidates(String jobId, String employerId, Integer limit) {
+        jobOwnershipIndex.verifyOwner(jobId, employerId, "You don't have permission to view these applications");
+        
+        List<Match> matches;
+        try (Stream<String> applicants = applicationRepository.streamApplicantIds(jobId)) {
+            matches = matchingEngine.topUsersForJob(jobId, applicants.iterator(), Keyset.limit(limit));
+        }
+        List<String> userIds = ids(matches);
+        
+        Map<String, String> names = new HashMap<>();
+        for (User user : userRepository.findAllById(userIds)) {
+            names.put(user.getId(), user.getName());
+        }
+        Map<String, Application> applications = new HashMap<>();
+        for (Application application : applicationRepository.findStatusesByJobIdAndUserIdIn(jobId, userIds)) {
+            applications.put(application.getUserId(), application);
+        }
+        
+        List<CandidateMatch> result = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            CandidateMatch candidate = new CandidateMatch(match.getId(), match.getScore(), match.getMatchedSkills());
+            candidate.setName(names.get(match.getId()));
+            Application application = applications.get(match.getId());
+            if (application != null) {
+                candidate.setApplicationId(application.getId());
+                candidate.setStatus(application.getStatus());
+            }
+            result.add(candidate);
+        }
+        return result;
+    }
+
+    private static List<String> ids(List<Match> matches) {
+        List<String> ids = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            ids.add(match.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,179 @@
+
+package com.jobportal.services;
+
+import com.jobportal.models.MetricBucket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Time-bucketed event history for the admin dashboard.
+// Events are counted in memory per minute and flushed periodically as $inc upserts into the
+// minute, hour and day bucket documents, so range queries only read a few pre-aggregated buckets.
+@Service
+public class MetricsService {
+
+    public static final String SIGNUPS = "signups";
+    public static final String JOB_POSTS = "jobPosts";
+    public static final String APPLICATIONS = "applications";
+    public static final String HIRES = "hires";
+
+    public static final List<String> METRICS = Arrays.asList(SIGNUPS, JOB_POSTS, APPLICATIONS, HIRES);
+
+    private static final int MAX_POINTS = 1000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.metrics.retention.minute-hours:48}")
+    private long minuteRetentionHours;
+
+    @Value("${app.metrics.retention.hour-days:90}")
+    private long hourRetentionDays;
+
+    // Pending counts keyed by epoch minute, then metric
+    private final ConcurrentMap<Long, ConcurrentMap<String, Long>> pending = new ConcurrentHashMap<>();
+
+    // Count one event in the current minute
+    public void record(String metric) {
+        record(metric, 1);
+    }
+
+    // Count several events of one kind in the current minute
+    public void record(String metric, long count) {
+        if (count <= 0) {
+            return;
+        }
+        long minute = Instant.now().getEpochSecond() / 60;
+        pending.computeIfAbsent(minute, k -> new ConcurrentHashMap<>()).merge(metric, count, Long::sum);
+    }
+
+    // Write pending counts into the minute, hour and day buckets
+    @Scheduled(fixedDelayString = "${app.metrics.flush-interval-ms:10000}")
+    @PreDestroy
+    public void flush() {
+        for (Long minute : new ArrayList<>(pending.keySet())) {
+            ConcurrentMap<String, Long> counts = pending.get(minute);
+            if (counts == null) {
+                continue;
+            }
+
+            // Take each metric atomically; increments arriving afterwards start a new entry
+            Map<String, Long> drained = new HashMap<>();
+            for (String metric : new ArrayList<>(counts.keySet())) {
+                Long value = counts.remove(metric);
+                if (value != null && value != 0) {
+                    drained.put(metric, value);
+                }
+            }
+            // Minutes are only dropped once no late record() for them can still be in flight
+            if (counts.isEmpty() && minute < Instant.now().getEpochSecond() / 60 - 1) {
+                pending.remove(minute, counts);
+            }
+            if (drained.isEmpty()) {
+                continue;
+            }
+
+            Instant minuteStart = Instant.ofEpochSecond(minute * 60);
+            increment(MetricBucket.MINUTE, minuteStart, drained,
+                      minuteStart.plus(Duration.ofHours(minuteRetentionHours)));
+            Instant hourStart = minuteStart.truncatedTo(ChronoUnit.HOURS);
+            increment(MetricBucket.HOUR, hourStart, drained,
+                      hourStart.plus(Duration.ofDays(hourRetentionDays)));
+            increment(MetricBucket.DAY, minuteStart.truncatedTo(ChronoUnit.DAYS), drained, null);
+        }
+    }
+
+    // Series of bucket counts in [from, to) at the given resolution; empty buckets are returned as zeros
+    public Map<String, Object> getTimeSeries(String resolution, Instant from, Instant to, List<String> metrics) {
+        ChronoUnit unit = unitOf(resolution);
+        Instant start = from.truncatedTo(unit);
+        if (!to.isAfter(start)) {
+            throw new RuntimeException("'to' must be after 'from'");
+        }
+        if (unit.between(start, to) > MAX_POINTS) {
+            throw new RuntimeException("Requested range has more than " + MAX_POINTS + " buckets, use a coarser resolution");
+        }
+
+        List<String> selected = metrics == null || metrics.isEmpty() ? METRICS : metrics;
+
+        Query query = Query.query(Criteria.where("resolution").is(resolution.toUpperCase())
+                .and("start").gte(start).lt(to))
+                .with(Sort.by(Sort.Direction.ASC, "start"));
+        Map<Instant, MetricBucket> stored = new TreeMap<>();
+        for (MetricBucket bucket : mongoTemplate.find(query, MetricBucket.class)) {
+            stored.put(bucket.getStart(), bucket);
+        }
+
+        List<Map<String, Object>> points = new ArrayList<>();
+        for (Instant bucketStart = start; bucketStart.isBefore(to); bucketStart = bucketStart.plus(1, unit)) {
+            MetricBucket bucket = stored.get(bucketStart);
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (String metric : selected) {
+                Long value = bucket != null ? bucket.getCounts().get(metric) : null;
+                counts.put(metric, value != null ? value : 0L);
+            }
+
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("start", bucketStart.toString());
+            point.put("counts", counts);
+            points.add(point);
+        }
+
+        Map<String, Object> series = new LinkedHashMap<>();
+        series.put("resolution", resolution.toUpperCase());
+        series.put("from", start.toString());
+        series.put("to", to.toString());
+        series.put("metrics", selected);
+        series.put("buckets", points);
+        return series;
+    }
+
+    // Helper methods
+
+    private void increment(String resolution, Instant start, Map<String, Long> counts, Instant expireAt) {
+        Update update = new Update()
+                .setOnInsert("resolution", resolution)
+                .setOnInsert("start", start);
+        if (expireAt != null) {
+            update.setOnInsert("expireAt", expireAt);
+        }
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            update.inc("counts." + entry.getKey(), entry.getValue());
+        }
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(resolution + ":" + start)), update,
+                MetricBucket.class);
+    }
+
+    private static ChronoUnit unitOf(String resolution) {
+        switch (resolution == null ? "" : resolution.toUpperCase()) {
+            case MetricBucket.MINUTE:
+                return ChronoUnit.MINUTES;
+            case MetricBucket.HOUR:
+                return ChronoUnit.HOURS;
+            case MetricBucket.DAY:
+                return ChronoUnit.DAYS;
+            default:
+                throw new RuntimeException("Resolution must be MINUTE, HOUR or DAY");
+        }
+    }
+}
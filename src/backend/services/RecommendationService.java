@@ -0,0 +1,495 @@
+package com.jobportal.services;
+
+import com.jobportal.cache.JobCache;
+import com.jobportal.dto.JobMatch;
+import com.jobportal.matching.MatchingEngine;
+import com.jobportal.models.Application;
+import com.jobportal.models.Job;
+import com.jobportal.models.RecommendationFeed;
+import com.jobportal.models.User;
+import com.jobportal.pagination.Keyset;
+import com.jobportal.search.Tokenizer;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Personalised job feeds, precomputed so serving one is a single lookup by user id.
+// A periodic batch scores every active job for every job seeker from three signals: skill
+// overlap (MatchingEngine), the categories the user has applied to, and the locations they
+// have applied to. Between batches, newly posted jobs are scored against the in-memory
+// profiles and pushed into the feeds they beat, and applying to a job removes it from the feed.
+@Service
+public class RecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationService.class);
+
+    private static final double SKILL_WEIGHT = 0.6;
+    private static final double CATEGORY_WEIGHT = 0.25;
+    private static final double LOCATION_WEIGHT = 0.15;
+
+    private static final int WRITE_BATCH = 500;
+
+    private static final Comparator<RecommendationFeed.Entry> WORST_FIRST = Comparator
+            .comparingDouble(RecommendationFeed.Entry::getScore)
+            .thenComparing(RecommendationFeed.Entry::getJobId, Comparator.reverseOrder());
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MatchingEngine matchingEngine;
+
+    @Autowired
+    private JobCache jobCache;
+
+    @Value("${app.recommendations.feed-size:50}")
+    private int feedSize;
+
+    // Category, location and state of every job, active or not, so past applications count too
+    private final ConcurrentMap<String, JobFeatures> jobs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Profile> profiles = new ConcurrentHashMap<>();
+
+    // Incremental updates run off the request thread, one at a time
+    private final ExecutorService updates = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "recommendation-updates");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guards the loads, which block on Mongo; a monitor here would pin virtual threads
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile boolean jobsLoaded;
+    private volatile boolean ready;
+
+    // Jobs posted, changed or removed while loadJobs streams; null when no load is running
+    private volatile Set<String> jobsChangedDuringLoad;
+
+    // Jobs applied to, by user, while a rebuild runs; null when none is running
+    private volatile ConcurrentMap<String, Set<String>> appliedDuringRebuild;
+
+    // Users whose first feed is queued, so repeated requests do not queue it again
+    private final Set<String> pendingFeeds = ConcurrentHashMap.newKeySet();
+
+    @PreDestroy
+    public void stop() {
+        updates.shutdownNow();
+    }
+
+    // Serving
+
+    // The user's feed, best first; jobs closed since it was computed are skipped. A user the
+    // batch has not seen yet gets an empty list while their feed is computed in the background,
+    // so a request never scores every job itself
+    public List<JobMatch> getRecommendations(String userId, Integer limit) {
+        int size = Keyset.limit(limit);
+        RecommendationFeed feed = mongoTemplate.findById(userId, RecommendationFeed.class);
+        if (feed == null) {
+            if (pendingFeeds.add(userId)) {
+                updates.execute(() -> {
+                    try {
+                        computeFeed(userId);
+                    } finally {
+                        pendingFeeds.remove(userId);
+                    }
+                });
+            }
+            return new ArrayList<>();
+        }
+
+        List<JobMatch> result = new ArrayList<>(size);
+        for (RecommendationFeed.Entry entry : feed.getJobs()) {
+            if (result.size() == size) {
+                break;
+            }
+            Optional<Job> job = jobCache.get(entry.getJobId());
+            if (job.isPresent() && job.get().isActive()) {
+                result.add(new JobMatch(job.get(), entry.getScore(), null));
+            }
+        }
+        return result;
+    }
+
+    // Batch
+
+    @Scheduled(initialDelayString = "${app.recommendations.initial-delay-ms:60000}",
+               fixedDelayString = "${app.recommendations.rebuild-interval-ms:21600000}")
+    public void rebuild() {
+        loadLock.lock();
+        try {
+            rebuildLocked();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void rebuildLocked() {
+        long started = System.currentTimeMillis();
+        ConcurrentMap<String, Set<String>> applied = new ConcurrentHashMap<>();
+        appliedDuringRebuild = applied;
+        try {
+            loadJobs();
+            loadProfiles();
+
+            String now = LocalDateTime.now().toString();
+            List<RecommendationFeed> batch = new ArrayList<>(WRITE_BATCH);
+            for (Map.Entry<String, Profile> profile : profiles.entrySet()) {
+                batch.add(new RecommendationFeed(profile.getKey(), rank(profile.getKey(), profile.getValue()), now));
+                if (batch.size() == WRITE_BATCH) {
+                    save(batch);
+                    batch.clear();
+                }
+            }
+            save(batch);
+        } finally {
+            appliedDuringRebuild = null;
+        }
+
+        // The profiles loaded and the feeds saved above may predate those applications. Queued
+        // behind every update that could still add to the map, so none is missed
+        updates.execute(() -> applied.forEach((userId, jobIds) -> jobIds.forEach(jobId -> apply(userId, jobId))));
+
+        ready = true;
+        logger.info("Recomputed {} recommendation feeds in {} ms", profiles.size(), System.currentTimeMillis() - started);
+    }
+
+    // Incremental updates
+
+    public void jobsPosted(List<Job> postedJobs) {
+        List<Job> snapshot = new ArrayList<>(postedJobs);
+        updates.execute(() -> {
+            for (Job job : snapshot) {
+                markChanged(job.getId());
+                jobs.put(job.getId(), new JobFeatures(job));
+            }
+            if (ready) {
+                pushNewJobs(snapshot);
+            }
+        });
+    }
+
+    public void jobChanged(Job job) {
+        updates.execute(() -> {
+            markChanged(job.getId());
+            jobs.put(job.getId(), new JobFeatures(job));
+        });
+    }
+
+    public void jobRemoved(String jobId) {
+        updates.execute(() -> {
+            markChanged(jobId);
+            jobs.remove(jobId);
+        });
+    }
+
+    // An applied-to job leaves the feed and teaches the profile its category and location
+    public void applied(String userId, String jobId) {
+        updates.execute(() -> {
+            Map<String, Set<String>> duringRebuild = appliedDuringRebuild;
+            if (duringRebuild != null) {
+                duringRebuild.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(jobId);
+            }
+            apply(userId, jobId);
+        });
+    }
+
+    // New skills change every skill score of the user: recompute their feed in the background
+    public void skillsChanged(String userId) {
+        updates.execute(() -> computeFeed(userId));
+    }
+
+    public void userRemoved(String userId) {
+        updates.execute(() -> {
+            profiles.remove(userId);
+            mongoTemplate.remove(new Query(Criteria.where("id").is(userId)), RecommendationFeed.class);
+        });
+    }
+
+    private void apply(String userId, String jobId) {
+        Profile profile = profiles.get(userId);
+        JobFeatures features = jobs.get(jobId);
+        if (profile != null) {
+            if (features != null) {
+                profile.record(jobId, features);
+            }
+            profile.removeFromFeed(jobId);
+        }
+        Query query = new Query(Criteria.where("id").is(userId));
+        mongoTemplate.updateFirst(query, new Update().pull("jobs", new Document("jobId", jobId)), RecommendationFeed.class);
+    }
+
+    // Offer new jobs to every profile; feeds keep their best feedSize entries via $push/$sort/$slice
+    private void pushNewJobs(List<Job> postedJobs) {
+        BulkOperations bulk = null;
+        int pending = 0;
+        for (Map.Entry<String, Profile> entry : profiles.entrySet()) {
+            Profile profile = entry.getValue();
+            int[] skills = matchingEngine.userSkills(entry.getKey());
+            List<RecommendationFeed.Entry> better = new ArrayList<>();
+            for (Job job : postedJobs) {
+                double score = score(profile, skills, job.getId(), jobs.get(job.getId()));
+                if (score > profile.floor) {
+                    better.add(new RecommendationFeed.Entry(job.getId(), score));
+                }
+            }
+            if (better.isEmpty()) {
+                continue;
+            }
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RecommendationFeed.class);
+            }
+            Update update = new Update();
+            update.push("jobs").sort(Sort.by(Sort.Order.desc("score"), Sort.Order.asc("jobId")))
+                    .slice(feedSize).each(better.toArray());
+            bulk.upsert(new Query(Criteria.where("id").is(entry.getKey())), update);
+            profile.offer(better);
+            if (++pending == WRITE_BATCH) {
+                bulk.execute();
+                bulk = null;
+                pending = 0;
+            }
+        }
+        if (bulk != null) {
+            bulk.execute();
+        }
+    }
+
+    // Scoring
+
+    private List<RecommendationFeed.Entry> rank(String userId, Profile profile) {
+        int[] skills = matchingEngine.userSkills(userId);
+        PriorityQueue<RecommendationFeed.Entry> top = new PriorityQueue<>(feedSize + 1, WORST_FIRST);
+        for (Map.Entry<String, JobFeatures> job : jobs.entrySet()) {
+            double score = score(profile, skills, job.getKey(), job.getValue());
+            if (score <= 0) {
+                continue;
+            }
+            top.add(new RecommendationFeed.Entry(job.getKey(), score));
+            if (top.size() > feedSize) {
+                top.poll();
+            }
+        }
+        profile.resetFeed(top);
+
+        List<RecommendationFeed.Entry> ranked = new ArrayList<>(top);
+        ranked.sort(Collections.reverseOrder(WORST_FIRST));
+        return ranked;
+    }
+
+    private double score(Profile profile, int[] skills, String jobId, JobFeatures job) {
+        if (job == null || !job.active || profile.hasApplied(jobId)) {
+            return 0;
+        }
+        double skill = MatchingEngine.skillScore(skills, matchingEngine.jobSkills(jobId));
+        double category = profile.categoryShare(job.category);
+        double location = profile.likesLocation(job) ? 1 : 0;
+        return SKILL_WEIGHT * skill + CATEGORY_WEIGHT * category + LOCATION_WEIGHT * location;
+    }
+
+    // Loading
+
+    // Jobs changed by the update thread while the stream runs are newer than what it read: they
+    // are neither overwritten, brought back after a removal, nor dropped as unseen
+    private void loadJobs() {
+        Query query = new Query();
+        query.fields().include("id").include("category").include("location").include("remote").include("active");
+        Set<String> seen = new HashSet<>();
+        Set<String> changed = ConcurrentHashMap.newKeySet();
+        jobsChangedDuringLoad = changed;
+        try {
+            mongoTemplate.stream(query, Job.class).forEachRemaining(job -> {
+                jobs.compute(job.getId(), (id, current) -> changed.contains(id) ? current : new JobFeatures(job));
+                seen.add(job.getId());
+            });
+            jobs.keySet().removeIf(id -> !seen.contains(id) && !changed.contains(id));
+        } finally {
+            jobsChangedDuringLoad = null;
+        }
+        jobsLoaded = true;
+    }
+
+    // Called before the jobs map is touched, so a load that checks afterwards sees the mark
+    private void markChanged(String jobId) {
+        Set<String> changed = jobsChangedDuringLoad;
+        if (changed != null) {
+            changed.add(jobId);
+        }
+    }
+
+    private void loadProfiles() {
+        Map<String, Profile> loaded = new HashMap<>();
+        Query users = new Query(Criteria.where("role").is("JOBSEEKER"));
+        users.fields().include("id");
+        mongoTemplate.stream(users, User.class).forEachRemaining(user -> loaded.put(user.getId(), new Profile(feedSize)));
+
+        Query applications = new Query();
+        applications.fields().include("userId").include("jobId").exclude("id");
+        mongoTemplate.stream(applications, Application.class).forEachRemaining(application -> {
+            Profile profile = loaded.get(application.getUserId());
+            JobFeatures job = jobs.get(application.getJobId());
+            if (profile != null && job != null) {
+                profile.record(application.getJobId(), job);
+            }
+        });
+
+        profiles.keySet().retainAll(loaded.keySet());
+        profiles.putAll(loaded);
+    }
+
+    // A user the batch has not seen yet, e.g. registered since the last run
+    private RecommendationFeed computeFeed(String userId) {
+        if (!jobsLoaded) {
+            loadLock.lock();
+            try {
+                if (!jobsLoaded) {
+                    loadJobs();
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        Profile profile = new Profile(feedSize);
+        Query applications = new Query(Criteria.where("userId").is(userId));
+        applications.fields().include("jobId").exclude("id");
+        for (Application application : mongoTemplate.find(applications, Application.class)) {
+            JobFeatures job = jobs.get(application.getJobId());
+            if (job != null) {
+                profile.record(application.getJobId(), job);
+            }
+        }
+        profiles.put(userId, profile);
+
+        RecommendationFeed feed = new RecommendationFeed(userId, rank(userId, profile), LocalDateTime.now().toString());
+        mongoTemplate.save(feed);
+        return feed;
+    }
+
+    private void save(List<RecommendationFeed> feeds) {
+        if (feeds.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RecommendationFeed.class);
+        for (RecommendationFeed feed : feeds) {
+            bulk.upsert(new Query(Criteria.where("id").is(feed.getId())),
+                    new Update().set("jobs", feed.getJobs()).set("computedAt", feed.getComputedAt()));
+        }
+        bulk.execute();
+    }
+
+    private static String normalizeLocation(String location) {
+        return String.join(" ", Tokenizer.tokenize(location));
+    }
+
+    private static class JobFeatures {
+        private final String category;
+        private final String location;
+        private final boolean remote;
+        private final boolean active;
+
+        private JobFeatures(Job job) {
+            this.category = Tokenizer.normalize(job.getCategory());
+            this.location = normalizeLocation(job.getLocation());
+            this.remote = job.isRemote();
+            this.active = job.isActive();
+        }
+    }
+
+    // What a job seeker's applications say about them. The monitors stay: profiles are only
+    // used by the scheduled rebuild and the update thread, both platform threads, never by a
+    // request thread, and nothing blocks while holding them
+    private static class Profile {
+        private final Set<String> applied = new HashSet<>();
+        private final Map<String, Integer> categories = new HashMap<>();
+        private final Set<String> locations = new HashSet<>();
+        private boolean appliesRemote;
+        // The saved feed, worst first, kept in step with the updates sent to it
+        private final PriorityQueue<RecommendationFeed.Entry> feed = new PriorityQueue<>(WORST_FIRST);
+        private final int feedSize;
+        // Lowest score currently in the feed, or 0 while it has room
+        private volatile double floor;
+
+        private Profile(int feedSize) {
+            this.feedSize = feedSize;
+        }
+
+        private synchronized void record(String jobId, JobFeatures job) {
+            if (!applied.add(jobId)) {
+                return;
+            }
+            if (!job.category.isEmpty()) {
+                categories.merge(job.category, 1, Integer::sum);
+            }
+            if (!job.location.isEmpty()) {
+                locations.add(job.location);
+            }
+            appliesRemote |= job.remote;
+        }
+
+        private synchronized void resetFeed(Collection<RecommendationFeed.Entry> entries) {
+            feed.clear();
+            offer(entries);
+        }
+
+        // Same result as the $push/$sort/$slice of pushNewJobs
+        private synchronized void offer(Collection<RecommendationFeed.Entry> entries) {
+            feed.addAll(entries);
+            while (feed.size() > feedSize) {
+                feed.poll();
+            }
+            updateFloor();
+        }
+
+        private synchronized void removeFromFeed(String jobId) {
+            if (feed.removeIf(entry -> entry.getJobId().equals(jobId))) {
+                updateFloor();
+            }
+        }
+
+        private void updateFloor() {
+            floor = feed.size() < feedSize ? 0 : feed.peek().getScore();
+        }
+
+        private synchronized boolean hasApplied(String jobId) {
+            return applied.contains(jobId);
+        }
+
+        private synchronized double categoryShare(String category) {
+            if (applied.isEmpty() || category.isEmpty()) {
+                return 0;
+            }
+            return (double) categories.getOrDefault(category, 0) / applied.size();
+        }
+
+        private synchronized boolean likesLocation(JobFeatures job) {
+            return (job.remote && appliesRemote) || locations.contains(job.location);
+        }
+    }
+}
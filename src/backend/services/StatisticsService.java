@@ -0,0 +1,275 @@
+
+package com.jobportal.services;
+
+import com.jobportal.models.Application;
+import com.jobportal.models.Job;
+import com.jobportal.models.SystemStatistics;
+import com.jobportal.models.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Keeps running counts of users, jobs and applications in a single statistics document.
+// Every write path reports its change here as an atomic $inc, so reading the statistics is
+// one primary-key lookup instead of scanning the collections.
+@Service
+public class StatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
+
+    static final String USERS = "users";
+    static final String JOBS = "jobs";
+    static final String ACTIVE_JOBS = "jobs:active";
+    static final String INACTIVE_JOBS = "jobs:inactive";
+    static final String APPLICATIONS = "applications";
+    static final String ROLE_PREFIX = "role:";
+    static final String STATUS_PREFIX = "status:";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @Value("${app.statistics.reconcile.enabled:false}")
+    private boolean reconcileEnabled;
+
+    // Users
+
+    public void userRegistered(User user) {
+        increment(1, USERS, ROLE_PREFIX + key(user.getRole()));
+        metricsService.record(MetricsService.SIGNUPS);
+    }
+
+    public void userRemoved(User user) {
+        increment(-1, USERS, ROLE_PREFIX + key(user.getRole()));
+    }
+
+    // Jobs
+
+    public void jobCreated(Job job) {
+        increment(1, JOBS, job.isActive() ? ACTIVE_JOBS : INACTIVE_JOBS);
+        metricsService.record(MetricsService.JOB_POSTS);
+    }
+
+    // Batch form for bulk imports: one $inc for the whole batch
+    public void jobsCreated(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        long active = 0;
+        for (Job job : jobs) {
+            if (job.isActive()) {
+                active++;
+            }
+        }
+        Update update = new Update().inc(counter(JOBS), jobs.size());
+        if (active > 0) {
+            update.inc(counter(ACTIVE_JOBS), active);
+        }
+        if (active < jobs.size()) {
+            update.inc(counter(INACTIVE_JOBS), jobs.size() - active);
+        }
+        apply(update);
+        metricsService.record(MetricsService.JOB_POSTS, jobs.size());
+    }
+
+    public void jobDeleted(Job job) {
+        increment(-1, JOBS, job.isActive() ? ACTIVE_JOBS : INACTIVE_JOBS);
+    }
+
+    public void jobModerated(boolean wasActive, boolean active) {
+        if (wasActive == active) {
+            return;
+        }
+        Update update = new Update()
+                .inc(counter(active ? ACTIVE_JOBS : INACTIVE_JOBS), 1)
+                .inc(counter(active ? INACTIVE_JOBS : ACTIVE_JOBS), -1);
+        apply(update);
+    }
+
+    // Applications
+
+    public void applicationCreated(Application application) {
+        increment(1, APPLICATIONS, STATUS_PREFIX + key(application.getStatus()));
+        metricsService.record(MetricsService.APPLICATIONS);
+    }
+
+    public void applicationDeleted(Application application) {
+        increment(-1, APPLICATIONS, STATUS_PREFIX + key(application.getStatus()));
+    }
+
+    public void applicationStatusChanged(String oldStatus, String newStatus) {
+        if (key(oldStatus).equals(key(newStatus))) {
+            return;
+        }
+        Update update = new Update()
+                .inc(counter(STATUS_PREFIX + key(oldStatus)), -1)
+                .inc(counter(STATUS_PREFIX + key(newStatus)), 1);
+        apply(update);
+
+        if ("HIRED".equals(newStatus)) {
+            metricsService.record(MetricsService.HIRES);
+        }
+    }
+
+    // Batch form: previousCounts maps each old status to how many applications left it
+    public void applicationStatusesChanged(Map<String, Long> previousCounts, String newStatus) {
+        Map<String, Long> decrements = new HashMap<>();
+        for (Map.Entry<String, Long> entry : previousCounts.entrySet()) {
+            if (!key(entry.getKey()).equals(key(newStatus))) {
+                decrements.merge(key(entry.getKey()), entry.getValue(), Long::sum);
+            }
+        }
+
+        Update update = new Update();
+        long moved = 0;
+        for (Map.Entry<String, Long> entry : decrements.entrySet()) {
+            update.inc(counter(STATUS_PREFIX + entry.getKey()), -entry.getValue());
+            moved += entry.getValue();
+        }
+        if (moved == 0) {
+            return;
+        }
+        update.inc(counter(STATUS_PREFIX + key(newStatus)), moved);
+        apply(update);
+
+        if ("HIRED".equals(newStatus)) {
+            metricsService.record(MetricsService.HIRES, moved);
+        }
+    }
+
+    // Reading
+
+    // Current counters in the response shape of /api/admin/statistics
+    public Map<String, Object> getStatistics() {
+        SystemStatistics stats = mongoTemplate.findById(SystemStatistics.GLOBAL_ID, SystemStatistics.class);
+        Map<String, Long> counters = stats != null ? stats.getCounters() : new HashMap<>();
+
+        Map<String, Long> applicationsByStatus = new TreeMap<>();
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            if (entry.getKey().startsWith(STATUS_PREFIX)) {
+                applicationsByStatus.put(entry.getKey().substring(STATUS_PREFIX.length()), entry.getValue());
+            }
+        }
+
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("totalUsers", get(counters, USERS));
+        statistics.put("employers", get(counters, ROLE_PREFIX + "EMPLOYER"));
+        statistics.put("jobSeekers", get(counters, ROLE_PREFIX + "JOBSEEKER"));
+        statistics.put("admins", get(counters, ROLE_PREFIX + "ADMIN"));
+        statistics.put("totalJobs", get(counters, JOBS));
+        statistics.put("activeJobs", get(counters, ACTIVE_JOBS));
+        statistics.put("inactiveJobs", get(counters, INACTIVE_JOBS));
+        statistics.put("totalApplications", get(counters, APPLICATIONS));
+        statistics.put("applicationsByStatus", applicationsByStatus);
+        statistics.put("reconciledAt", stats != null ? stats.getReconciledAt() : null);
+        return statistics;
+    }
+
+    // Reconciliation
+
+    // Seed the counters on first start so an existing database does not report zeros
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (mongoTemplate.findById(SystemStatistics.GLOBAL_ID, SystemStatistics.class) == null) {
+            reconcile();
+        }
+    }
+
+    // Optional periodic pass that recounts from the collections and corrects any drift,
+    // for example from writes made outside the application
+    @Scheduled(fixedDelayString = "${app.statistics.reconcile.interval-ms:3600000}",
+               initialDelayString = "${app.statistics.reconcile.interval-ms:3600000}")
+    public void scheduledReconcile() {
+        if (reconcileEnabled) {
+            reconcile();
+        }
+    }
+
+    // Recount everything with grouped aggregations and overwrite the counters.
+    // Increments that land while the counts are running can be overwritten; the next pass fixes them.
+    public void reconcile() {
+        Map<String, Long> counters = new HashMap<>();
+
+        counters.put(USERS, mongoTemplate.count(new Query(), User.class));
+        counters.putAll(groupCounts(User.class, "role", ROLE_PREFIX));
+
+        long activeJobs = mongoTemplate.count(Query.query(Criteria.where("active").is(true)), Job.class);
+        long totalJobs = mongoTemplate.count(new Query(), Job.class);
+        counters.put(JOBS, totalJobs);
+        counters.put(ACTIVE_JOBS, activeJobs);
+        counters.put(INACTIVE_JOBS, totalJobs - activeJobs);
+
+        counters.put(APPLICATIONS, mongoTemplate.count(new Query(), Application.class));
+        counters.putAll(groupCounts(Application.class, "status", STATUS_PREFIX));
+
+        Update update = new Update()
+                .set("counters", counters)
+                .set("reconciledAt", LocalDateTime.now().toString());
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(SystemStatistics.GLOBAL_ID)), update,
+                SystemStatistics.class);
+
+        logger.info("Reconciled statistics counters: {}", counters);
+    }
+
+    // Helper methods
+
+    private void increment(long delta, String... names) {
+        Update update = new Update();
+        for (String name : names) {
+            update.inc(counter(name), delta);
+        }
+        apply(update);
+    }
+
+    private void apply(Update update) {
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(SystemStatistics.GLOBAL_ID)), update,
+                SystemStatistics.class);
+    }
+
+    private Map<String, Long> groupCounts(Class<?> type, String field, String prefix) {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group(field).count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, type, Document.class).getMappedResults()) {
+            Object value = group.get("_id");
+            counts.put(prefix + key(value == null ? null : value.toString()),
+                       ((Number) group.get("count")).longValue());
+        }
+        return counts;
+    }
+
+    private static String counter(String name) {
+        return "counters." + name;
+    }
+
+    // Counter names become field names, so keep user supplied values free of '.' and '$'
+    private static String key(String value) {
+        if (value == null || value.isEmpty()) {
+            return "UNKNOWN";
+        }
+        return value.replace('.', '_').replace('$', '_');
+    }
+
+    private static long get(Map<String, Long> counters, String name) {
+        Long value = counters.get(name);
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,49 @@
+package com.jobportal.services;
+
+import com.jobportal.matching.MatchingEngine;
+import com.jobportal.models.User;
+import com.jobportal.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Service
+public class UserService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchingEngine matchingEngine;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    // Replace the user's skills; the matching vector and the recommendation feed are refreshed
+    // for this user only
+    public Set<String> updateSkills(String userId, Set<String> skills) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        Set<String> cleaned = new LinkedHashSet<>();
+        if (skills != null) {
+            for (String skill : skills) {
+                if (skill != null && !skill.trim().isEmpty()) {
+                    cleaned.add(skill.trim());
+                }
+            }
+        }
+        user.setSkills(cleaned);
+        user.setUpdatedAt(LocalDateTime.now().toString());
+        
+        User savedUser = userRepository.save(user);
+        matchingEngine.userChanged(savedUser);
+        if ("JOBSEEKER".equals(savedUser.getRole())) {
+            recommendationService.skillsChanged(savedUser.getId());
+        }
+        return savedUser.getSkills();
+    }
+}
@@ -0,0 +1,41 @@
+
+package com.jobportal.storage;
+
+import java.io.InputStream;
+
+// Reads an ASCII character sequence (such as base64 text) as bytes without copying it
+class CharSequenceInputStream extends InputStream {
+
+    private final CharSequence chars;
+    private int position;
+
+    CharSequenceInputStream(CharSequence chars, int start) {
+        this.chars = chars;
+        this.position = start;
+    }
+
+    @Override
+    public int read() {
+        return position < chars.length() ? chars.charAt(position++) & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        if (position >= chars.length()) {
+            return -1;
+        }
+        int count = Math.min(length, chars.length() - position);
+        for (int i = 0; i < count; i++) {
+            buffer[offset + i] = (byte) chars.charAt(position++);
+        }
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return chars.length() - position;
+    }
+}
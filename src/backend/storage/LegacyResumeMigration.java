@@ -0,0 +1,138 @@
+
+package com.jobportal.storage;
+
+import com.jobportal.models.Application;
+import com.jobportal.models.ResumeBlob;
+import com.jobportal.processing.ResumeProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Background migration that moves resumes still embedded in application documents (base64)
+// or stored under the old uploads/resumes/UUID_name layout into the blob store, leaving only
+// the resumeId reference in each document. Runs in batches and is safe to restart.
+@Component
+public class LegacyResumeMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyResumeMigration.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ResumeStore resumeStore;
+
+    @Value("${app.storage.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.storage.migration.batch-size:50}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(this::migrateAll, "legacy-resume-migration");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void migrateAll() {
+        int migrated = 0;
+        String lastId = null;
+        while (true) {
+            List<Application> batch = nextBatch(lastId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Application application : batch) {
+                if (migrate(application)) {
+                    migrated++;
+                }
+                lastId = application.getId();
+            }
+        }
+        logger.info("Legacy resume migration finished, {} applications migrated", migrated);
+    }
+
+    // Legacy documents have a resume value but no resumeId; walk them in _id order
+    private List<Application> nextBatch(String afterId) {
+        Criteria criteria = Criteria.where("resume").exists(true).ne(null).and("resumeId").exists(false);
+        if (afterId != null) {
+            criteria = criteria.and("id").gt(afterId);
+        }
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, "id")).limit(batchSize);
+        query.fields().include("id").include("resume");
+        return mongoTemplate.find(query, Application.class);
+    }
+
+    private boolean migrate(Application application) {
+        String resume = application.getResume();
+        try {
+            ResumeBlob blob;
+            String fileName = null;
+            Path legacyFile = legacyFile(resume);
+            if (legacyFile != null) {
+                blob = resumeStore.store(Files.newInputStream(legacyFile));
+                fileName = resume.contains("_") ? resume.substring(resume.indexOf('_') + 1) : resume;
+            } else if (ResumeStore.isBase64(resume)) {
+                blob = resumeStore.storeBase64(resume);
+            } else {
+                // Most likely the name of an uploaded file that no longer exists. Keep the
+                // reference as it is instead of storing it decoded as if it were content.
+                logger.warn("Left resume of application {} untouched: no such legacy file and not base64",
+                        application.getId());
+                return false;
+            }
+
+            Update update = new Update()
+                    .set("resumeId", blob.getId())
+                    .set("resumeSize", blob.getSize())
+                    .set("resumeStatus", ResumeProcessor.STATUS_PENDING)
+                    .unset("resume");
+            if (fileName != null) {
+                update.set("resumeFileName", fileName);
+            } else if (ResumeStore.dataUrlContentType(resume) != null) {
+                update.set("resumeContentType", ResumeStore.dataUrlContentType(resume));
+            }
+
+            // Only apply if nobody migrated or replaced the resume in the meantime
+            Query unchanged = Query.query(Criteria.where("id").is(application.getId()).and("resumeId").exists(false));
+            if (mongoTemplate.updateFirst(unchanged, update, Application.class).getModifiedCount() == 0) {
+                resumeStore.release(blob.getId());
+                return false;
+            }
+            if (legacyFile != null) {
+                Files.deleteIfExists(legacyFile);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not migrate resume of application {}", application.getId(), e);
+            return false;
+        }
+    }
+
+    // Old uploads stored just the file name of a file under the resume directory
+    private Path legacyFile(String resume) {
+        if (resume.length() > 255 || resume.contains("/") || resume.contains("\\")) {
+            return null;
+        }
+        Path candidate = resumeStore.getRoot().resolve(resume);
+        return Files.isRegularFile(candidate) ? candidate : null;
+    }
+}
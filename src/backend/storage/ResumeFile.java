@@ -0,0 +1,41 @@
+
+package com.jobportal.storage;
+
+import java.nio.file.Path;
+
+// A stored resume resolved for download
+public class ResumeFile {
+    private final Path path;
+    private final String etag;
+    private final long size;
+    private final String contentType;
+    private final String fileName;
+
+    public ResumeFile(Path path, String etag, long size, String contentType, String fileName) {
+        this.path = path;
+        this.etag = etag;
+        this.size = size;
+        this.contentType = contentType;
+        this.fileName = fileName;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
@@ -0,0 +1,270 @@
+
+package com.jobportal.storage;
+
+import com.jobportal.models.ResumeBlob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Content-addressed, deduplicating resume storage.
+// Uploads are hashed while they stream to a temp file, then kept once under
+// blobs/<aa>/<bb>/<sha256>. A reference count per blob in Mongo tracks how many applications
+// point at it, and a periodic sweep deletes blobs nobody has referenced for a grace period.
+@Component
+public class ResumeStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeStore.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.storage.resume-dir:uploads/resumes}")
+    private String resumeDir;
+
+    @Value("${app.storage.gc-grace-minutes:60}")
+    private long gcGraceMinutes;
+
+    private Path root;
+    private Path blobs;
+    private Path tmp;
+
+    // Serialises publishing and deleting the same digest within this instance
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        root = Paths.get(resumeDir).toAbsolutePath().normalize();
+        blobs = root.resolve("blobs");
+        tmp = root.resolve("tmp");
+        try {
+            Files.createDirectories(blobs);
+            Files.createDirectories(tmp);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", e);
+        }
+    }
+
+    // Store a stream, returning the blob it was deduplicated into; the caller owns one reference
+    public ResumeBlob store(InputStream content) throws IOException {
+        MessageDigest sha256 = newDigest();
+        Path upload = Files.createTempFile(tmp, "upload-", ".part");
+        long size;
+        try {
+            // Single pass: the bytes are hashed on their way to disk
+            try (InputStream in = content;
+                 OutputStream out = new DigestOutputStream(Files.newOutputStream(upload), sha256)) {
+                size = copy(in, out);
+            }
+            return publish(upload, toHex(sha256.digest()), size);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    // Decode base64 text (optionally a data: URL) while hashing and writing it, without
+    // materialising the decoded bytes in memory. Text that is not valid base64 is rejected
+    // rather than decoded into whatever bytes the lenient decoder makes of it.
+    public ResumeBlob storeBase64(CharSequence encoded) throws IOException {
+        if (!isBase64(encoded)) {
+            throw new RuntimeException("Resume is not valid base64");
+        }
+        // The MIME decoder skips line breaks that some clients insert; nothing else is left to skip
+        return store(Base64.getMimeDecoder().wrap(new CharSequenceInputStream(encoded, payloadStart(encoded))));
+    }
+
+    // Strict check of base64 text or a base64 data: URL: only the standard alphabet and line
+    // breaks, at most two '=' at the very end, and a whole number of 4-character groups
+    public static boolean isBase64(CharSequence encoded) {
+        int start = payloadStart(encoded);
+        int significant = 0;
+        int padding = 0;
+        for (int i = start; i < encoded.length(); i++) {
+            char c = encoded.charAt(i);
+            if (c == '\r' || c == '\n') {
+                continue;
+            }
+            if (c == '=') {
+                padding++;
+            } else if (padding > 0 || !isBase64Char(c)) {
+                return false;
+            }
+            significant++;
+        }
+        return significant > 0 && padding <= 2 && significant % 4 == 0;
+    }
+
+    // Content type declared by a data: URL prefix, if any
+    public static String dataUrlContentType(CharSequence encoded) {
+        String head = encoded.subSequence(0, Math.min(encoded.length(), 256)).toString();
+        int separator = head.indexOf(';');
+        if (!head.startsWith("data:") || separator < 0) {
+            return null;
+        }
+        return head.substring("data:".length(), separator);
+    }
+
+    // Where the base64 payload starts: after the comma of a data: URL, else at the beginning
+    private static int payloadStart(CharSequence encoded) {
+        String head = encoded.subSequence(0, Math.min(encoded.length(), 256)).toString();
+        if (head.startsWith("data:") && head.contains(",")) {
+            return head.indexOf(',') + 1;
+        }
+        return 0;
+    }
+
+    private static boolean isBase64Char(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+' || c == '/';
+    }
+
+    // Add a reference to the blob and move the upload into place if this content is new
+    private ResumeBlob publish(Path upload, String digest, long size) throws IOException {
+        ReentrantLock lock = lockFor(digest);
+        lock.lock();
+        try {
+            // Take the reference first so a concurrent sweep can no longer select this blob
+            Update update = new Update()
+                    .inc("refCount", 1)
+                    .setOnInsert("size", size)
+                    .setOnInsert("createdAt", LocalDateTime.now().toString());
+            ResumeBlob blob = mongoTemplate.findAndModify(byId(digest), update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true), ResumeBlob.class);
+
+            Path target = resolve(digest);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return blob;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drop one reference; the file is removed by the next sweep after the grace period
+    public void release(String digest) {
+        if (digest == null) {
+            return;
+        }
+        Update update = new Update().inc("refCount", -1);
+        ResumeBlob blob = mongoTemplate.findAndModify(byId(digest), update,
+                FindAndModifyOptions.options().returnNew(true), ResumeBlob.class);
+        if (blob != null && blob.getRefCount() <= 0) {
+            mongoTemplate.updateFirst(byId(digest), new Update().set("releasedAt", LocalDateTime.now().toString()),
+                    ResumeBlob.class);
+        }
+    }
+
+    // Location of a blob: two levels of 256-way fan-out keep every directory small
+    public Path resolve(String digest) {
+        if (digest == null || !digest.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid resume id");
+        }
+        return blobs.resolve(digest.substring(0, 2)).resolve(digest.substring(2, 4)).resolve(digest);
+    }
+
+    public ResumeBlob getBlob(String digest) {
+        return mongoTemplate.findById(digest, ResumeBlob.class);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    // Delete blobs whose reference count has stayed at zero for the grace period
+    @Scheduled(fixedDelayString = "${app.storage.gc-interval-ms:3600000}")
+    public void collectGarbage() {
+        String cutoff = LocalDateTime.now().minusMinutes(gcGraceMinutes).toString();
+        Query unreferenced = Query.query(Criteria.where("refCount").lte(0).and("releasedAt").lt(cutoff));
+        List<ResumeBlob> candidates = mongoTemplate.find(unreferenced, ResumeBlob.class);
+
+        int deleted = 0;
+        for (ResumeBlob candidate : candidates) {
+            ReentrantLock lock = lockFor(candidate.getId());
+            lock.lock();
+            try {
+                // Only delete if still unreferenced when the record is removed
+                Query stillUnreferenced = Query.query(Criteria.where("id").is(candidate.getId())
+                        .and("refCount").lte(0));
+                if (mongoTemplate.findAndRemove(stillUnreferenced, ResumeBlob.class) != null) {
+                    Files.deleteIfExists(resolve(candidate.getId()));
+                    deleted++;
+                }
+            } catch (IOException e) {
+                logger.warn("Could not delete resume blob {}", candidate.getId(), e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (deleted > 0) {
+            logger.info("Deleted {} unreferenced resume blobs", deleted);
+        }
+    }
+
+    // Helper methods
+
+    private static long copy(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    private ReentrantLock lockFor(String digest) {
+        return locks[Math.floorMod(digest.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Query byId(String digest) {
+        return Query.query(Criteria.where("id").is(digest));
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,159 @@
+package com.jobportal.cache;
+
+import com.jobportal.models.Job;
+import com.jobportal.repositories.JobRepository;
+import com.jobportal.repositories.ReactiveJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobCacheTest {
+
+    private JobRepository jobRepository;
+    private ReactiveJobRepository reactiveJobRepository;
+    private JobCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        when(jobRepository.findById(anyString())).thenAnswer(call -> Optional.of(job(call.getArgument(0))));
+        reactiveJobRepository = mock(ReactiveJobRepository.class);
+        cache = new JobCache();
+        ReflectionTestUtils.setField(cache, "jobRepository", jobRepository);
+        ReflectionTestUtils.setField(cache, "reactiveJobRepository", reactiveJobRepository);
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+    }
+
+    @Test
+    void readsThroughOnceAndServesHits() {
+        Job first = cache.get("j1").get();
+        assertSame(first, cache.get("j1").get());
+        verify(jobRepository, times(1)).findById("j1");
+
+        cache.invalidate("j1");
+        cache.get("j1");
+        verify(jobRepository, times(2)).findById("j1");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            cache.get("j" + i);
+            Thread.sleep(2);
+        }
+        // Touch j0 so the oldest access is j1
+        cache.get("j0");
+        cache.get("j10");
+
+        Map<String, Object> statistics = cache.getStatistics();
+        assertEquals(10, statistics.get("size"));
+        assertEquals(1L, statistics.get("evictions"));
+        cache.get("j0");
+        verify(jobRepository, times(1)).findById("j0");
+        cache.get("j1");
+        verify(jobRepository, times(2)).findById("j1");
+    }
+
+    @Test
+    void concurrentReactiveMissesShareOneRead() {
+        Sinks.One<Job> read = Sinks.one();
+        when(reactiveJobRepository.findById("j1")).thenReturn(read.asMono());
+
+        Mono<Job> first = cache.getAsync("j1");
+        Mono<Job> second = cache.getAsync("j1");
+        AtomicReference<Job> firstResult = new AtomicReference<>();
+        AtomicReference<Job> secondResult = new AtomicReference<>();
+        first.subscribe(firstResult::set);
+        second.subscribe(secondResult::set);
+        read.tryEmitValue(job("j1"));
+
+        assertSame(firstResult.get(), secondResult.get());
+        verify(reactiveJobRepository, times(1)).findById("j1");
+        assertSame(firstResult.get(), cache.get("j1").get());
+        verify(jobRepository, times(0)).findById("j1");
+    }
+
+    @Test
+    void reactiveReadInvalidatedMeanwhileIsNotCached() {
+        Sinks.One<Job> read = Sinks.one();
+        when(reactiveJobRepository.findById("j1")).thenReturn(read.asMono());
+
+        AtomicReference<Job> result = new AtomicReference<>();
+        cache.getAsync("j1").subscribe(result::set);
+        cache.invalidate("j1");
+        read.tryEmitValue(job("j1"));
+
+        assertEquals("j1", result.get().getId());
+        cache.get("j1");
+        verify(jobRepository, times(1)).findById("j1");
+    }
+
+    @Test
+    void invalidationJustBeforeABlockingLoadPublishesWins() {
+        // The read has finished and the load is about to cache it when the job changes
+        interceptPublish(() -> cache.invalidate("j1"));
+
+        assertEquals("j1", cache.get("j1").get().getId());
+        assertEquals(0, cache.getStatistics().get("size"));
+        cache.get("j1");
+        verify(jobRepository, times(2)).findById("j1");
+    }
+
+    @Test
+    void invalidationJustBeforeAReactiveLoadPublishesWins() {
+        when(reactiveJobRepository.findById("j1")).thenReturn(Mono.fromSupplier(() -> job("j1")));
+        interceptPublish(() -> cache.invalidate("j1"));
+
+        assertEquals("j1", cache.getAsync("j1").block().getId());
+        assertEquals(0, cache.getStatistics().get("size"));
+    }
+
+    // Run the action once, right before the cache writes its first entry
+    private void interceptPublish(Runnable action) {
+        AtomicBoolean ran = new AtomicBoolean();
+        ReflectionTestUtils.setField(cache, "entries", new ConcurrentHashMap<String, Object>() {
+            @Override
+            public Object put(String key, Object value) {
+                intercept();
+                return super.put(key, value);
+            }
+
+            @Override
+            public Object compute(String key, BiFunction<? super String, ? super Object, ?> remapping) {
+                intercept();
+                return super.compute(key, remapping);
+            }
+
+            private void intercept() {
+                if (ran.compareAndSet(false, true)) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static Job job(String id) {
+        Job job = new Job();
+        job.setId(id);
+        job.setActive(true);
+        return job;
+    }
+}
@@ -0,0 +1,86 @@
+package com.jobportal.controllers;
+
+import com.jobportal.storage.ResumeFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileResponsesTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void allowsOnlyDocumentTypes() {
+        assertEquals(MediaType.APPLICATION_PDF, FileResponses.documentType("application/pdf"));
+        assertEquals(MediaType.TEXT_PLAIN, FileResponses.documentType("Text/Plain; charset=utf-8"));
+        assertEquals("application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+                FileResponses.documentType(
+                        "application/vnd.openxmlformats-officedocument.wordprocessingml.document").toString());
+
+        assertNull(FileResponses.documentType(null));
+        assertNull(FileResponses.documentType("text/html"));
+        assertNull(FileResponses.documentType("image/svg+xml"));
+        assertNull(FileResponses.documentType("not a media type"));
+    }
+
+    @Test
+    void servesPdfInline() throws Exception {
+        ResponseEntity<?> response = FileResponses.serve(file("application/pdf"), null, null, null,
+                new MockHttpServletRequest());
+
+        HttpHeaders headers = response.getHeaders();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_PDF, headers.getContentType());
+        assertTrue(headers.getContentDisposition().isInline());
+        assertEquals("nosniff", headers.getFirst("X-Content-Type-Options"));
+    }
+
+    @Test
+    void servesOtherTypesAsAttachment() throws Exception {
+        for (String type : new String[] {"text/html", "image/svg+xml", "text/html;;;==", null}) {
+            ResponseEntity<?> response = FileResponses.serve(file(type), null, null, null,
+                    new MockHttpServletRequest());
+
+            HttpHeaders headers = response.getHeaders();
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(MediaType.APPLICATION_OCTET_STREAM, headers.getContentType());
+            assertTrue(headers.getContentDisposition().isAttachment());
+            assertEquals("nosniff", headers.getFirst("X-Content-Type-Options"));
+        }
+    }
+
+    @Test
+    void servesRequestedRange() throws Exception {
+        ResponseEntity<?> response = FileResponses.serve(file("application/pdf"), "bytes=2-5", null, null,
+                new MockHttpServletRequest());
+
+        assertEquals(HttpStatus.PARTIAL_CONTENT, response.getStatusCode());
+        assertEquals("bytes 2-5/10", response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getHeaders().getContentLength());
+    }
+
+    @Test
+    void revalidatesByEtag() throws Exception {
+        ResponseEntity<?> response = FileResponses.serve(file("application/pdf"), null, "W/\"other\", \"etag\"",
+                null, new MockHttpServletRequest());
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    private ResumeFile file(String contentType) throws Exception {
+        Path path = Files.write(dir.resolve("resume"), new byte[10]);
+        return new ResumeFile(path, "\"etag\"", 10, contentType, "resume.pdf");
+    }
+}
@@ -0,0 +1,90 @@
+package com.jobportal.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamingResponsesTest {
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Test
+    void opensTheStreamOnlyWhenTheBodyIsWritten() throws IOException {
+        ResponseEntity<StreamingResponseBody> response =
+                StreamingResponses.ndjson(new ObjectMapper(), rows("a", "b"));
+        assertEquals(0, opened.get());
+
+        assertEquals("\"a\"\n\"b\"\n", write(response));
+        assertEquals(1, opened.get());
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    void closesTheStreamWhenTheClientGoesAway() {
+        ResponseEntity<StreamingResponseBody> response = StreamingResponses.csvAttachment(rows("a", "b"),
+                Collections.singletonList("value"), Collections::singletonList, "rows.csv", false);
+
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        assertThrows(IOException.class, () -> response.getBody().writeTo(broken));
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    void writesGzippedCsvAttachments() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = StreamingResponses.csvAttachment(rows("a,b", "c"),
+                Collections.singletonList("value"), Collections::singletonList, "rows.csv", true);
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("attachment; filename=\"rows.csv\"",
+                response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()));
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        byte[] buffer = new byte[256];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            csv.write(buffer, 0, n);
+        }
+        assertEquals("value\r\n\"a,b\"\r\nc\r\n", new String(csv.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(1, closed.get());
+    }
+
+    private Supplier<Stream<String>> rows(String... values) {
+        List<String> list = Arrays.asList(values);
+        return () -> {
+            opened.incrementAndGet();
+            return list.stream().onClose(closed::incrementAndGet);
+        };
+    }
+
+    private static String write(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
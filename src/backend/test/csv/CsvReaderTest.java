@@ -0,0 +1,64 @@
+package com.jobportal.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTest {
+
+    @Test
+    void readsPlainAndQuotedFields() throws IOException {
+        List<List<String>> records = readAll("title,location\r\n"
+                + "\"Engineer, Backend\",Berlin\n"
+                + "\"Say \"\"hi\"\"\",\"two\nlines\"\n"
+                + "a,,\n");
+
+        assertEquals(Arrays.asList(
+                Arrays.asList("title", "location"),
+                Arrays.asList("Engineer, Backend", "Berlin"),
+                Arrays.asList("Say \"hi\"", "two\nlines"),
+                Arrays.asList("a", "", "")), records);
+    }
+
+    @Test
+    void skipsBlankLinesAndReadsALastRecordWithoutNewline() throws IOException {
+        assertEquals(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b")),
+                readAll("\r\n\na\n\n\nb"));
+        assertEquals(Collections.emptyList(), readAll(""));
+    }
+
+    @Test
+    void readsRecordsLongerThanTheBuffer() throws IOException {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            description.append((char) ('a' + i % 26));
+        }
+        List<List<String>> records = readAll("x,\"" + description + "\"\ny,z\n");
+
+        assertEquals(description.toString(), records.get(0).get(1));
+        assertEquals(Arrays.asList("y", "z"), records.get(1));
+    }
+
+    @Test
+    void rejectsAnUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> readAll("a,\"open\nstill open"));
+    }
+
+    private static List<List<String>> readAll(String input) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(input));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,41 @@
+package com.jobportal.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvWriterTest {
+
+    @Test
+    void quotesOnlyWhatNeedsIt() throws IOException {
+        assertEquals("plain,\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",,\r\n",
+                write(Arrays.asList("plain", "a,b", "say \"hi\"", "two\nlines", "", null)));
+    }
+
+    @Test
+    void neutralisesFormulaCells() throws IOException {
+        assertEquals("'=SUM(A1:A9),'+1,'-1,'@cmd,\"'=1,2\"\r\n",
+                write(Arrays.asList("=SUM(A1:A9)", "+1", "-1", "@cmd", "=1,2")));
+    }
+
+    @Test
+    void writesWhatTheReaderReadsBack() throws IOException {
+        List<String> row = Arrays.asList("Jane \"JD\" Doe", "Berlin, DE", "line one\r\nline two", "");
+        CsvReader reader = new CsvReader(new StringReader(write(row)));
+        assertEquals(row, reader.next());
+    }
+
+    private static String write(List<String> row) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter writer = new CsvWriter(out);
+        writer.writeRow(row);
+        writer.flush();
+        return out.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package com.jobportal.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeohashTest {
+
+    @Test
+    void encodesKnownPoints() {
+        assertEquals("ezs42", Geohash.encode(42.6, -5.6, 5));
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("gcpvj0", Geohash.encode(51.5074, -0.1278, 6));
+        assertEquals("s", Geohash.encode(0, 0, 1));
+        assertEquals("7", Geohash.encode(-0.0001, -0.0001, 1));
+    }
+
+    @Test
+    void coarserHashesArePrefixes() {
+        Random random = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            String fine = Geohash.encode(latitude, longitude, Geohash.MAX_PRECISION);
+            for (int precision = 1; precision < Geohash.MAX_PRECISION; precision++) {
+                assertTrue(fine.startsWith(Geohash.encode(latitude, longitude, precision)));
+            }
+        }
+    }
+
+    @Test
+    void cellSizesHalveAlternately() {
+        assertEquals(45.0, Geohash.cellHeight(1));
+        assertEquals(45.0, Geohash.cellWidth(1));
+        assertEquals(5.625, Geohash.cellHeight(2));
+        assertEquals(11.25, Geohash.cellWidth(2));
+        assertEquals(180.0 / (1 << 15), Geohash.cellHeight(6));
+        assertEquals(360.0 / (1 << 15), Geohash.cellWidth(6));
+    }
+
+    @Test
+    void measuresGreatCircleDistances() {
+        assertEquals(0, GeoDistance.km(10, 20, 10, 20));
+        assertEquals(343.5, GeoDistance.km(51.5074, -0.1278, 48.8566, 2.3522), 1.0);
+        assertEquals(Math.PI * GeoDistance.EARTH_RADIUS_KM, GeoDistance.km(0, 0, 0, 180), 1e-6);
+        assertEquals(GeoDistance.km(0, 179.9, 0, -179.9), GeoDistance.km(0, 0, 0, 0.2), 1e-9);
+
+        assertEquals(1.0, GeoDistance.latitudeDegrees(GeoDistance.km(0, 0, 1, 0)), 1e-9);
+        assertEquals(2.0, GeoDistance.longitudeDegrees(GeoDistance.km(0, 0, 1, 0), 60), 1e-9);
+        assertEquals(360, GeoDistance.longitudeDegrees(10, 90));
+    }
+}
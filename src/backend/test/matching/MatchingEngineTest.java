@@ -0,0 +1,138 @@
+package com.jobportal.matching;
+
+import com.jobportal.models.Job;
+import com.jobportal.models.User;
+import com.jobportal.processing.SkillDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MatchingEngineTest {
+
+    private MongoTemplate mongoTemplate;
+    private MatchingEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SkillDictionary skillDictionary = new SkillDictionary();
+        skillDictionary.load();
+        mongoTemplate = mock(MongoTemplate.class);
+        engine = new MatchingEngine();
+        ReflectionTestUtils.setField(engine, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(engine, "skillDictionary", skillDictionary);
+    }
+
+    @Test
+    void ranksJobsByShareOfTheirSkills() {
+        users(user("u1", "Java", "Docker"));
+        jobs(job("all", "Java", "Docker"), job("half", "Java", "Kubernetes"), job("none", "Cooking"));
+
+        List<Match> matches = engine.topJobsForUser("u1", 10);
+
+        assertEquals(Arrays.asList("all", "half"), ids(matches));
+        assertEquals(1.0, matches.get(0).getScore(), 1e-9);
+        assertEquals(0.5, matches.get(1).getScore(), 1e-9);
+        assertEquals(1, matches.get(1).getMatchedSkills().size());
+    }
+
+    @Test
+    void keepsOnlyTheBestK() {
+        users(user("u1", "Java"));
+        jobs(job("b", "Java"), job("a", "Java"), job("c", "Java", "Docker"));
+
+        assertEquals(Arrays.asList("a", "b"), ids(engine.topJobsForUser("u1", 2)));
+    }
+
+    @Test
+    void changesDuringTheFirstLoadWin() {
+        users(user("u1", "Java"));
+        Job removed = job("removed", "Java");
+        Job deactivated = job("deactivated", "Java");
+        Job kept = job("kept", "Java");
+        when(mongoTemplate.stream(any(Query.class), eq(Job.class))).thenAnswer(call -> {
+            // The load has read these jobs as active, but they change before it stores them
+            engine.jobRemoved("removed");
+            Job inactive = job("deactivated", "Java");
+            inactive.setActive(false);
+            engine.jobChanged(inactive);
+            engine.userChanged(user("u1", "Docker"));
+            return iterator(Arrays.asList(removed, deactivated, kept));
+        });
+
+        assertTrue(ids(engine.topJobsForUser("u1", 10)).isEmpty());
+        assertArrayEquals(engine.encodeSkills(Collections.singleton("Docker")), engine.userSkills("u1"));
+        assertEquals(engine.encodeRequirements(Collections.singletonList("Java")).length,
+                engine.jobSkills("kept").length);
+        assertEquals(0, engine.jobSkills("removed").length);
+        assertEquals(0, engine.jobSkills("deactivated").length);
+
+        // After the load, updates apply as usual
+        engine.jobChanged(job("removed", "Docker"));
+        assertEquals(Collections.singletonList("removed"), ids(engine.topJobsForUser("u1", 10)));
+    }
+
+    private void users(User... users) {
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenAnswer(call -> iterator(Arrays.asList(users)));
+    }
+
+    private void jobs(Job... jobs) {
+        when(mongoTemplate.stream(any(Query.class), eq(Job.class))).thenAnswer(call -> iterator(Arrays.asList(jobs)));
+    }
+
+    private static User user(String id, String... skills) {
+        User user = new User();
+        user.setId(id);
+        user.setRole("JOBSEEKER");
+        user.setSkills(new HashSet<>(Arrays.asList(skills)));
+        return user;
+    }
+
+    private static Job job(String id, String... requirements) {
+        Job job = new Job();
+        job.setId(id);
+        job.setActive(true);
+        job.setRequirements(Arrays.asList(requirements));
+        return job;
+    }
+
+    private static List<String> ids(List<Match> matches) {
+        return matches.stream().map(Match::getId).collect(Collectors.toList());
+    }
+
+    private static <T> CloseableIterator<T> iterator(List<T> items) {
+        Iterator<T> delegate = items.iterator();
+        return new CloseableIterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return delegate.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
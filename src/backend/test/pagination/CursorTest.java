@@ -0,0 +1,55 @@
+package com.jobportal.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CursorTest {
+
+    @Test
+    void roundTripsThroughTheOpaqueForm() {
+        Cursor cursor = Cursor.decode(new Cursor("2024-05-01T10:15:30", "65f0c0ffee").encode());
+        assertEquals("2024-05-01T10:15:30", cursor.getSortKey());
+        assertEquals("65f0c0ffee", cursor.getId());
+
+        // A missing sort key stays missing, distinct from an empty one
+        Cursor unkeyed = Cursor.decode(new Cursor(null, "a1").encode());
+        assertNull(unkeyed.getSortKey());
+        assertEquals("a1", unkeyed.getId());
+        assertEquals("", Cursor.decode(new Cursor("", "a1").encode()).getSortKey());
+    }
+
+    @Test
+    void emptyCursorMeansFirstPage() {
+        assertNull(Cursor.decode(null));
+        assertNull(Cursor.decode(""));
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not base64!"));
+        // Valid base64 but nothing after the separator
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("Cg"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(new Cursor("2024", "").encode()));
+    }
+
+    @Test
+    void precedesRowsLaterInDescendingOrder() {
+        Cursor cursor = new Cursor("2024-05-01", "m");
+        assertTrue(cursor.precedes("2024-04-30", "z"));
+        assertTrue(cursor.precedes("2024-05-01", "a"));
+        assertFalse(cursor.precedes("2024-05-01", "m"));
+        assertFalse(cursor.precedes("2024-05-02", "a"));
+
+        // Rows without a key come last
+        assertTrue(cursor.precedes(null, "z"));
+        Cursor unkeyed = new Cursor(null, "m");
+        assertTrue(unkeyed.precedes(null, "a"));
+        assertFalse(unkeyed.precedes(null, "z"));
+        assertFalse(unkeyed.precedes("2024-01-01", "a"));
+    }
+}
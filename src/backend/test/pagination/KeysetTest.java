@@ -0,0 +1,52 @@
+package com.jobportal.pagination;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class KeysetTest {
+
+    @Test
+    void firstPageSortsByKeyThenIdAndFetchesOneExtraRow() {
+        Query query = Keyset.page(Criteria.where("userId").is("u1"), "appliedDate", null, 20);
+
+        assertEquals(new Document("userId", "u1"), query.getQueryObject());
+        assertEquals(new Document("appliedDate", -1).append("id", -1), query.getSortObject());
+        assertEquals(21, query.getLimit());
+    }
+
+    @Test
+    void laterPagesSeekStrictlyPastTheCursor() {
+        Query query = Keyset.page(Criteria.where("userId").is("u1"), "appliedDate", new Cursor("2024-05-01", "m"), 20);
+
+        List<?> and = (List<?>) query.getQueryObject().get("$and");
+        assertEquals(new Document("userId", "u1"), and.get(0));
+        List<?> or = (List<?>) ((Document) and.get(1)).get("$or");
+        assertEquals(new Document("appliedDate", new Document("$lt", "2024-05-01")), or.get(0));
+        assertEquals(new Document("appliedDate", "2024-05-01").append("id", new Document("$lt", "m")), or.get(1));
+        assertEquals(new Document("appliedDate", null), or.get(2));
+        assertNull(query.getQueryObject().get("userId"));
+    }
+
+    @Test
+    void pagesPastAnUnkeyedRowStayAmongUnkeyedRows() {
+        Query query = Keyset.page(Criteria.where("userId").is("u1"), "appliedDate", new Cursor(null, "m"), 20);
+
+        List<?> and = (List<?>) query.getQueryObject().get("$and");
+        assertEquals(new Document("appliedDate", null).append("id", new Document("$lt", "m")), and.get(1));
+    }
+
+    @Test
+    void clampsRequestedLimits() {
+        assertEquals(Keyset.DEFAULT_LIMIT, Keyset.limit(null));
+        assertEquals(Keyset.DEFAULT_LIMIT, Keyset.limit(0));
+        assertEquals(5, Keyset.limit(5));
+        assertEquals(Keyset.MAX_LIMIT, Keyset.limit(10000));
+    }
+}
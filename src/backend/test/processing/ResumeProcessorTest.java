@@ -0,0 +1,142 @@
+package com.jobportal.processing;
+
+import com.jobportal.models.Application;
+import com.jobportal.storage.ResumeStore;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeProcessorTest {
+
+    @TempDir
+    Path dir;
+
+    private MongoTemplate mongoTemplate;
+    private BulkOperations bulk;
+    private ResumeStore resumeStore;
+    private ResumeProcessor processor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mongoTemplate = mock(MongoTemplate.class);
+        bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class)).thenReturn(bulk);
+        resumeStore = mock(ResumeStore.class);
+        SkillDictionary skillDictionary = new SkillDictionary();
+        skillDictionary.load();
+
+        processor = new ResumeProcessor();
+        ReflectionTestUtils.setField(processor, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(processor, "resumeStore", resumeStore);
+        ReflectionTestUtils.setField(processor, "skillDictionary", skillDictionary);
+        ReflectionTestUtils.setField(processor, "queueCapacity", 100);
+        ReflectionTestUtils.setField(processor, "maxAttempts", 3);
+        ReflectionTestUtils.setField(processor, "retryDelayMs", 1L);
+        ReflectionTestUtils.setField(processor, "batchSize", 2);
+        processor.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        processor.stop();
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws Exception {
+        when(resumeStore.resolve("blob")).thenThrow(new IllegalStateException("disk unavailable"));
+
+        processor.submit(application("a1", "blob"));
+        awaitResults(1);
+        processor.flush();
+
+        verify(resumeStore, times(3)).resolve("blob");
+        List<Update> updates = writtenUpdates(1);
+        assertEquals(new Document("resumeStatus", ResumeProcessor.STATUS_FAILED), updates.get(0).getUpdateObject().get("$set"));
+    }
+
+    @Test
+    void writesResultsBackInBatchesOfPendingApplications() throws Exception {
+        Path resume = dir.resolve("resume.txt");
+        Files.write(resume, "Java developer with Spring Boot and MongoDB".getBytes(StandardCharsets.UTF_8));
+        when(resumeStore.resolve("blob")).thenReturn(resume);
+
+        for (int i = 0; i < 5; i++) {
+            processor.submit(application("a" + i, "blob"));
+        }
+        // Already in flight, so not processed twice
+        processor.submit(application("a0", "blob"));
+        awaitResults(5);
+        processor.flush();
+
+        verify(mongoTemplate, times(3)).bulkOps(BulkOperations.BulkMode.UNORDERED, Application.class);
+        verify(bulk, times(3)).execute();
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(5)).updateOne(queries.capture(), updates.capture());
+        assertEquals(ResumeProcessor.STATUS_PENDING, queries.getValue().getQueryObject().get("resumeStatus"));
+
+        Document set = (Document) updates.getValue().getUpdateObject().get("$set");
+        assertEquals(ResumeProcessor.STATUS_PROCESSED, set.get("resumeStatus"));
+        assertEquals("Java developer with Spring Boot and MongoDB", set.get("resumeText"));
+        assertTrue(((Collection<?>) set.get("resumeSkills")).contains("Java"), set.toJson());
+    }
+
+    @Test
+    void marksUnreadableFormatsUnsupported() throws Exception {
+        Path resume = dir.resolve("resume.bin");
+        Files.write(resume, new byte[] { 0, 1, 2, 3 });
+        when(resumeStore.resolve("blob")).thenReturn(resume);
+
+        processor.submit(application("a1", "blob"));
+        awaitResults(1);
+        processor.flush();
+
+        Document set = (Document) writtenUpdates(1).get(0).getUpdateObject().get("$set");
+        assertEquals(new Document("resumeStatus", ResumeProcessor.STATUS_UNSUPPORTED), set);
+    }
+
+    // Wait until the workers have queued this many results for write-back
+    private void awaitResults(int count) throws InterruptedException {
+        Collection<?> results = (Collection<?>) ReflectionTestUtils.getField(processor, "results");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (results.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, results.size());
+    }
+
+    private List<Update> writtenUpdates(int count) {
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(count)).updateOne(any(Query.class), updates.capture());
+        return updates.getAllValues();
+    }
+
+    private static Application application(String id, String resumeId) {
+        Application application = new Application();
+        application.setId(id);
+        application.setResumeId(resumeId);
+        return application;
+    }
+}
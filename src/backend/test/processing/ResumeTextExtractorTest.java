@@ -0,0 +1,174 @@
+package com.jobportal.processing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumeTextExtractorTest {
+
+    private static final String CONTENT = "BT /F1 12 Tf 72 712 Td (Senior Java Developer) Tj 0 -14 Td "
+            + "[(Spring)-250(Boot)] TJ T* (R\\351sum\\351 \\(CV\\)) Tj ET";
+
+    @TempDir
+    Path dir;
+
+    private final ResumeTextExtractor extractor = new ResumeTextExtractor();
+
+    @Test
+    void readsTextOperatorsOfAnUncompressedPdf() throws IOException {
+        ExtractedResume resume = extract("raw.pdf", pdf(stream("", ascii(CONTENT))));
+
+        assertEquals("Senior Java Developer Spring Boot R\u00e9sum\u00e9 (CV)", resume.getText());
+        assertEquals(Integer.valueOf(1), resume.getPageCount());
+    }
+
+    @Test
+    void inflatesFlateStreamsAndSkipsOtherFilters() throws IOException {
+        ExtractedResume resume = extract("flate.pdf", pdf(
+                stream("/Filter /DCTDecode", ascii("(not text) Tj")),
+                stream("/Filter /FlateDecode", deflate(ascii(CONTENT)))));
+
+        assertEquals("Senior Java Developer Spring Boot R\u00e9sum\u00e9 (CV)", resume.getText());
+    }
+
+    @Test
+    void stopsInflatingAtTheLimit() throws IOException {
+        // Highly compressible padding pushes the second string past the inflate limit
+        byte[] padding = new byte[17 << 20];
+        Arrays.fill(padding, (byte) ' ');
+        ByteArrayOutputStream bomb = new ByteArrayOutputStream();
+        bomb.write(ascii("BT (Visible) Tj ET "));
+        bomb.write(padding);
+        bomb.write(ascii("BT (Hidden) Tj ET"));
+        byte[] compressed = deflate(bomb.toByteArray());
+        assertTrue(compressed.length < 100_000);
+
+        ExtractedResume resume = extract("bomb.pdf", pdf(stream("/Filter /FlateDecode", compressed)));
+
+        assertEquals("Visible", resume.getText());
+    }
+
+    @Test
+    void readsTheBodyAndPageCountOfADocx() throws IOException {
+        String document = "<w:document><w:body>"
+                + "<w:p><w:r><w:t>Java &amp; Kotlin</w:t></w:r><w:r><w:tab/><w:t xml:space=\"preserve\">Developer</w:t></w:r></w:p>"
+                + "<w:p><w:r><w:t>Berlin</w:t></w:r></w:p>"
+                + "</w:body></w:document>";
+        ExtractedResume resume = extract("resume.docx", zip(
+                "word/document.xml", ascii(document),
+                "docProps/app.xml", ascii("<Properties><Pages>2</Pages></Properties>")));
+
+        assertEquals("Java & Kotlin Developer\nBerlin", resume.getText());
+        assertEquals(Integer.valueOf(2), resume.getPageCount());
+    }
+
+    @Test
+    void zipWithoutADocumentBodyIsUnsupported() throws IOException {
+        assertNull(extract("other.zip", zip("readme.txt", ascii("hello"))));
+    }
+
+    @Test
+    void rejectsAnOversizedDocxEntry() throws IOException {
+        byte[] document = new byte[17 << 20];
+        Arrays.fill(document, (byte) ' ');
+        Path file = write("large.docx", zip("word/document.xml", document));
+
+        IOException error = assertThrows(IOException.class, () -> extractor.extract(file));
+        assertEquals("Document is too large", error.getMessage());
+    }
+
+    @Test
+    void acceptsUtf8TextOnly() throws IOException {
+        String text = "  D\u00e9veloppeur Java\n";
+        assertEquals("D\u00e9veloppeur Java", extract("utf8.txt", text.getBytes(StandardCharsets.UTF_8)).getText());
+        assertNull(extract("latin1.txt", text.getBytes(StandardCharsets.ISO_8859_1)));
+        assertNull(extract("binary.bin", new byte[] { 'a', 0, 1, 2 }));
+    }
+
+    @Test
+    void truncatesLongText() throws IOException {
+        char[] text = new char[ResumeTextExtractor.MAX_TEXT_CHARS + 10];
+        Arrays.fill(text, 'a');
+        ExtractedResume resume = extract("long.txt", new String(text).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(ResumeTextExtractor.MAX_TEXT_CHARS, resume.getText().length());
+        assertFalse(resume.getText().contains(" "));
+    }
+
+    private ExtractedResume extract(String name, byte[] content) throws IOException {
+        return extractor.extract(write(name, content));
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, content);
+        return file;
+    }
+
+    // A one-page PDF whose content is the given stream objects
+    private static byte[] pdf(byte[]... streams) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ascii("%PDF-1.4\n"
+                + "1 0 obj << /Type /Catalog /Pages 2 0 R >> endobj\n"
+                + "2 0 obj << /Type /Pages /Kids [3 0 R] /Count 1 >> endobj\n"
+                + "3 0 obj << /Type /Page /Parent 2 0 R /Contents 4 0 R >> endobj\n"));
+        for (byte[] stream : streams) {
+            out.write(stream);
+        }
+        out.write(ascii("%%EOF\n"));
+        return out.toByteArray();
+    }
+
+    private static byte[] stream(String filter, byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ascii("4 0 obj << /Length " + data.length + " " + filter + " >>\nstream\r\n"));
+        out.write(data);
+        out.write(ascii("\nendstream\nendobj\n"));
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    // Entries as alternating names and contents
+    private static byte[] zip(Object... entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry((String) entries[i]));
+                zip.write((byte[]) entries[i + 1]);
+                zip.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.jobportal.repositories;
+
+import com.jobportal.models.Application;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ApplicationRepositoryImplTest {
+
+    private MongoTemplate mongoTemplate;
+    private ApplicationRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        repository = new ApplicationRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    void setStatusWritesOnlyStatusAndReturnsThePreviousDocument() {
+        Application before = new Application();
+        before.setStatus("PENDING");
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Application.class))).thenReturn(before);
+
+        assertEquals("PENDING", repository.setStatus("a1", "REVIEWED", "now").getStatus());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), options.capture(), eq(Application.class));
+        Document updateObject = update.getValue().getUpdateObject();
+        assertEquals(Collections.singleton("$set"), updateObject.keySet());
+        assertEquals(new Document("status", "REVIEWED").append("lastUpdated", "now"), updateObject.get("$set"));
+        assertFalse(options.getValue().isReturnNew());
+    }
+
+    @Test
+    void updateStatusCountsWhatEachCurrentStatusReallyLost() {
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Application.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        Map<String, List<String>> idsByStatus = new LinkedHashMap<>();
+        idsByStatus.put("PENDING", Arrays.asList("a1", "a2"));
+        idsByStatus.put("INTERVIEW", Collections.singletonList("a3"));
+        Map<String, Long> moved = repository.updateStatus(idsByStatus, "REJECTED", "now");
+
+        assertEquals(Collections.singletonMap("PENDING", 2L), moved);
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).updateMulti(queries.capture(), any(Update.class), eq(Application.class));
+        assertEquals("PENDING", queries.getAllValues().get(0).getQueryObject().get("status"));
+        assertEquals("INTERVIEW", queries.getAllValues().get(1).getQueryObject().get("status"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.jobportal.repositories;
+
+import com.jobportal.models.Job;
+import com.jobportal.search.JobSearchQuery;
+import com.jobportal.search.SalaryParser;
+import com.jobportal.search.SalaryRange;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobRepositoryImplTest {
+
+    @Test
+    void locationWordsBecomeAnchoredPrefixesOnTheKeys() {
+        JobSearchQuery query = new JobSearchQuery(null, "Berlin, C++ Hub", null, null, null, false);
+        Document criteria = JobRepositoryImpl.searchCriteria(query).getCriteriaObject();
+
+        List<String> patterns = locationPatterns(criteria);
+        assertEquals(Arrays.asList("^berlin", "^c\\+\\+", "^hub"), patterns);
+        assertTrue(Pattern.compile(patterns.get(1)).matcher("c++").lookingAt());
+        assertFalse(criteria.toJson().contains("\"location\""));
+    }
+
+    @Test
+    void salaryOverlapIsLimitedToTheFilterCurrency() {
+        JobSearchQuery euros = new JobSearchQuery(null, null, null, null,
+                Collections.singletonList("\u20AC50k - \u20AC70k"), false);
+        String json = JobRepositoryImpl.searchCriteria(euros).getCriteriaObject().toJson();
+        assertTrue(json.contains("\"salaryCurrency\": {\"$in\": [\"EUR\", null]}"), json);
+
+        JobSearchQuery anyCurrency = new JobSearchQuery(null, null, null, null,
+                Collections.singletonList("50k - 70k"), false);
+        assertFalse(JobRepositoryImpl.searchCriteria(anyCurrency).getCriteriaObject().toJson()
+                .contains("salaryCurrency"));
+    }
+
+    @Test
+    void searchPagesBreakTiesOnId() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Job.class))).thenReturn(Collections.emptyList());
+        JobRepositoryImpl repository = new JobRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+
+        repository.search(new JobSearchQuery(), PageRequest.of(1, 10));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Job.class));
+        Document sort = query.getValue().getSortObject();
+        assertEquals(Arrays.asList("postedDate", "id"), Arrays.asList(sort.keySet().toArray()));
+        assertEquals(-1, sort.get("id"));
+    }
+
+    @Test
+    void searchRejectsSortKeysWithoutAnIndex() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        JobRepositoryImpl repository = new JobRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+
+        assertThrows(RuntimeException.class,
+                () -> repository.search(new JobSearchQuery(), PageRequest.of(0, 10, Sort.by("description"))));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Job.class));
+    }
+
+    @Test
+    void unparseableSalariesAreMarkedWithANullPeriod() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class)).thenReturn(bulk);
+        JobRepositoryImpl repository = new JobRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+
+        Map<String, SalaryRange> ranges = new LinkedHashMap<>();
+        ranges.put("a", SalaryParser.parse("$50k - $70k"));
+        ranges.put("b", null);
+        repository.setSalaryRanges(ranges);
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulk, times(2)).updateOne(queries.capture(), updates.capture());
+        verify(bulk).execute();
+
+        // Only jobs still unparsed are touched, so a concurrent edit is not overwritten
+        Document query = queries.getAllValues().get(1).getQueryObject();
+        assertEquals("b", query.get("id"));
+        assertEquals(new Document("$exists", false), query.get("salaryPeriod"));
+
+        Document parsed = (Document) updates.getAllValues().get(0).getUpdateObject().get("$set");
+        assertEquals("YEAR", parsed.get("salaryPeriod"));
+        assertEquals(50000L, parsed.get("salaryMin"));
+        Document unparsed = (Document) updates.getAllValues().get(1).getUpdateObject().get("$set");
+        assertTrue(unparsed.containsKey("salaryPeriod"));
+        assertNull(unparsed.get("salaryPeriod"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> locationPatterns(Document criteria) {
+        List<Document> filters = (List<Document>) criteria.get("$and");
+        return filters.stream()
+                .filter(filter -> filter.containsKey("locationKeys"))
+                .map(filter -> {
+                    Object value = filter.get("locationKeys");
+                    return value instanceof Pattern ? ((Pattern) value).pattern()
+                            : ((Document) value).get("$regex").toString();
+                })
+                .collect(Collectors.toList());
+    }
+}
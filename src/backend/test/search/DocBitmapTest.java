@@ -0,0 +1,95 @@
+package com.jobportal.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocBitmapTest {
+
+    @Test
+    void countsEachIdOnce() {
+        DocBitmap bitmap = new DocBitmap(10);
+        assertTrue(bitmap.isEmpty());
+
+        bitmap.set(3);
+        bitmap.set(3);
+        bitmap.set(63);
+        bitmap.set(64);
+        assertEquals(3, bitmap.cardinality());
+
+        bitmap.clear(3);
+        bitmap.clear(3);
+        bitmap.clear(5);
+        bitmap.clear(100000);
+        assertEquals(2, bitmap.cardinality());
+        assertFalse(bitmap.isEmpty());
+    }
+
+    @Test
+    void growsPastItsCapacity() {
+        DocBitmap small = new DocBitmap(1);
+        small.set(1000);
+        small.set(0);
+        DocBitmap large = new DocBitmap(2000);
+        large.set(1000);
+        large.set(1999);
+
+        assertEquals(2, small.cardinality());
+        assertEquals(1, small.andCount(large));
+        assertEquals(1, large.andCount(small));
+    }
+
+    @Test
+    void buildsFromAPostingList() {
+        PostingList ids = new PostingList();
+        ids.add(1);
+        ids.add(70);
+        ids.add(130);
+        DocBitmap bitmap = DocBitmap.of(ids, 10);
+        DocBitmap other = new DocBitmap();
+        other.set(70);
+        other.set(71);
+
+        assertEquals(3, bitmap.cardinality());
+        assertEquals(1, bitmap.andCount(other));
+    }
+
+    @Test
+    void matchesBitSetUnderRandomUpdates() {
+        Random random = new Random(11);
+        for (int round = 0; round < 50; round++) {
+            DocBitmap a = new DocBitmap(random.nextInt(300));
+            DocBitmap b = new DocBitmap(random.nextInt(300));
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            for (int i = 0; i < 400; i++) {
+                update(random, a, expectedA);
+                update(random, b, expectedB);
+            }
+            BitSet both = (BitSet) expectedA.clone();
+            both.and(expectedB);
+
+            assertEquals(expectedA.cardinality(), a.cardinality());
+            assertEquals(expectedB.cardinality(), b.cardinality());
+            assertEquals(both.cardinality(), a.andCount(b));
+            assertEquals(both.cardinality(), b.andCount(a));
+        }
+    }
+
+    // Set or clear a random id in both the bitmap and its reference
+    private static void update(Random random, DocBitmap bitmap, BitSet expected) {
+        int id = random.nextInt(500);
+        if (random.nextInt(3) > 0) {
+            bitmap.set(id);
+            expected.set(id);
+        } else {
+            bitmap.clear(id);
+            expected.clear(id);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.jobportal.search;
+
+import com.jobportal.geo.GeoDistance;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoGridTest {
+
+    @Test
+    void findsDocsInsideTheRadius() {
+        GeoGrid grid = new GeoGrid();
+        grid.add(0, 51.5074, -0.1278);   // London
+        grid.add(1, 51.7520, -1.2577);   // Oxford, about 83 km away
+        grid.add(2, 48.8566, 2.3522);    // Paris, about 344 km away
+
+        assertEquals(Arrays.asList(0), ids(grid.within(51.5, -0.12, 10)));
+        assertEquals(Arrays.asList(0, 1), ids(grid.within(51.5, -0.12, 100)));
+        assertEquals(Arrays.asList(0, 1, 2), ids(grid.within(51.5, -0.12, 400)));
+        assertEquals(3, grid.size());
+    }
+
+    @Test
+    void movesAndRemovesDocs() {
+        GeoGrid grid = new GeoGrid();
+        grid.add(4, 51.5074, -0.1278);
+        grid.add(4, 48.8566, 2.3522);
+        assertEquals(1, grid.size());
+        assertTrue(grid.within(51.5, -0.12, 50).isEmpty());
+        assertEquals(Arrays.asList(4), ids(grid.within(48.85, 2.35, 50)));
+
+        grid.remove(4);
+        grid.remove(4);
+        grid.remove(99);
+        assertEquals(0, grid.size());
+        assertTrue(grid.within(48.85, 2.35, 50).isEmpty());
+
+        grid.add(1, 0, 0);
+        grid.clear();
+        assertEquals(0, grid.size());
+        assertTrue(grid.within(0, 0, 100).isEmpty());
+    }
+
+    @Test
+    void searchesAcrossTheDateLineAndThePoles() {
+        GeoGrid grid = new GeoGrid();
+        grid.add(0, 0, 179.95);
+        grid.add(1, 0, -179.95);
+        grid.add(2, 89.9, 0);
+        grid.add(3, 89.9, 180);
+
+        assertEquals(Arrays.asList(0, 1), ids(grid.within(0, 180, 20)));
+        assertEquals(Arrays.asList(2, 3), ids(grid.within(90, 0, 50)));
+    }
+
+    @Test
+    void matchesABruteForceScan() {
+        Random random = new Random(5);
+        GeoGrid grid = new GeoGrid();
+        double[][] points = new double[2000][];
+        for (int id = 0; id < points.length; id++) {
+            // Clustered around a few centres so small radii still find something
+            double latitude = Math.max(-90, Math.min(90, (id % 5) * 30 - 60 + random.nextGaussian() * 3));
+            double longitude = (id % 7) * 50 - 170 + random.nextGaussian() * 3;
+            points[id] = new double[] { latitude, longitude };
+            grid.add(id, latitude, longitude);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            double[] centre = points[random.nextInt(points.length)];
+            double radius = Math.pow(10, random.nextDouble() * 4);
+            List<Integer> expected = new ArrayList<>();
+            for (int id = 0; id < points.length; id++) {
+                if (GeoDistance.km(centre[0], centre[1], points[id][0], points[id][1]) <= radius) {
+                    expected.add(id);
+                }
+            }
+            assertEquals(expected, ids(grid.within(centre[0], centre[1], radius)), "radius " + radius);
+        }
+    }
+
+    private static List<Integer> ids(PostingList list) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            ids.add(list.get(i));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,184 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import com.jobportal.repositories.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobSearchIndexTest {
+
+    private JobRepository jobRepository;
+    private JobSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        index = new JobSearchIndex();
+        ReflectionTestUtils.setField(index, "jobRepository", jobRepository);
+        ReflectionTestUtils.setField(index, "searchEngine", "index");
+    }
+
+    @Test
+    void notReadyUntilFirstRebuild() {
+        assertFalse(index.isReady());
+        when(jobRepository.findByActive(true)).thenReturn(Collections.emptyList());
+        index.rebuild();
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void matchesTermPrefixesAndFilters() {
+        Job java = job("1", "Senior Java Developer", "Berlin", "FULL_TIME");
+        java.setRemote(true);
+        Job js = job("2", "JavaScript Engineer", "Berlin", "CONTRACT");
+        Job chef = job("3", "Chef", "Paris", "FULL_TIME");
+        load(java, js, chef);
+
+        assertEquals(Arrays.asList("1", "2"), ids(search("java", null)));
+        assertEquals(Collections.singletonList("3"), ids(search(null, "paris")));
+
+        JobSearchQuery fullTime = query("java", null);
+        fullTime.setJobTypes(Collections.singletonList("FULL_TIME"));
+        assertEquals(Collections.singletonList("1"), ids(index.search(fullTime)));
+
+        JobSearchQuery remote = query(null, null);
+        remote.setRemote(true);
+        assertEquals(Collections.singletonList("1"), ids(index.search(remote)));
+    }
+
+    @Test
+    void updatesAndRemovalsReplaceEarlierVersions() {
+        load(job("1", "Java Developer", "Berlin", "FULL_TIME"));
+
+        index.index(job("1", "Python Developer", "Berlin", "FULL_TIME"));
+        assertTrue(search("java", null).isEmpty());
+        assertEquals(Collections.singletonList("1"), ids(search("python", null)));
+
+        Job inactive = job("1", "Python Developer", "Berlin", "FULL_TIME");
+        inactive.setActive(false);
+        index.index(inactive);
+        assertTrue(search("python", null).isEmpty());
+
+        index.index(job("2", "Go Developer", "Berlin", "FULL_TIME"));
+        index.remove("2");
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void changesMadeWhileRebuildLoadsAreReplayed() {
+        Job stale = job("1", "Java Developer", "Berlin", "FULL_TIME");
+        Job deleted = job("2", "Go Developer", "Berlin", "FULL_TIME");
+        when(jobRepository.findByActive(true)).thenAnswer(invocation -> {
+            // Writes that land after the snapshot was read
+            index.index(job("1", "Kotlin Developer", "Berlin", "FULL_TIME"));
+            index.remove("2");
+            index.index(job("3", "Rust Developer", "Berlin", "FULL_TIME"));
+            return new ArrayList<>(Arrays.asList(stale, deleted));
+        });
+
+        index.rebuild();
+
+        assertTrue(search("java", null).isEmpty());
+        assertEquals(Collections.singletonList("1"), ids(search("kotlin", null)));
+        assertTrue(search("go", null).isEmpty());
+        assertEquals(Collections.singletonList("3"), ids(search("rust", null)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void keepsItsOwnCopyOfIndexedJobs() {
+        load();
+        Job job = job("1", "Java Developer", "Berlin", "FULL_TIME");
+        index.index(job);
+
+        job.setTitle("Changed Afterwards");
+        job.getRequirements().add("cobol");
+
+        List<Job> found = search("java", null);
+        assertEquals(1, found.size());
+        assertEquals("Java Developer", found.get(0).getTitle());
+        assertTrue(search("cobol", null).isEmpty());
+    }
+
+    @Test
+    void salaryFilterRespectsCurrency() {
+        Job dollars = job("1", "Engineer", "Berlin", "FULL_TIME");
+        dollars.setSalary("$50,000 - $70,000");
+        Job euros = job("2", "Engineer", "Berlin", "FULL_TIME");
+        euros.setSalary("\u20AC50,000 - \u20AC70,000");
+        Job unstated = job("3", "Engineer", "Berlin", "FULL_TIME");
+        unstated.setSalary("50000 - 70000");
+        Job hourly = job("4", "Engineer", "Berlin", "FULL_TIME");
+        hourly.setSalary("\u20AC60 per hour");
+        load(dollars, euros, unstated, hourly);
+
+        assertEquals(Arrays.asList("2", "3"), ids(index.search(salary("\u20AC60k - \u20AC65k"))));
+        assertEquals(Arrays.asList("1", "3"), ids(index.search(salary("$40,000 - $60,000"))));
+        assertEquals(Arrays.asList("1", "2", "3"), ids(index.search(salary("55k-60k"))));
+        assertEquals(Collections.singletonList("4"), ids(index.search(salary("EUR 50-70/hour"))));
+    }
+
+    @Test
+    void fuzzySearchToleratesTypos() {
+        load(job("1", "Java Developer", "Berlin", "FULL_TIME"));
+
+        JobSearchQuery typo = query("developr", null);
+        assertTrue(index.search(typo).isEmpty());
+        typo.setFuzzy(true);
+        assertEquals(Collections.singletonList("1"), ids(index.search(typo)));
+    }
+
+    @Test
+    void countsFacetsOverMatches() {
+        Job remote = job("1", "Java Developer", "Berlin", "FULL_TIME");
+        remote.setRemote(true);
+        load(remote, job("2", "Java Architect", "Berlin", "CONTRACT"), job("3", "Chef", "Paris", "FULL_TIME"));
+
+        JobSearchIndex.SearchResult result = index.searchWithFacets(query("java", null));
+        assertEquals(2, result.getJobs().size());
+        assertEquals(Integer.valueOf(1), result.getFacets().get(JobSearchIndex.FACET_JOB_TYPE).get("FULL_TIME"));
+        assertEquals(Integer.valueOf(1), result.getFacets().get(JobSearchIndex.FACET_JOB_TYPE).get("CONTRACT"));
+        assertEquals(Integer.valueOf(1), result.getFacets().get(JobSearchIndex.FACET_REMOTE).get("true"));
+        assertEquals(Integer.valueOf(1), result.getFacets().get(JobSearchIndex.FACET_REMOTE).get("false"));
+    }
+
+    private void load(Job... jobs) {
+        when(jobRepository.findByActive(true)).thenReturn(new ArrayList<>(Arrays.asList(jobs)));
+        index.rebuild();
+    }
+
+    private List<Job> search(String text, String location) {
+        return index.search(query(text, location));
+    }
+
+    private static JobSearchQuery salary(String range) {
+        return new JobSearchQuery(null, null, null, null, Collections.singletonList(range), false);
+    }
+
+    private static JobSearchQuery query(String text, String location) {
+        return new JobSearchQuery(text, location, null, null, null, false);
+    }
+
+    private static List<String> ids(List<Job> jobs) {
+        return jobs.stream().map(Job::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static Job job(String id, String title, String location, String type) {
+        Job job = new Job(title, "Acme", "employer", location, type, "", null);
+        job.setId(id);
+        return job;
+    }
+}
@@ -0,0 +1,62 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JobSortTest {
+
+    @Test
+    void defaultsToNewestFirst() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "postedDate", "id"), JobSort.of(Sort.unsorted()));
+    }
+
+    @Test
+    void appendsTheIdAndSpellsItTheSameWayEachTime() {
+        assertEquals(Sort.by(Sort.Order.asc("postedDate"), Sort.Order.desc("id")),
+                     JobSort.of(Sort.by(Sort.Direction.ASC, "postedDate")));
+        assertEquals(Sort.by(Sort.Order.asc("id")), JobSort.of(Sort.by(Sort.Direction.ASC, "_id", "postedDate")));
+    }
+
+    @Test
+    void rejectsKeysWithoutAnIndex() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> JobSort.of(Sort.by("postedDate").and(Sort.by("description"))));
+        assertEquals("Cannot sort by description; use postedDate or id", e.getMessage());
+        assertThrows(RuntimeException.class, () -> JobSort.comparator(Sort.by("salaryMin")));
+    }
+
+    @Test
+    void ordersJobsInMemoryTheWayMongoDoes() {
+        List<Job> jobs = new ArrayList<>(Arrays.asList(job("a", "2024-02"), job("b", null), job("c", "2024-01"),
+                                                       job("d", "2024-02")));
+
+        jobs.sort(JobSort.comparator(Sort.unsorted()));
+        assertEquals("d a c b", ids(jobs));
+
+        jobs.sort(JobSort.comparator(Sort.by(Sort.Direction.ASC, "postedDate")));
+        assertEquals("b c d a", ids(jobs));
+
+        jobs.sort(JobSort.comparator(Sort.by(Sort.Direction.ASC, "_id")));
+        assertEquals("a b c d", ids(jobs));
+    }
+
+    private static Job job(String id, String postedDate) {
+        Job job = new Job();
+        job.setId(id);
+        job.setPostedDate(postedDate);
+        return job;
+    }
+
+    private static String ids(List<Job> jobs) {
+        return jobs.stream().map(Job::getId).collect(Collectors.joining(" "));
+    }
+}
@@ -0,0 +1,118 @@
+package com.jobportal.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingListTest {
+
+    @Test
+    void keepsIdsSortedAndUnique() {
+        PostingList list = new PostingList(1);
+        for (int id : new int[] { 5, 1, 9, 5, 3, 9, 10 }) {
+            list.add(id);
+        }
+        assertArrayEquals(new int[] { 1, 3, 5, 9, 10 }, list.toArray());
+        assertTrue(list.contains(9));
+
+        list.remove(9);
+        list.remove(42);
+        assertArrayEquals(new int[] { 1, 3, 5, 10 }, list.toArray());
+        assertFalse(list.contains(9));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    void buildsFromUnsortedIds() {
+        assertArrayEquals(new int[] { 2, 4, 7 }, PostingList.fromUnsorted(new int[] { 7, 2, 4, 2, 7, 99 }, 5).toArray());
+        assertTrue(PostingList.fromUnsorted(new int[0], 0).isEmpty());
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        PostingList list = list(1, 2);
+        PostingList copy = list.copy();
+        copy.add(3);
+        assertArrayEquals(new int[] { 1, 2 }, list.toArray());
+        assertArrayEquals(new int[] { 1, 2, 3 }, copy.toArray());
+    }
+
+    @Test
+    void intersectsAndUnites() {
+        PostingList a = list(1, 3, 5, 7);
+        PostingList b = list(3, 4, 5, 8);
+        PostingList c = list(0, 8, 9);
+
+        assertArrayEquals(new int[] { 3, 5 }, PostingList.intersect(a, b).toArray());
+        assertTrue(PostingList.intersect(a, c).isEmpty());
+        assertArrayEquals(new int[] { 0, 1, 3, 4, 5, 7, 8, 9 }, PostingList.union(Arrays.asList(a, b, c)).toArray());
+        assertTrue(PostingList.union(Collections.<PostingList>emptyList()).isEmpty());
+
+        // A single list comes back as a copy the caller may change
+        PostingList single = PostingList.union(Collections.singletonList(a));
+        single.add(100);
+        assertFalse(a.contains(100));
+    }
+
+    @Test
+    void matchesSortedSets() {
+        Random random = new Random(13);
+        for (int round = 0; round < 100; round++) {
+            List<PostingList> lists = new ArrayList<>();
+            List<TreeSet<Integer>> sets = new ArrayList<>();
+            for (int k = 0; k < 3; k++) {
+                PostingList list = new PostingList();
+                TreeSet<Integer> set = new TreeSet<>();
+                for (int i = random.nextInt(60); i > 0; i--) {
+                    int id = random.nextInt(100);
+                    if (random.nextInt(4) == 0) {
+                        list.remove(id);
+                        set.remove(id);
+                    } else {
+                        list.add(id);
+                        set.add(id);
+                    }
+                }
+                assertEquals(new ArrayList<>(set), ids(list));
+                lists.add(list);
+                sets.add(set);
+            }
+
+            TreeSet<Integer> common = new TreeSet<>(sets.get(0));
+            common.retainAll(sets.get(1));
+            assertEquals(new ArrayList<>(common), ids(PostingList.intersect(lists.get(0), lists.get(1))));
+
+            TreeSet<Integer> all = new TreeSet<>();
+            sets.forEach(all::addAll);
+            assertEquals(new ArrayList<>(all), ids(PostingList.union(lists)));
+        }
+    }
+
+    private static PostingList list(int... ids) {
+        PostingList list = new PostingList();
+        for (int id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    private static List<Integer> ids(PostingList list) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id : list.toArray()) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
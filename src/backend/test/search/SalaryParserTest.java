@@ -0,0 +1,53 @@
+package com.jobportal.search;
+
+import com.jobportal.models.Job;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SalaryParserTest {
+
+    @Test
+    void parsesRangesWithSeparatorsAndSuffixes() {
+        assertRange(SalaryParser.parse("$120,000 - $150,000"), 120_000, 150_000, "USD", SalaryRange.PERIOD_YEAR);
+        assertRange(SalaryParser.parse("50k-70k EUR"), 50_000, 70_000, "EUR", SalaryRange.PERIOD_YEAR);
+        assertRange(SalaryParser.parse("50-70k"), 50_000, 70_000, null, SalaryRange.PERIOD_YEAR);
+        assertRange(SalaryParser.parse("\u00A345,000"), 45_000, 45_000, "GBP", SalaryRange.PERIOD_YEAR);
+        assertRange(SalaryParser.parse("INR 8,00,000 - 12,00,000"), 800_000, 1_200_000, "INR", SalaryRange.PERIOD_YEAR);
+    }
+
+    @Test
+    void parsesPeriodsAndOpenBands() {
+        assertRange(SalaryParser.parse("$35/hour"), 35, 35, "USD", SalaryRange.PERIOD_HOUR);
+        assertRange(SalaryParser.parse("\u20AC4,000 per month"), 4_000, 4_000, "EUR", SalaryRange.PERIOD_MONTH);
+        assertRange(SalaryParser.parse("Below $40,000"), 0, 40_000, "USD", SalaryRange.PERIOD_YEAR);
+        assertRange(SalaryParser.parse("Above $100,000"), 100_000, SalaryRange.UNBOUNDED, "USD",
+                    SalaryRange.PERIOD_YEAR);
+    }
+
+    @Test
+    void returnsNullWithoutAnAmount() {
+        assertNull(SalaryParser.parse(null));
+        assertNull(SalaryParser.parse("  "));
+        assertNull(SalaryParser.parse("Competitive"));
+    }
+
+    @Test
+    void prefersStoredFieldsOverText() {
+        Job job = new Job();
+        job.setSalary("$1 - $2");
+        job.setSalaryMin(10L);
+        job.setSalaryMax(20L);
+        job.setSalaryCurrency("EUR");
+        job.setSalaryPeriod(SalaryRange.PERIOD_DAY);
+        assertRange(SalaryParser.of(job), 10, 20, "EUR", SalaryRange.PERIOD_DAY);
+    }
+
+    private static void assertRange(SalaryRange range, long min, long max, String currency, String period) {
+        assertEquals(min, range.getMin());
+        assertEquals(max, range.getMax());
+        assertEquals(currency, range.getCurrency());
+        assertEquals(period, range.getPeriod());
+    }
+}
@@ -0,0 +1,49 @@
+package com.jobportal.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SalaryRangeIndexTest {
+
+    @Test
+    void overlappingMatchesBruteForce() {
+        Random random = new Random(42);
+        SalaryRangeIndex index = new SalaryRangeIndex();
+        long[][] bands = new long[2000][];
+        for (int docId = 0; docId < bands.length; docId++) {
+            long min = random.nextInt(200_000);
+            long max = random.nextInt(10) == 0 ? SalaryRange.UNBOUNDED : min + random.nextInt(80_000);
+            bands[docId] = new long[] {min, max};
+            index.add(docId, min, max);
+        }
+        for (int docId = 0; docId < bands.length; docId += 7) {
+            index.remove(docId);
+            bands[docId] = null;
+        }
+
+        for (int i = 0; i < 200; i++) {
+            long lo = random.nextInt(250_000);
+            long hi = random.nextInt(5) == 0 ? SalaryRange.UNBOUNDED : lo + random.nextInt(50_000);
+            List<Integer> expected = new ArrayList<>();
+            for (int docId = 0; docId < bands.length; docId++) {
+                if (bands[docId] != null && bands[docId][0] <= hi && bands[docId][1] >= lo) {
+                    expected.add(docId);
+                }
+            }
+            assertEquals(expected, toList(index.overlapping(lo, hi)));
+        }
+    }
+
+    private static List<Integer> toList(PostingList list) {
+        List<Integer> result = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            result.add(list.get(i));
+        }
+        return result;
+    }
+}
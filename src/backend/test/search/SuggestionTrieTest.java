@@ -0,0 +1,116 @@
+package com.jobportal.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionTrieTest {
+
+    // First key of every entry added, for the brute-force comparison
+    private final Map<SuggestionTrie.Entry, String> keys = new IdentityHashMap<>();
+
+    @Test
+    void returnsHeaviestEntriesUnderThePrefix() {
+        SuggestionTrie trie = new SuggestionTrie(3);
+        add(trie, "Java Developer", 5, "java developer");
+        add(trie, "JavaScript Engineer", 9, "javascript engineer");
+        add(trie, "Janitor", 1, "janitor");
+        add(trie, "Chef", 50, "chef");
+
+        assertEquals(Arrays.asList("JavaScript Engineer", "Java Developer", "Janitor"), texts(trie.lookup("ja", 10)));
+        assertEquals(Arrays.asList("JavaScript Engineer", "Java Developer"), texts(trie.lookup("java", 10)));
+        assertEquals(Collections.singletonList("JavaScript Engineer"), texts(trie.lookup("ja", 1)));
+        assertTrue(trie.lookup("x", 10).isEmpty());
+    }
+
+    @Test
+    void reordersAndRemovesOnWeightChanges() {
+        SuggestionTrie trie = new SuggestionTrie(3);
+        SuggestionTrie.Entry developer = add(trie, "Java Developer", 5, "java developer");
+        SuggestionTrie.Entry engineer = add(trie, "Java Engineer", 3, "java engineer");
+
+        engineer.addWeight(10);
+        trie.update(engineer);
+        assertEquals(Arrays.asList("Java Engineer", "Java Developer"), texts(trie.lookup("java", 10)));
+
+        developer.addWeight(-5);
+        trie.update(developer);
+        assertEquals(Collections.singletonList("Java Engineer"), texts(trie.lookup("java", 10)));
+        assertTrue(trie.lookup("java d", 10).isEmpty());
+    }
+
+    @Test
+    void listsAnEntryOnceAcrossItsKeys() {
+        SuggestionTrie trie = new SuggestionTrie(5);
+        add(trie, "Senior Java Developer", 4, "senior java developer", "java developer", "developer");
+        add(trie, "Dev Ops", 2, "dev ops");
+
+        assertEquals(Arrays.asList("Senior Java Developer", "Dev Ops"), texts(trie.lookup("de", 10)));
+        assertEquals(Collections.singletonList("Senior Java Developer"), texts(trie.lookup("java", 10)));
+    }
+
+    @Test
+    void checksPrefixesLongerThanTheKeyLimitAgainstTheFullKey() {
+        SuggestionTrie trie = new SuggestionTrie(5);
+        String common = "principal software engineer for distributed ";
+        add(trie, "A", 2, common + "systems");
+        add(trie, "B", 1, common + "storage");
+
+        assertEquals(Arrays.asList("A", "B"), texts(trie.lookup(common, 10)));
+        assertEquals(Collections.singletonList("B"), texts(trie.lookup(common + "sto", 10)));
+    }
+
+    @Test
+    void matchesBruteForceAfterRandomUpdates() {
+        Random random = new Random(42);
+        SuggestionTrie trie = new SuggestionTrie(4);
+        List<SuggestionTrie.Entry> entries = new ArrayList<>();
+        String[] words = {"ab", "abc", "abd", "b", "ba", "bab", "c"};
+        for (int i = 0; i < 40; i++) {
+            String key = words[random.nextInt(words.length)] + i;
+            entries.add(add(trie, "e" + i, 1 + random.nextInt(20), key));
+        }
+        for (int round = 0; round < 200; round++) {
+            SuggestionTrie.Entry entry = entries.get(random.nextInt(entries.size()));
+            entry.addWeight(random.nextInt(11) - 5);
+            trie.update(entry);
+        }
+
+        for (String prefix : new String[] {"", "a", "ab", "abc", "b", "ba", "c", "z"}) {
+            List<String> expected = entries.stream()
+                    .filter(entry -> entry.getWeight() > 0)
+                    .filter(entry -> keyOf(entry).startsWith(prefix))
+                    .sorted()
+                    .limit(4)
+                    .map(SuggestionTrie.Entry::getText)
+                    .collect(Collectors.toList());
+            assertEquals(expected, texts(trie.lookup(prefix, 10)), "prefix " + prefix);
+        }
+    }
+
+    private SuggestionTrie.Entry add(SuggestionTrie trie, String text, long weight, String... entryKeys) {
+        SuggestionTrie.Entry entry = new SuggestionTrie.Entry(text, Arrays.asList(entryKeys));
+        entry.addWeight(weight);
+        trie.update(entry);
+        keys.put(entry, entryKeys[0]);
+        return entry;
+    }
+
+    private String keyOf(SuggestionTrie.Entry entry) {
+        return keys.get(entry);
+    }
+
+    private static List<String> texts(List<SuggestionTrie.Entry> entries) {
+        return entries.stream().map(SuggestionTrie.Entry::getText).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,32 @@
+package com.jobportal.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenizerTest {
+
+    @Test
+    void splitsOnPunctuationAndLowerCases() {
+        assertEquals(Arrays.asList("senior", "java", "developer", "remote"),
+                Tokenizer.tokenize("Senior Java-Developer (remote)"));
+        assertEquals(Arrays.asList("c++", "c#", "node", "js", "2024"), Tokenizer.tokenize("C++, C#; Node.js 2024"));
+        assertEquals(Arrays.asList("caf\u00e9"), Tokenizer.tokenize("  CAF\u00c9!  "));
+    }
+
+    @Test
+    void emptyInputHasNoTerms() {
+        assertTrue(Tokenizer.tokenize(null).isEmpty());
+        assertTrue(Tokenizer.tokenize("").isEmpty());
+        assertTrue(Tokenizer.tokenize(" -/- ").isEmpty());
+    }
+
+    @Test
+    void normalizesWholeValues() {
+        assertEquals("new york", Tokenizer.normalize("  New York "));
+        assertEquals("", Tokenizer.normalize(null));
+    }
+}
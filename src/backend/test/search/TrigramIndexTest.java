@@ -0,0 +1,106 @@
+package com.jobportal.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    @Test
+    void findsTermsWithinTheEditDistance() {
+        TrigramIndex index = index("developer", "designer", "engineer", "java", "javascript");
+
+        assertEquals(Collections.singletonList("developer"), index.similar("developr", 1));
+        assertEquals(Collections.singletonList("developer"), index.similar("devloper", 1));
+        assertEquals(Collections.singletonList("engineer"), index.similar("enginere", 2));
+        assertEquals(Collections.singletonList("java"), index.similar("java", 0));
+        assertTrue(index.similar("developr", 0).isEmpty());
+        assertTrue(index.similar("plumber", 2).isEmpty());
+    }
+
+    @Test
+    void shortQueriesMatchTermsSharingNoTrigram() {
+        TrigramIndex index = index("aaa", "sql", "go", "python");
+
+        assertEquals(Collections.singletonList("aaa"), index.similar("aea", 1));
+        assertEquals(Collections.singletonList("sql"), index.similar("sqk", 1));
+        assertEquals(Collections.singletonList("python"), index.similar("pyhton", 2));
+    }
+
+    @Test
+    void forgetsRemovedTermsAndReusesTheirIds() {
+        TrigramIndex index = index("developer", "designer");
+        index.remove("developer");
+        index.remove("unknown");
+
+        assertEquals(1, index.size());
+        assertTrue(index.similar("developr", 1).isEmpty());
+
+        index.add("developers");
+        index.add("designer");
+        assertEquals(2, index.size());
+        assertEquals(Collections.singletonList("developers"), index.similar("developer", 1));
+        assertEquals(Collections.singletonList("designer"), index.similar("desginer", 2));
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.similar("designer", 2).isEmpty());
+    }
+
+    @Test
+    void editDistanceStopsPastTheBound() {
+        assertEquals(0, TrigramIndex.editDistance("java", "java", 2));
+        assertEquals(1, TrigramIndex.editDistance("java", "jave", 2));
+        assertEquals(2, TrigramIndex.editDistance("kitten", "sittin", 2));
+        assertEquals(3, TrigramIndex.editDistance("kitten", "sitting", 2));
+        assertEquals(3, TrigramIndex.editDistance("a", "abcd", 2));
+        assertEquals(1, TrigramIndex.editDistance("", "a", 1));
+    }
+
+    @Test
+    void matchesABruteForceScan() {
+        Random random = new Random(7);
+        List<String> vocabulary = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            vocabulary.add(randomWord(random, 3 + random.nextInt(6)));
+        }
+        TrigramIndex index = new TrigramIndex();
+        vocabulary.forEach(index::add);
+
+        for (int i = 0; i < 200; i++) {
+            String query = randomWord(random, 3 + random.nextInt(6));
+            int maxDistance = 1 + random.nextInt(2);
+            Set<String> expected = new HashSet<>();
+            for (String term : vocabulary) {
+                if (TrigramIndex.editDistance(query, term, maxDistance) <= maxDistance) {
+                    expected.add(term);
+                }
+            }
+            assertEquals(expected, new HashSet<>(index.similar(query, maxDistance)), query);
+        }
+    }
+
+    private static TrigramIndex index(String... terms) {
+        TrigramIndex index = new TrigramIndex();
+        Arrays.stream(terms).forEach(index::add);
+        return index;
+    }
+
+    // Small alphabet so random words often land within a couple of edits of each other
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append("abcde".charAt(random.nextInt(5)));
+        }
+        return word.toString();
+    }
+}
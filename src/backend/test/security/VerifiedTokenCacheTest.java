@@ -0,0 +1,68 @@
+package com.jobportal.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 10);
+    }
+
+    @Test
+    void returnsTheCachedAuthenticationUntilTheTokenExpires() {
+        Authentication authentication = authentication("alice");
+        cache.put("token-a", authentication, System.currentTimeMillis() + 60000);
+        cache.put("token-b", authentication("bob"), System.currentTimeMillis() - 1);
+
+        assertSame(authentication, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+        assertNull(cache.get("unknown"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void staysWithinItsBound() {
+        long expiresAt = System.currentTimeMillis() + 60000;
+        for (int i = 0; i < 25; i++) {
+            cache.put("token-" + i, authentication("user" + i), expiresAt);
+        }
+        assertEquals(10, cache.size());
+        // The newest token is always kept
+        assertNotNull(cache.get("token-24"));
+    }
+
+    @Test
+    void cachesNothingWhenDisabled() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 0);
+        cache.put("token-a", authentication("alice"), System.currentTimeMillis() + 60000);
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    void keepsTokensThatDifferOnlyInNonAsciiCharactersApart() {
+        long expiresAt = System.currentTimeMillis() + 60000;
+        Authentication alice = authentication("alice");
+        cache.put("token-\u00e9", alice, expiresAt);
+
+        assertSame(alice, cache.get("token-\u00e9"));
+        assertNull(cache.get("token-\u00e8"));
+        assertNull(cache.get("token-?"));
+    }
+
+    private static Authentication authentication(String user) {
+        return new UsernamePasswordAuthenticationToken(user, null);
+    }
+}
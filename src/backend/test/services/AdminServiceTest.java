@@ -0,0 +1,88 @@
+package com.jobportal.services;
+
+import com.jobportal.cache.JobCache;
+import com.jobportal.matching.MatchingEngine;
+import com.jobportal.models.Job;
+import com.jobportal.repositories.JobRepository;
+import com.jobportal.search.JobSearchIndex;
+import com.jobportal.search.SuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdminServiceTest {
+
+    private JobRepository jobRepository;
+    private JobSearchIndex jobSearchIndex;
+    private StatisticsService statisticsService;
+    private AdminService adminService;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        jobSearchIndex = mock(JobSearchIndex.class);
+        statisticsService = mock(StatisticsService.class);
+
+        adminService = new AdminService();
+        ReflectionTestUtils.setField(adminService, "jobRepository", jobRepository);
+        ReflectionTestUtils.setField(adminService, "jobSearchIndex", jobSearchIndex);
+        ReflectionTestUtils.setField(adminService, "suggestionIndex", mock(SuggestionIndex.class));
+        ReflectionTestUtils.setField(adminService, "jobCache", mock(JobCache.class));
+        ReflectionTestUtils.setField(adminService, "matchingEngine", mock(MatchingEngine.class));
+        ReflectionTestUtils.setField(adminService, "recommendationService", mock(RecommendationService.class));
+        ReflectionTestUtils.setField(adminService, "statisticsService", statisticsService);
+    }
+
+    @Test
+    void movesCountersWhenTheFlagFlips() {
+        Job before = job(true);
+        when(jobRepository.setActive("j1", false)).thenReturn(before);
+
+        Job moderated = adminService.moderateJob("j1", false);
+
+        assertFalse(moderated.isActive());
+        verify(statisticsService).jobModerated(true, false);
+        verify(jobSearchIndex).index(moderated);
+    }
+
+    @Test
+    void losingAConcurrentModerationChangesNothing() {
+        // The other moderation already deactivated the job, so this one matches no document
+        when(jobRepository.setActive("j1", false)).thenReturn(null);
+        when(jobRepository.findById("j1")).thenReturn(Optional.of(job(false)));
+
+        Job moderated = adminService.moderateJob("j1", false);
+
+        assertFalse(moderated.isActive());
+        verify(statisticsService, never()).jobModerated(anyBoolean(), anyBoolean());
+        verify(jobSearchIndex, never()).index(any(Job.class));
+    }
+
+    @Test
+    void unknownJobIsRejected() {
+        when(jobRepository.setActive("missing", true)).thenReturn(null);
+        when(jobRepository.findById("missing")).thenReturn(Optional.empty());
+
+        RuntimeException error = assertThrows(RuntimeException.class, () -> adminService.moderateJob("missing", true));
+        assertEquals("Job not found", error.getMessage());
+    }
+
+    private static Job job(boolean active) {
+        Job job = new Job();
+        job.setId("j1");
+        job.setActive(active);
+        return job;
+    }
+}
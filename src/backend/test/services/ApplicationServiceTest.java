@@ -0,0 +1,90 @@
+package com.jobportal.services;
+
+import com.jobportal.cache.JobOwnershipIndex;
+import com.jobportal.dto.BulkStatusRequest;
+import com.jobportal.dto.BulkStatusResponse;
+import com.jobportal.models.Application;
+import com.jobportal.repositories.ApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ApplicationServiceTest {
+
+    private ApplicationRepository applicationRepository;
+    private ApplicationService applicationService;
+
+    @BeforeEach
+    void setUp() {
+        applicationRepository = mock(ApplicationRepository.class);
+        applicationService = new ApplicationService();
+        ReflectionTestUtils.setField(applicationService, "applicationRepository", applicationRepository);
+        ReflectionTestUtils.setField(applicationService, "jobOwnershipIndex", mock(JobOwnershipIndex.class));
+        ReflectionTestUtils.setField(applicationService, "statisticsService", mock(StatisticsService.class));
+    }
+
+    @Test
+    void jobFilterReportsApplicationsLeftPastTheLimit() {
+        stubJobApplications(ApplicationService.MAX_BULK_UPDATE + 1);
+
+        BulkStatusResponse response = applicationService.updateApplicationStatuses(rejectAll(), "employer");
+
+        assertTrue(response.isTruncated());
+        assertEquals(ApplicationService.MAX_BULK_UPDATE, response.getResults().size());
+        assertEquals(ApplicationService.MAX_BULK_UPDATE, response.getUpdated());
+    }
+
+    @Test
+    void jobFilterWithinTheLimitIsComplete() {
+        stubJobApplications(3);
+
+        BulkStatusResponse response = applicationService.updateApplicationStatuses(rejectAll(), "employer");
+
+        assertFalse(response.isTruncated());
+        assertEquals(3, response.getUpdated());
+    }
+
+    private static BulkStatusRequest rejectAll() {
+        BulkStatusRequest request = new BulkStatusRequest();
+        request.setJobId("job1");
+        request.setStatus("REJECTED");
+        return request;
+    }
+
+    // The repository returns up to the limit it is asked for, out of count matching applications
+    private void stubJobApplications(int count) {
+        when(applicationRepository.findStatusesByJobId(eq("job1"), isNull(), eq("REJECTED"), anyInt()))
+                .thenAnswer(call -> {
+                    int limit = call.getArgument(3);
+                    List<Application> applications = new ArrayList<>();
+                    for (int i = 0; i < Math.min(count, limit); i++) {
+                        Application application = new Application();
+                        application.setId("a" + i);
+                        application.setJobId("job1");
+                        application.setStatus("PENDING");
+                        applications.add(application);
+                    }
+                    return applications;
+                });
+        when(applicationRepository.updateStatus(anyMap(), anyString(), anyString())).thenAnswer(call -> {
+            Map<String, List<String>> idsByStatus = call.getArgument(0);
+            return Collections.singletonMap("PENDING", (long) idsByStatus.get("PENDING").size());
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.jobportal.services;
+
+import com.jobportal.models.Application;
+import com.jobportal.storage.ResumeStore;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DuplicateApplicationMigrationTest {
+
+    private MongoTemplate mongoTemplate;
+    private ResumeStore resumeStore;
+    private StatisticsService statisticsService;
+    private IndexOperations indexOps;
+    private DuplicateApplicationMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        resumeStore = mock(ResumeStore.class);
+        statisticsService = mock(StatisticsService.class);
+        indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(Application.class)).thenReturn(indexOps);
+        when(mongoTemplate.remove(any(Query.class), eq(Application.class))).thenReturn(DeleteResult.acknowledged(1));
+
+        migration = new DuplicateApplicationMigration();
+        ReflectionTestUtils.setField(migration, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(migration, "resumeStore", resumeStore);
+        ReflectionTestUtils.setField(migration, "statisticsService", statisticsService);
+    }
+
+    @Test
+    void keepsOldestApplicationAndReleasesTheOthers() {
+        duplicates(Arrays.asList(
+                application("oldest", "PENDING", "blob-1"),
+                application("second", "REVIEWED", "blob-2"),
+                application("third", "PENDING", null)));
+
+        migration.migrate();
+
+        ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).remove(removed.capture(), eq(Application.class));
+        assertEquals("second", removed.getAllValues().get(0).getQueryObject().get("id"));
+        assertEquals("third", removed.getAllValues().get(1).getQueryObject().get("id"));
+        verify(resumeStore).release("blob-2");
+        verify(resumeStore).release(null);
+        verify(resumeStore, never()).release("blob-1");
+        verify(statisticsService, times(2)).applicationDeleted(any(Application.class));
+
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOps).ensureIndex(index.capture());
+        assertEquals(DuplicateApplicationMigration.INDEX_NAME, index.getValue().getIndexOptions().get("name"));
+        assertEquals(Boolean.TRUE, index.getValue().getIndexOptions().get("unique"));
+    }
+
+    @Test
+    void doesNothingOnceTheUniqueIndexExists() {
+        when(indexOps.getIndexInfo()).thenReturn(Collections.singletonList(
+                new IndexInfo(Collections.emptyList(), DuplicateApplicationMigration.INDEX_NAME, true, false, "")));
+
+        migration.migrate();
+
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Application.class), eq(Document.class));
+        verify(indexOps, never()).ensureIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    void skipsRowsSomebodyElseDeleted() {
+        duplicates(Arrays.asList(application("oldest", "PENDING", "blob-1"), application("gone", "PENDING", "blob-2")));
+        when(mongoTemplate.remove(any(Query.class), eq(Application.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        assertEquals(0, migration.removeDuplicates());
+        verify(resumeStore, never()).release(any());
+        verify(statisticsService, never()).applicationDeleted(any(Application.class));
+    }
+
+    @Test
+    void reportsAnIndexThatCannotBeBuilt() {
+        duplicates(Collections.<Document>emptyList());
+        when(indexOps.ensureIndex(any(IndexDefinition.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+        RuntimeException e = assertThrows(RuntimeException.class, migration::migrate);
+        assertTrue(e.getMessage().contains(DuplicateApplicationMigration.INDEX_NAME));
+    }
+
+    // A single duplicated (userId, jobId) group, or no group for an empty list
+    private void duplicates(List<Document> applications) {
+        List<Document> groups = applications.isEmpty()
+                ? Collections.<Document>emptyList()
+                : Collections.singletonList(new Document("count", applications.size()).append("applications", applications));
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Application.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(groups, new Document()));
+    }
+
+    private static Document application(String id, String status, String resumeId) {
+        return new Document("id", id).append("status", status).append("resumeId", resumeId);
+    }
+}
@@ -0,0 +1,196 @@
+package com.jobportal.services;
+
+import com.jobportal.cache.JobCache;
+import com.jobportal.matching.MatchingEngine;
+import com.jobportal.models.Application;
+import com.jobportal.models.Job;
+import com.jobportal.models.RecommendationFeed;
+import com.jobportal.models.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RecommendationServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private MatchingEngine matchingEngine;
+    private RecommendationService service;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        matchingEngine = mock(MatchingEngine.class);
+        when(matchingEngine.userSkills(anyString())).thenReturn(new int[0]);
+        when(matchingEngine.jobSkills(anyString())).thenReturn(new int[0]);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(RecommendationFeed.class)))
+                .thenReturn(mock(BulkOperations.class));
+        when(mongoTemplate.stream(any(Query.class), eq(User.class))).thenAnswer(call -> iterator(Collections.emptyList()));
+        when(mongoTemplate.stream(any(Query.class), eq(Application.class)))
+                .thenAnswer(call -> iterator(Collections.emptyList()));
+
+        service = new RecommendationService();
+        ReflectionTestUtils.setField(service, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(service, "matchingEngine", matchingEngine);
+        ReflectionTestUtils.setField(service, "jobCache", mock(JobCache.class));
+        ReflectionTestUtils.setField(service, "feedSize", 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void jobsPostedDuringTheLoadAreKept() {
+        when(mongoTemplate.stream(any(Query.class), eq(Job.class))).thenAnswer(call -> {
+            // Posted, and a listed job removed, after the load started reading
+            service.jobsPosted(Collections.singletonList(job("posted")));
+            service.jobRemoved("removed");
+            drainUpdates();
+            return iterator(Arrays.asList(job("listed"), job("removed")));
+        });
+
+        service.rebuild();
+
+        Map<?, ?> jobs = (Map<?, ?>) ReflectionTestUtils.getField(service, "jobs");
+        assertEquals(2, jobs.size());
+        assertTrue(jobs.containsKey("listed"));
+        assertTrue(jobs.containsKey("posted"));
+    }
+
+    @Test
+    void firstFeedIsComputedInTheBackground() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(mongoTemplate.stream(any(Query.class), eq(Job.class))).thenAnswer(call -> {
+            release.await(5, TimeUnit.SECONDS);
+            return iterator(Collections.singletonList(job("j1")));
+        });
+
+        // Neither request waits for the scoring, and the feed is only queued once
+        assertTrue(service.getRecommendations("u1", 10).isEmpty());
+        assertTrue(service.getRecommendations("u1", 10).isEmpty());
+        verify(mongoTemplate, never()).save(any(RecommendationFeed.class));
+
+        release.countDown();
+        verify(mongoTemplate, timeout(5000)).save(any(RecommendationFeed.class));
+        drainUpdates();
+        verify(mongoTemplate, times(1)).save(any(RecommendationFeed.class));
+    }
+
+    @Test
+    void aFullFeedOnlyTakesJobsThatBeatItsNewFloor() throws Exception {
+        ReflectionTestUtils.setField(service, "feedSize", 2);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(RecommendationFeed.class))).thenReturn(bulk);
+        when(mongoTemplate.stream(any(Query.class), eq(Job.class))).thenAnswer(call -> iterator(Collections.emptyList()));
+        when(mongoTemplate.stream(any(Query.class), eq(User.class)))
+                .thenAnswer(call -> iterator(Collections.singletonList(user("u1"))));
+        when(matchingEngine.userSkills("u1")).thenReturn(new int[] {1, 2, 3, 4});
+        when(matchingEngine.jobSkills("a")).thenReturn(new int[] {1});
+        when(matchingEngine.jobSkills("b")).thenReturn(new int[] {1, 9});
+        when(matchingEngine.jobSkills("c")).thenReturn(new int[] {1, 7, 8, 9});
+        service.rebuild();
+
+        service.jobsPosted(Arrays.asList(job("a"), job("b")));
+        // Scores lower than both entries now in the feed
+        service.jobsPosted(Collections.singletonList(job("c")));
+        drainUpdates();
+
+        // One upsert from the rebuild, one for the push of a and b, none for c
+        verify(bulk, times(2)).upsert(any(Query.class), any(Update.class));
+    }
+
+    @Test
+    void applicationsDuringARebuildLeaveTheFeedItSaved() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(Job.class)))
+                .thenAnswer(call -> iterator(Collections.singletonList(job("a"))));
+        when(mongoTemplate.stream(any(Query.class), eq(User.class)))
+                .thenAnswer(call -> iterator(Collections.singletonList(user("u1"))));
+        when(matchingEngine.userSkills("u1")).thenReturn(new int[] {1});
+        when(matchingEngine.jobSkills("a")).thenReturn(new int[] {1});
+        when(mongoTemplate.stream(any(Query.class), eq(Application.class))).thenAnswer(call -> {
+            // Applied after the rebuild read the applications, before it saved the feeds
+            service.applied("u1", "a");
+            drainUpdates();
+            return iterator(Collections.emptyList());
+        });
+
+        service.rebuild();
+        drainUpdates();
+
+        // Pulled from the feed once when applied, and again after the rebuild saved it
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(RecommendationFeed.class));
+        Map<?, ?> profiles = (Map<?, ?>) ReflectionTestUtils.getField(service, "profiles");
+        Object profile = profiles.get("u1");
+        assertTrue(((Set<?>) ReflectionTestUtils.getField(profile, "applied")).contains("a"));
+        assertTrue(((Collection<?>) ReflectionTestUtils.getField(profile, "feed")).isEmpty());
+    }
+
+    private void drainUpdates() throws Exception {
+        ExecutorService updates = (ExecutorService) ReflectionTestUtils.getField(service, "updates");
+        updates.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private static Job job(String id) {
+        Job job = new Job();
+        job.setId(id);
+        job.setActive(true);
+        job.setCategory("Engineering");
+        job.setLocation("Berlin");
+        return job;
+    }
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static <T> CloseableIterator<T> iterator(List<T> items) {
+        Iterator<T> delegate = items.iterator();
+        return new CloseableIterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return delegate.next();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.jobportal.storage;
+
+import com.jobportal.models.Application;
+import com.jobportal.models.ResumeBlob;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LegacyResumeMigrationTest {
+
+    @TempDir
+    Path dir;
+
+    private MongoTemplate mongoTemplate;
+    private ResumeStore resumeStore;
+    private LegacyResumeMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        resumeStore = mock(ResumeStore.class);
+        when(resumeStore.getRoot()).thenReturn(dir);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Application.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        migration = new LegacyResumeMigration();
+        ReflectionTestUtils.setField(migration, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(migration, "resumeStore", resumeStore);
+        ReflectionTestUtils.setField(migration, "batchSize", 50);
+    }
+
+    @Test
+    void leavesMissingLegacyFileUntouched() throws Exception {
+        batch(application("a1", "3f2b6c1e_resume.pdf"));
+
+        migration.migrateAll();
+
+        verify(resumeStore, never()).storeBase64(any());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Application.class));
+    }
+
+    @Test
+    void movesExistingLegacyFile() throws Exception {
+        Files.write(dir.resolve("3f2b6c1e_resume.pdf"), new byte[] {1, 2, 3});
+        when(resumeStore.store(any(InputStream.class))).thenReturn(new ResumeBlob("blob", 3));
+        batch(application("a1", "3f2b6c1e_resume.pdf"));
+
+        migration.migrateAll();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Application.class));
+        assertEquals("resume.pdf", set(update.getValue()).get("resumeFileName"));
+        assertFalse(Files.exists(dir.resolve("3f2b6c1e_resume.pdf")));
+    }
+
+    @Test
+    void decodesEmbeddedBase64() throws Exception {
+        when(resumeStore.storeBase64(anyString())).thenReturn(new ResumeBlob("blob", 3));
+        batch(application("a1", "data:application/pdf;base64,AQID"));
+
+        migration.migrateAll();
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Application.class));
+        assertEquals("application/pdf", set(update.getValue()).get("resumeContentType"));
+        assertTrue(update.getValue().getUpdateObject().get("$unset", Document.class).containsKey("resume"));
+    }
+
+    // First batch holds the given applications, the next one is empty
+    private void batch(Application... applications) {
+        when(mongoTemplate.find(any(Query.class), eq(Application.class)))
+                .thenReturn(Arrays.asList(applications))
+                .thenReturn(Collections.<Application>emptyList());
+    }
+
+    private static Application application(String id, String resume) {
+        Application application = new Application();
+        application.setId(id);
+        application.setResume(resume);
+        return application;
+    }
+
+    private static Document set(Update update) {
+        return update.getUpdateObject().get("$set", Document.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.jobportal.storage;
+
+import com.jobportal.models.ResumeBlob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private MongoTemplate mongoTemplate;
+    private ResumeStore store;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        store = new ResumeStore();
+        ReflectionTestUtils.setField(store, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(store, "resumeDir", dir.toString());
+        store.init();
+    }
+
+    @Test
+    void acceptsOnlyStrictBase64() {
+        assertTrue(ResumeStore.isBase64("aGVsbG8="));
+        assertTrue(ResumeStore.isBase64("aGVs\r\nbG8h"));
+        assertTrue(ResumeStore.isBase64("data:application/pdf;base64,JVBERi0x"));
+
+        assertFalse(ResumeStore.isBase64(""));
+        assertFalse(ResumeStore.isBase64("aGVsbG8"));
+        assertFalse(ResumeStore.isBase64("aGVsbG8=x"));
+        assertFalse(ResumeStore.isBase64("aGVs===="));
+        assertFalse(ResumeStore.isBase64("aGVs bG8h"));
+        // Nothing that would decode to zero bytes passes
+        assertFalse(ResumeStore.isBase64("\r\n"));
+        assertFalse(ResumeStore.isBase64("===="));
+        assertFalse(ResumeStore.isBase64("data:application/pdf;base64,"));
+        // A legacy upload name whose file is gone must not pass for content
+        assertFalse(ResumeStore.isBase64("3f2b6c1e-9a7d-4c55-8e0a-1b2c3d4e5f60_resume.pdf"));
+    }
+
+    @Test
+    void storesDecodedContent() throws Exception {
+        byte[] content = "%PDF-1.4 resume".getBytes(StandardCharsets.US_ASCII);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ResumeBlob.class))).thenAnswer(call -> new ResumeBlob("blob", content.length));
+
+        String encoded = "data:application/pdf;base64," + Base64.getMimeEncoder().encodeToString(content);
+        ResumeBlob blob = store.storeBase64(encoded);
+
+        assertEquals(content.length, blob.getSize());
+        try (Stream<Path> files = Files.walk(dir.resolve("blobs"))) {
+            Path stored = files.filter(Files::isRegularFile).findFirst().orElseThrow(AssertionError::new);
+            assertArrayEquals(content, Files.readAllBytes(stored));
+        }
+    }
+
+    @Test
+    void rejectsInvalidBase64BeforeStoring() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> store.storeBase64("not base64!"));
+        assertEquals("Resume is not valid base64", e.getMessage());
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class),
+                any(FindAndModifyOptions.class), eq(ResumeBlob.class));
+    }
+}
@@ -0,0 +1,151 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Load generator for comparing app.threads.mode=platform against app.threads.mode=virtual.
+// Keeps a fixed number of requests in flight (one per simulated connection); every response
+// immediately triggers that connection's next request. Latencies after the warm-up are kept
+// and summarized as throughput and percentiles. It is not part of the application build; run it
+// standalone against a started server (controllers are mapped under /api inside the /api
+// context path, hence the doubled prefix):
+//
+//   java src/backend/tools/RequestBenchmark.java --url='http://localhost:8080/api/api/jobs/search?query=java' \
+//        --connections=1000 --duration=60 --warmup=15
+//
+// Optional: --token=<jwt> for authenticated endpoints, --timeout=<seconds> per request.
+public class RequestBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI uri = URI.create(required(options, "url"));
+        int connections = Integer.parseInt(options.getOrDefault("connections", "1000"));
+        long durationSeconds = Long.parseLong(options.getOrDefault("duration", "60"));
+        long warmupSeconds = Long.parseLong(options.getOrDefault("warmup", "15"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "30")));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(timeout).GET();
+        if (options.containsKey("token")) {
+            builder.header("Authorization", "Bearer " + options.get("token"));
+        }
+        HttpRequest request = builder.build();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+
+        long startNanos = System.nanoTime();
+        long measureFrom = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long stopAt = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        Recorder recorder = new Recorder();
+        CountDownLatch finished = new CountDownLatch(connections);
+
+        System.out.printf("%s: %d connections, %ds warm-up, %ds measured%n",
+                uri, connections, warmupSeconds, durationSeconds);
+        for (int i = 0; i < connections; i++) {
+            new Connection(client, request, recorder, measureFrom, stopAt, finished).next();
+        }
+        finished.await();
+
+        recorder.print(durationSeconds);
+    }
+
+    // One simulated client connection: send, record, send again until the run is over
+    private static class Connection {
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final Recorder recorder;
+        private final long measureFrom;
+        private final long stopAt;
+        private final CountDownLatch finished;
+
+        private Connection(HttpClient client, HttpRequest request, Recorder recorder,
+                           long measureFrom, long stopAt, CountDownLatch finished) {
+            this.client = client;
+            this.request = request;
+            this.recorder = recorder;
+            this.measureFrom = measureFrom;
+            this.stopAt = stopAt;
+            this.finished = finished;
+        }
+
+        private void next() {
+            long sent = System.nanoTime();
+            if (sent >= stopAt) {
+                finished.countDown();
+                return;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long done = System.nanoTime();
+                if (sent >= measureFrom && done < stopAt) {
+                    boolean ok = error == null && response.statusCode() < 400;
+                    recorder.record(done - sent, ok);
+                }
+                next();
+            });
+        }
+    }
+
+    // Latencies in microseconds, collected into a growing array
+    private static class Recorder {
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        private final AtomicLong errors = new AtomicLong();
+
+        private synchronized void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors.incrementAndGet();
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+
+        private synchronized void print(long durationSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("requests: %d ok, %d failed%n", count, errors.get());
+            System.out.printf("throughput: %.1f req/s%n", count / (double) durationSeconds);
+            if (count == 0) {
+                return;
+            }
+            System.out.printf("latency ms: p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    percentile(sorted, 99.9), sorted[sorted.length - 1] / 1000.0);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+}